@@ -78,7 +78,9 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * AppBarLayout is a vertical {@link LinearLayout} which implements many of the features of material
@@ -176,8 +178,26 @@ public class AppBarLayout extends LinearLayout implements CoordinatorLayout.Atta
     void onUpdate(@Dimension float elevation, @ColorInt int backgroundColor);
   }
 
+  /**
+   * Definition for a callback to be invoked after each offset listener of an {@link AppBarLayout}
+   * is called, to measure how long the listeners take.
+   *
+   * @see #setOnOffsetChangedTimingListener(OnOffsetChangedTimingListener)
+   */
+  public interface OnOffsetChangedTimingListener {
+
+    /**
+     * Called after {@code listener} was called with {@code verticalOffset}.
+     *
+     * @param durationNanos the time {@code listener} took, in nanoseconds
+     */
+    void onOffsetChangedDispatched(
+        @NonNull BaseOnOffsetChangedListener listener, int verticalOffset, long durationNanos);
+  }
+
   private static final int DEF_STYLE_RES = R.style.Widget_Design_AppBarLayout;
   private static final int INVALID_SCROLL_RANGE = -1;
+  private static final int NO_DISPATCHED_OFFSET = Integer.MIN_VALUE;
 
   private int currentOffset;
   private int totalScrollRange = INVALID_SCROLL_RANGE;
@@ -186,11 +206,48 @@ public class AppBarLayout extends LinearLayout implements CoordinatorLayout.Atta
 
   private boolean haveChildWithInterpolator;
 
+  // An index of the children which aren't gone, rebuilt on layout. It holds their child indices
+  // and bounds in layout order, so that the child at an offset can be found with a binary search
+  // while scrolling.
+  private int indexedChildCount;
+  private int[] indexedChildIndices = new int[0];
+  private int[] indexedChildTops = new int[0];
+  private int[] indexedChildBottoms = new int[0];
+  // Whether the tops and bottoms are in ascending order, which negative margins can prevent.
+  private boolean indexedChildrenSorted = true;
+  // The same bounds, extended by the margins of the children with SCROLL_FLAG_SNAP_MARGINS, which
+  // is where snapping looks for the child at an offset.
+  private int[] indexedSnapTops = new int[0];
+  private int[] indexedSnapBottoms = new int[0];
+  private boolean indexedSnapBoundsSorted = true;
+  // The minimum heights of all the children, by child index.
+  private int[] childMinimumHeights = new int[0];
+  // Whether the index matches the children, which adding or removing a child breaks until the
+  // next layout.
+  private boolean childIndexValid;
+
   private int pendingAction = PENDING_ACTION_NONE;
 
   @Nullable private WindowInsetsCompat lastInsets;
 
   private List<BaseOnOffsetChangedListener> listeners;
+  // The inclusive [min, max] offsets watched by listeners added with a range.
+  @Nullable private Map<BaseOnOffsetChangedListener, int[]> watchedOffsetRanges;
+  @Nullable private OnOffsetChangedTimingListener offsetChangedTimingListener;
+
+  private boolean coalesceOffsetUpdates;
+  private boolean offsetUpdatePending;
+  private int lastDispatchedOffset = NO_DISPATCHED_OFFSET;
+  private final Runnable dispatchPendingOffsetUpdate =
+      new Runnable() {
+        @Override
+        public void run() {
+          offsetUpdatePending = false;
+          if (currentOffset != lastDispatchedOffset) {
+            dispatchOffsetUpdate(currentOffset);
+          }
+        }
+      };
 
   private boolean liftableOverride;
   private boolean liftable;
@@ -311,6 +368,33 @@ public class AppBarLayout extends LinearLayout implements CoordinatorLayout.Atta
     addOnOffsetChangedListener((BaseOnOffsetChangedListener) listener);
   }
 
+  /**
+   * Add a listener that will only be called when the offset of this {@link AppBarLayout} enters,
+   * moves within or leaves the range from {@code watchedOffsetStart} to {@code watchedOffsetEnd},
+   * inclusive. Offsets are 0 when fully expanded, and negative as the layout collapses.
+   *
+   * <p>This avoids calling listeners which only react to part of the scroll, such as a title which
+   * fades in near the collapsed state, for every offset change.
+   *
+   * @param listener The listener that will be called when the offset changes.
+   * @see #addOnOffsetChangedListener(BaseOnOffsetChangedListener)
+   */
+  public void addOnOffsetChangedListener(
+      @NonNull BaseOnOffsetChangedListener listener,
+      int watchedOffsetStart,
+      int watchedOffsetEnd) {
+    addOnOffsetChangedListener(listener);
+    if (watchedOffsetRanges == null) {
+      watchedOffsetRanges = new HashMap<>();
+    }
+    watchedOffsetRanges.put(
+        listener,
+        new int[] {
+          Math.min(watchedOffsetStart, watchedOffsetEnd),
+          Math.max(watchedOffsetStart, watchedOffsetEnd)
+        });
+  }
+
   /**
    * Remove the previously added {@link OnOffsetChangedListener}.
    *
@@ -323,6 +407,9 @@ public class AppBarLayout extends LinearLayout implements CoordinatorLayout.Atta
     if (listeners != null && listener != null) {
       listeners.remove(listener);
     }
+    if (watchedOffsetRanges != null && listener != null) {
+      watchedOffsetRanges.remove(listener);
+    }
   }
 
   @SuppressWarnings("FunctionalInterfaceClash")
@@ -348,6 +435,38 @@ public class AppBarLayout extends LinearLayout implements CoordinatorLayout.Atta
     liftOnScrollListeners.clear();
   }
 
+  /**
+   * Sets whether changes to the offset of this {@link AppBarLayout} are coalesced, so that the
+   * offset listeners are called at most once per frame, on the next animation frame, with the
+   * latest offset. By default listeners are called for every offset change.
+   *
+   * <p>This reduces the work done while scrolling when listeners are expensive, such as when they
+   * lay out other views, at the cost of the listeners running a frame later. Child scroll effects
+   * are still applied for every offset change.
+   */
+  public void setCoalesceOffsetUpdates(boolean coalesceOffsetUpdates) {
+    this.coalesceOffsetUpdates = coalesceOffsetUpdates;
+  }
+
+  /**
+   * Returns whether changes to the offset of this {@link AppBarLayout} are coalesced to at most one
+   * per frame.
+   *
+   * @see #setCoalesceOffsetUpdates(boolean)
+   */
+  public boolean isCoalesceOffsetUpdates() {
+    return coalesceOffsetUpdates;
+  }
+
+  /**
+   * Sets a listener that will be called with the time each offset listener takes, which can be used
+   * to find expensive listeners. Providing null removes the listener.
+   */
+  public void setOnOffsetChangedTimingListener(
+      @Nullable OnOffsetChangedTimingListener offsetChangedTimingListener) {
+    this.offsetChangedTimingListener = offsetChangedTimingListener;
+  }
+
   /**
    * Set the drawable to use for the status bar foreground drawable. Providing null will disable the
    * scrim functionality.
@@ -497,6 +616,7 @@ public class AppBarLayout extends LinearLayout implements CoordinatorLayout.Atta
     }
 
     invalidateScrollRanges();
+    updateChildIndex();
 
     haveChildWithInterpolator = false;
     for (int i = 0, z = getChildCount(); i < z; i++) {
@@ -537,6 +657,146 @@ public class AppBarLayout extends LinearLayout implements CoordinatorLayout.Atta
     return false;
   }
 
+  private void updateChildIndex() {
+    final int childCount = getChildCount();
+    if (childMinimumHeights.length < childCount) {
+      indexedChildIndices = new int[childCount];
+      indexedChildTops = new int[childCount];
+      indexedChildBottoms = new int[childCount];
+      indexedSnapTops = new int[childCount];
+      indexedSnapBottoms = new int[childCount];
+      childMinimumHeights = new int[childCount];
+    }
+
+    int count = 0;
+    boolean sorted = true;
+    boolean snapBoundsSorted = true;
+    for (int i = 0; i < childCount; i++) {
+      final View child = getChildAt(i);
+      childMinimumHeights[i] = ViewCompat.getMinimumHeight(child);
+      if (child.getVisibility() == GONE) {
+        continue;
+      }
+      final int top = child.getTop();
+      final int bottom = child.getBottom();
+      if (count > 0
+          && (top < indexedChildTops[count - 1] || bottom < indexedChildBottoms[count - 1])) {
+        sorted = false;
+      }
+      final int snapTop = getSnapTop(child);
+      final int snapBottom = getSnapBottom(child);
+      if (count > 0
+          && (snapTop < indexedSnapTops[count - 1]
+              || snapBottom < indexedSnapBottoms[count - 1])) {
+        snapBoundsSorted = false;
+      }
+      indexedChildIndices[count] = i;
+      indexedChildTops[count] = top;
+      indexedChildBottoms[count] = bottom;
+      indexedSnapTops[count] = snapTop;
+      indexedSnapBottoms[count] = snapBottom;
+      count++;
+    }
+    indexedChildCount = count;
+    indexedChildrenSorted = sorted;
+    indexedSnapBoundsSorted = snapBoundsSorted;
+    childIndexValid = true;
+  }
+
+  @Override
+  public void onViewAdded(View child) {
+    super.onViewAdded(child);
+    childIndexValid = false;
+  }
+
+  @Override
+  public void onViewRemoved(View child) {
+    super.onViewRemoved(child);
+    childIndexValid = false;
+  }
+
+  /**
+   * Returns the index of the first child which isn't gone and whose bounds contain {@code y}, as of
+   * the last layout unless children were added or removed since, or -1 if there is none.
+   */
+  int findChildIndexAt(int y) {
+    if (!childIndexValid) {
+      // Children were added or removed since the last layout, so look at their current bounds
+      for (int i = 0, z = getChildCount(); i < z; i++) {
+        final View child = getChildAt(i);
+        if (child.getVisibility() != GONE && child.getTop() <= y && child.getBottom() >= y) {
+          return i;
+        }
+      }
+      return -1;
+    }
+    return findIndexedChildIndexAt(y, indexedChildTops, indexedChildBottoms, indexedChildrenSorted);
+  }
+
+  /**
+   * Returns the index of the first child which isn't gone and whose bounds contain {@code y}, like
+   * {@link #findChildIndexAt(int)}, but with the bounds of children with {@link
+   * LayoutParams#SCROLL_FLAG_SNAP_MARGINS} extended by their margins, as snapping uses them.
+   */
+  int findSnapChildIndexAt(int y) {
+    if (!childIndexValid) {
+      for (int i = 0, z = getChildCount(); i < z; i++) {
+        final View child = getChildAt(i);
+        if (child.getVisibility() != GONE && getSnapTop(child) <= y && getSnapBottom(child) >= y) {
+          return i;
+        }
+      }
+      return -1;
+    }
+    return findIndexedChildIndexAt(y, indexedSnapTops, indexedSnapBottoms, indexedSnapBoundsSorted);
+  }
+
+  private int findIndexedChildIndexAt(int y, int[] tops, int[] bottoms, boolean sorted) {
+    if (!sorted) {
+      for (int i = 0; i < indexedChildCount; i++) {
+        if (tops[i] <= y && bottoms[i] >= y) {
+          return indexedChildIndices[i];
+        }
+      }
+      return -1;
+    }
+
+    // Find the first child whose bottom is at or below y, which is the only one which can
+    // contain y since the children are sorted
+    int low = 0;
+    int high = indexedChildCount;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (bottoms[mid] < y) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low < indexedChildCount && tops[low] <= y ? indexedChildIndices[low] : -1;
+  }
+
+  private static int getSnapTop(@NonNull View child) {
+    final LayoutParams lp = (LayoutParams) child.getLayoutParams();
+    return (lp.getScrollFlags() & LayoutParams.SCROLL_FLAG_SNAP_MARGINS) != 0
+        ? child.getTop() - lp.topMargin
+        : child.getTop();
+  }
+
+  private static int getSnapBottom(@NonNull View child) {
+    final LayoutParams lp = (LayoutParams) child.getLayoutParams();
+    return (lp.getScrollFlags() & LayoutParams.SCROLL_FLAG_SNAP_MARGINS) != 0
+        ? child.getBottom() + lp.bottomMargin
+        : child.getBottom();
+  }
+
+  /** Returns the minimum height of the child at {@code index}, as of the last layout. */
+  int getChildMinimumHeight(int index) {
+    return childIndexValid && index < childMinimumHeights.length
+        ? childMinimumHeights[index]
+        : ViewCompat.getMinimumHeight(getChildAt(index));
+  }
+
   private void invalidateScrollRanges() {
     // Saves the current scrolling state when we need to recalculate scroll ranges
     // If the total scroll range is not known yet, the ABL is never scrolled.
@@ -805,18 +1065,54 @@ public class AppBarLayout extends LinearLayout implements CoordinatorLayout.Atta
       ViewCompat.postInvalidateOnAnimation(this);
     }
 
+    if (coalesceOffsetUpdates) {
+      if (!offsetUpdatePending) {
+        offsetUpdatePending = true;
+        ViewCompat.postOnAnimation(this, dispatchPendingOffsetUpdate);
+      }
+    } else {
+      dispatchOffsetUpdate(offset);
+    }
+  }
+
+  private void dispatchOffsetUpdate(int offset) {
+    final int previousOffset = lastDispatchedOffset;
+    lastDispatchedOffset = offset;
+
     // Iterate backwards through the list so that most recently added listeners
     // get the first chance to decide
     if (listeners != null) {
       for (int i = 0, z = listeners.size(); i < z; i++) {
         final BaseOnOffsetChangedListener listener = listeners.get(i);
-        if (listener != null) {
+        if (listener == null || !isWatchedOffsetRangeCrossed(listener, previousOffset, offset)) {
+          continue;
+        }
+        if (offsetChangedTimingListener != null) {
+          final long startNanos = System.nanoTime();
+          listener.onOffsetChanged(this, offset);
+          offsetChangedTimingListener.onOffsetChangedDispatched(
+              listener, offset, System.nanoTime() - startNanos);
+        } else {
           listener.onOffsetChanged(this, offset);
         }
       }
     }
   }
 
+  /**
+   * Returns whether the offsets from {@code previousOffset} to {@code offset} overlap the range
+   * watched by {@code listener}, or whether it watches all offsets.
+   */
+  private boolean isWatchedOffsetRangeCrossed(
+      @NonNull BaseOnOffsetChangedListener listener, int previousOffset, int offset) {
+    final int[] range = watchedOffsetRanges != null ? watchedOffsetRanges.get(listener) : null;
+    if (range == null || previousOffset == NO_DISPATCHED_OFFSET) {
+      return true;
+    }
+    return Math.max(previousOffset, offset) >= range[0]
+        && Math.min(previousOffset, offset) <= range[1];
+  }
+
   public final int getMinimumHeightForVisibleOverlappingContent() {
     final int topInset = getTopInset();
     final int minHeight = ViewCompat.getMinimumHeight(this);
@@ -1566,33 +1862,13 @@ public class AppBarLayout extends LinearLayout implements CoordinatorLayout.Atta
       offsetAnimator.start();
     }
 
-    private int getChildIndexOnOffset(@NonNull T abl, final int offset) {
-      for (int i = 0, count = abl.getChildCount(); i < count; i++) {
-        View child = abl.getChildAt(i);
-        int top = child.getTop();
-        int bottom = child.getBottom();
-
-        final LayoutParams lp = (LayoutParams) child.getLayoutParams();
-        if (checkFlag(lp.getScrollFlags(), LayoutParams.SCROLL_FLAG_SNAP_MARGINS)) {
-          // Update top and bottom to include margins
-          top -= lp.topMargin;
-          bottom += lp.bottomMargin;
-        }
-
-        if (top <= -offset && bottom >= -offset) {
-          return i;
-        }
-      }
-      return -1;
-    }
-
     private void snapToChildIfNeeded(CoordinatorLayout coordinatorLayout, @NonNull T abl) {
       final int topInset = abl.getTopInset() + abl.getPaddingTop();
       // The "baseline" of scrolling is the top of the first child. We "add" insets and paddings
       // to the scrolling amount to align offsets and views with the same y-coordinate. (The origin
       // is at the top of the AppBarLayout, so all the coordinates are with negative values.)
       final int offset = getTopBottomOffsetForScrollingSibling() - topInset;
-      final int offsetChildIndex = getChildIndexOnOffset(abl, offset);
+      final int offsetChildIndex = abl.findSnapChildIndexAt(-offset);
       if (offsetChildIndex >= 0) {
         final View offsetChild = abl.getChildAt(offsetChildIndex);
         final LayoutParams lp = (LayoutParams) offsetChild.getLayoutParams();
@@ -1613,12 +1889,12 @@ public class AppBarLayout extends LinearLayout implements CoordinatorLayout.Atta
 
           if (checkFlag(flags, LayoutParams.SCROLL_FLAG_EXIT_UNTIL_COLLAPSED)) {
             // If the view is set only exit until it is collapsed, we'll abide by that
-            snapBottom += ViewCompat.getMinimumHeight(offsetChild);
+            snapBottom += abl.getChildMinimumHeight(offsetChildIndex);
           } else if (checkFlag(
               flags, LayoutParams.FLAG_QUICK_RETURN | LayoutParams.SCROLL_FLAG_ENTER_ALWAYS)) {
             // If it's set to always enter collapsed, it actually has two states. We
             // select the state and then snap within the state
-            final int seam = snapBottom + ViewCompat.getMinimumHeight(offsetChild);
+            final int seam = snapBottom + abl.getChildMinimumHeight(offsetChildIndex);
             if (offset < seam) {
               snapTop = seam;
             } else {
@@ -1995,49 +2271,47 @@ public class AppBarLayout extends LinearLayout implements CoordinatorLayout.Atta
 
     private int interpolateOffset(@NonNull T layout, final int offset) {
       final int absOffset = abs(offset);
+      final int childIndex = layout.findChildIndexAt(absOffset);
+      if (childIndex < 0) {
+        return offset;
+      }
 
-      for (int i = 0, z = layout.getChildCount(); i < z; i++) {
-        final View child = layout.getChildAt(i);
-        final AppBarLayout.LayoutParams childLp = (LayoutParams) child.getLayoutParams();
-        final Interpolator interpolator = childLp.getScrollInterpolator();
-
-        if (absOffset >= child.getTop() && absOffset <= child.getBottom()) {
-          if (interpolator != null) {
-            int childScrollableHeight = 0;
-            final int flags = childLp.getScrollFlags();
-            if ((flags & LayoutParams.SCROLL_FLAG_SCROLL) != 0) {
-              // We're set to scroll so add the child's height plus margin
-              childScrollableHeight += child.getHeight() + childLp.topMargin + childLp.bottomMargin;
-
-              if ((flags & LayoutParams.SCROLL_FLAG_EXIT_UNTIL_COLLAPSED) != 0) {
-                // For a collapsing scroll, we to take the collapsed height
-                // into account.
-                childScrollableHeight -= ViewCompat.getMinimumHeight(child);
-              }
-            }
-
-            if (ViewCompat.getFitsSystemWindows(child)) {
-              childScrollableHeight -= layout.getTopInset();
-            }
+      final View child = layout.getChildAt(childIndex);
+      final AppBarLayout.LayoutParams childLp = (LayoutParams) child.getLayoutParams();
+      final Interpolator interpolator = childLp.getScrollInterpolator();
 
-            if (childScrollableHeight > 0) {
-              final int offsetForView = absOffset - child.getTop();
-              final int interpolatedDiff =
-                  Math.round(
-                      childScrollableHeight
-                          * interpolator.getInterpolation(
-                              offsetForView / (float) childScrollableHeight));
+      if (interpolator != null) {
+        int childScrollableHeight = 0;
+        final int flags = childLp.getScrollFlags();
+        if ((flags & LayoutParams.SCROLL_FLAG_SCROLL) != 0) {
+          // We're set to scroll so add the child's height plus margin
+          childScrollableHeight += child.getHeight() + childLp.topMargin + childLp.bottomMargin;
 
-              return Integer.signum(offset) * (child.getTop() + interpolatedDiff);
-            }
+          if ((flags & LayoutParams.SCROLL_FLAG_EXIT_UNTIL_COLLAPSED) != 0) {
+            // For a collapsing scroll, we to take the collapsed height
+            // into account.
+            childScrollableHeight -= layout.getChildMinimumHeight(childIndex);
           }
+        }
 
-          // If we get to here then the view on the offset isn't suitable for interpolated
-          // scrolling. So break out of the loop
-          break;
+        if (ViewCompat.getFitsSystemWindows(child)) {
+          childScrollableHeight -= layout.getTopInset();
+        }
+
+        if (childScrollableHeight > 0) {
+          final int offsetForView = absOffset - child.getTop();
+          final int interpolatedDiff =
+              Math.round(
+                  childScrollableHeight
+                      * interpolator.getInterpolation(
+                          offsetForView / (float) childScrollableHeight));
+
+          return Integer.signum(offset) * (child.getTop() + interpolatedDiff);
         }
       }
 
+      // If we get to here then the view on the offset isn't suitable for interpolated
+      // scrolling
       return offset;
     }
 
@@ -2047,14 +2321,15 @@ public class AppBarLayout extends LinearLayout implements CoordinatorLayout.Atta
         final int offset,
         final int direction,
         final boolean forceJump) {
-      final View child = getAppBarChildOnOffset(layout, offset);
+      final int childIndex = layout.findChildIndexAt(abs(offset));
       boolean lifted = false;
-      if (child != null) {
+      if (childIndex >= 0) {
+        final View child = layout.getChildAt(childIndex);
         final AppBarLayout.LayoutParams childLp = (LayoutParams) child.getLayoutParams();
         final int flags = childLp.getScrollFlags();
 
         if ((flags & LayoutParams.SCROLL_FLAG_SCROLL) != 0) {
-          final int minHeight = ViewCompat.getMinimumHeight(child);
+          final int minHeight = layout.getChildMinimumHeight(childIndex);
 
           if (direction > 0
               && (flags
@@ -2104,19 +2379,6 @@ public class AppBarLayout extends LinearLayout implements CoordinatorLayout.Atta
       return false;
     }
 
-    @Nullable
-    private static View getAppBarChildOnOffset(
-        @NonNull final AppBarLayout layout, final int offset) {
-      final int absOffset = abs(offset);
-      for (int i = 0, z = layout.getChildCount(); i < z; i++) {
-        final View child = layout.getChildAt(i);
-        if (absOffset >= child.getTop() && absOffset <= child.getBottom()) {
-          return child;
-        }
-      }
-      return null;
-    }
-
     @Nullable
     private View findFirstScrollingChild(@NonNull CoordinatorLayout parent) {
       for (int i = 0, z = parent.getChildCount(); i < z; i++) {
@@ -260,6 +260,30 @@ public class BottomSheetBehavior<V extends View> extends CoordinatorLayout.Behav
 
   @Nullable private ValueAnimator interpolatorAnimator;
 
+  private static final int NO_SAVED_LAYER_TYPE = -1;
+
+  private boolean performanceModeEnabled;
+
+  // The layer type of the sheet before it was promoted to a hardware layer for a drag or settle.
+  private int savedLayerType = NO_SAVED_LAYER_TYPE;
+
+  private boolean slideDispatchPending;
+
+  // The top of the latest slide, which the pending dispatch delivers.
+  private int pendingSlideTop;
+
+  private final Runnable dispatchPendingSlide =
+      new Runnable() {
+        @Override
+        public void run() {
+          slideDispatchPending = false;
+          V bottomSheet = viewRef != null ? viewRef.get() : null;
+          if (bottomSheet != null) {
+            dispatchOnSlideNow(bottomSheet, pendingSlideTop);
+          }
+        }
+      };
+
   private static final int DEF_STYLE_RES = R.style.Widget_Design_BottomSheet_Modal;
 
   int expandedOffset;
@@ -302,6 +326,11 @@ public class BottomSheetBehavior<V extends View> extends CoordinatorLayout.Behav
 
   @Nullable WeakReference<View> nestedScrollingChildRef;
 
+  // Set through setNestedScrollingChild(View) to bypass the lookup of the scrolling child.
+  @Nullable private WeakReference<View> explicitNestedScrollingChildRef;
+
+  private int scrollingChildLookupCount;
+
   @NonNull private final ArrayList<BottomSheetCallback> callbacks = new ArrayList<>();
 
   @Nullable private VelocityTracker velocityTracker;
@@ -440,6 +469,13 @@ public class BottomSheetBehavior<V extends View> extends CoordinatorLayout.Behav
   @Override
   public void onDetachedFromLayoutParams() {
     super.onDetachedFromLayoutParams();
+    V bottomSheet = viewRef != null ? viewRef.get() : null;
+    if (bottomSheet != null) {
+      // Don't leave the sheet on a hardware layer or with a slide dispatch pending if the
+      // behavior is removed while it moves.
+      cancelPendingSlide(bottomSheet);
+      updateLayerType(bottomSheet, STATE_COLLAPSED);
+    }
     // Release references so we don't run unnecessary codepaths while not attached to a view.
     viewRef = null;
     viewDragHelper = null;
@@ -567,7 +603,7 @@ public class BottomSheetBehavior<V extends View> extends CoordinatorLayout.Behav
       ViewCompat.offsetTopAndBottom(child, savedTop - child.getTop());
     }
 
-    nestedScrollingChildRef = new WeakReference<>(findScrollingChild(child));
+    nestedScrollingChildRef = new WeakReference<>(resolveNestedScrollingChild(child));
 
     for (int i = 0; i < callbacks.size(); i++) {
       callbacks.get(i).onLayout(child);
@@ -1124,6 +1160,66 @@ public class BottomSheetBehavior<V extends View> extends CoordinatorLayout.Behav
     return draggable;
   }
 
+  /**
+   * Sets whether the bottom sheet is optimized for drags and settles with heavy content. When
+   * enabled, the sheet is drawn from a hardware layer while it is dragging or settling, and {@link
+   * BottomSheetCallback#onSlide(View, float)} is called at most once per frame, on the next
+   * animation frame, with the latest offset.
+   *
+   * <p>The hardware layer is only effective if the sheet's content doesn't change while it moves;
+   * otherwise it has to be redrawn on each frame. Default is false.
+   *
+   * @param performanceModeEnabled whether to enable the performance mode.
+   */
+  public void setPerformanceModeEnabled(boolean performanceModeEnabled) {
+    if (this.performanceModeEnabled == performanceModeEnabled) {
+      return;
+    }
+    this.performanceModeEnabled = performanceModeEnabled;
+    V bottomSheet = viewRef != null ? viewRef.get() : null;
+    if (bottomSheet != null) {
+      if (!performanceModeEnabled) {
+        flushPendingSlide(bottomSheet);
+      }
+      updateLayerType(bottomSheet, state);
+    }
+  }
+
+  /**
+   * Returns whether the bottom sheet is optimized for drags and settles with heavy content.
+   *
+   * @see #setPerformanceModeEnabled(boolean)
+   */
+  public boolean isPerformanceModeEnabled() {
+    return performanceModeEnabled;
+  }
+
+  /**
+   * Sets the view whose nested scrolling is coordinated with the bottom sheet's drags.
+   *
+   * <p>By default, the first visible descendant of the sheet with nested scrolling enabled is used,
+   * which is searched for in the sheet's hierarchy on every layout. A view set here is used
+   * without that search, until it is cleared. It isn't replaced when it is hidden or removed, or
+   * when another scrolling view is added or shown before it, so it has to be updated by the app,
+   * e.g. when the pages of a pager change.
+   *
+   * @param nestedScrollingChild the view to use, or null to look it up from the sheet's hierarchy
+   *     on the next layout.
+   */
+  public void setNestedScrollingChild(@Nullable View nestedScrollingChild) {
+    if (nestedScrollingChild == null) {
+      explicitNestedScrollingChildRef = null;
+      nestedScrollingChildRef = null;
+    } else {
+      explicitNestedScrollingChildRef = new WeakReference<>(nestedScrollingChild);
+      nestedScrollingChildRef = new WeakReference<>(nestedScrollingChild);
+    }
+    V bottomSheet = viewRef != null ? viewRef.get() : null;
+    if (bottomSheet != null) {
+      bottomSheet.requestLayout();
+    }
+  }
+
   /**
    * Sets save flags to be preserved in bottomsheet on configuration change.
    *
@@ -1325,12 +1421,31 @@ public class BottomSheetBehavior<V extends View> extends CoordinatorLayout.Behav
     }
 
     updateDrawableForTargetState(state);
+    updateLayerType(bottomSheet, state);
+    // Deliver the latest offset before the state change, as without the performance mode
+    flushPendingSlide(bottomSheet);
     for (int i = 0; i < callbacks.size(); i++) {
       callbacks.get(i).onStateChanged(bottomSheet, state);
     }
     updateAccessibilityActions();
   }
 
+  /**
+   * Draws the sheet from a hardware layer while it is dragging or settling in performance mode,
+   * and restores its layer type otherwise.
+   */
+  private void updateLayerType(@NonNull View bottomSheet, @State int state) {
+    boolean moving =
+        performanceModeEnabled && (state == STATE_DRAGGING || state == STATE_SETTLING);
+    if (moving && savedLayerType == NO_SAVED_LAYER_TYPE) {
+      savedLayerType = bottomSheet.getLayerType();
+      bottomSheet.setLayerType(View.LAYER_TYPE_HARDWARE, null);
+    } else if (!moving && savedLayerType != NO_SAVED_LAYER_TYPE) {
+      bottomSheet.setLayerType(savedLayerType, null);
+      savedLayerType = NO_SAVED_LAYER_TYPE;
+    }
+  }
+
   private void updateDrawableForTargetState(@State int state) {
     if (state == STATE_SETTLING) {
       // Special case: we want to know which state we're settling to, so wait for another call.
@@ -1421,6 +1536,21 @@ public class BottomSheetBehavior<V extends View> extends CoordinatorLayout.Behav
     return Math.abs(newTop - collapsedOffset) / (float) peek > HIDE_THRESHOLD;
   }
 
+  @Nullable
+  private View resolveNestedScrollingChild(@NonNull View bottomSheet) {
+    if (explicitNestedScrollingChildRef != null) {
+      return explicitNestedScrollingChildRef.get();
+    }
+    scrollingChildLookupCount++;
+    return findScrollingChild(bottomSheet);
+  }
+
+  /** Returns the number of times the sheet's hierarchy was searched for the scrolling child. */
+  @VisibleForTesting
+  int getScrollingChildLookupCount() {
+    return scrollingChildLookupCount;
+  }
+
   @Nullable
   @VisibleForTesting
   View findScrollingChild(View view) {
@@ -1777,13 +1907,39 @@ public class BottomSheetBehavior<V extends View> extends CoordinatorLayout.Behav
   void dispatchOnSlide(int top) {
     View bottomSheet = viewRef.get();
     if (bottomSheet != null && !callbacks.isEmpty()) {
-      float slideOffset =
-          (top > collapsedOffset || collapsedOffset == getExpandedOffset())
-              ? (float) (collapsedOffset - top) / (parentHeight - collapsedOffset)
-              : (float) (collapsedOffset - top) / (collapsedOffset - getExpandedOffset());
-      for (int i = 0; i < callbacks.size(); i++) {
-        callbacks.get(i).onSlide(bottomSheet, slideOffset);
+      if (performanceModeEnabled) {
+        pendingSlideTop = top;
+        if (!slideDispatchPending) {
+          slideDispatchPending = true;
+          ViewCompat.postOnAnimation(bottomSheet, dispatchPendingSlide);
+        }
+        return;
       }
+      dispatchOnSlideNow(bottomSheet, top);
+    }
+  }
+
+  private void dispatchOnSlideNow(@NonNull View bottomSheet, int top) {
+    float slideOffset =
+        (top > collapsedOffset || collapsedOffset == getExpandedOffset())
+            ? (float) (collapsedOffset - top) / (parentHeight - collapsedOffset)
+            : (float) (collapsedOffset - top) / (collapsedOffset - getExpandedOffset());
+    for (int i = 0; i < callbacks.size(); i++) {
+      callbacks.get(i).onSlide(bottomSheet, slideOffset);
+    }
+  }
+
+  private void cancelPendingSlide(@NonNull View bottomSheet) {
+    if (slideDispatchPending) {
+      bottomSheet.removeCallbacks(dispatchPendingSlide);
+      slideDispatchPending = false;
+    }
+  }
+
+  private void flushPendingSlide(@NonNull View bottomSheet) {
+    if (slideDispatchPending) {
+      bottomSheet.removeCallbacks(dispatchPendingSlide);
+      dispatchPendingSlide.run();
     }
   }
 
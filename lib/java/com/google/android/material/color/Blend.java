@@ -18,6 +18,8 @@ package com.bottombar.navigation.material.color;
 
 import static java.lang.Math.min;
 
+import androidx.annotation.NonNull;
+
 /** Functions for blending in HCT and CAM16. */
 final class Blend {
   private static final float HARMONIZE_MAX_DEGREES = 15.0f;
@@ -37,15 +39,42 @@ final class Blend {
   public static int harmonize(int designColor, int sourceColor) {
     Hct fromHct = Hct.fromInt(designColor);
     Hct toHct = Hct.fromInt(sourceColor);
-    float differenceDegrees = MathUtils.differenceDegrees(fromHct.getHue(), toHct.getHue());
-    float rotationDegrees = min(differenceDegrees * HARMONIZE_PERCENTAGE, HARMONIZE_MAX_DEGREES);
-    float outputHue =
-        MathUtils.sanitizeDegrees(
-            fromHct.getHue()
-                + rotationDegrees * rotationDirection(fromHct.getHue(), toHct.getHue()));
+    float outputHue = harmonizedHue(fromHct.getHue(), toHct.getHue());
     return Hct.from(outputHue, fromHct.getChroma(), fromHct.getTone()).toInt();
   }
 
+  /**
+   * Harmonizes each design color with the same key color. Produces the same colors as calling
+   * {@link #harmonize(int, int)} for each design color, but converts the key color once and does
+   * not allocate per color.
+   *
+   * @param designColors ARGB representations of arbitrary colors.
+   * @param sourceColor ARGB representation of the main theme color.
+   * @param out Receives the harmonized colors, at the same indices as in {@code designColors}. May
+   *     be {@code designColors} itself.
+   */
+  public static void harmonize(@NonNull int[] designColors, int sourceColor, @NonNull int[] out) {
+    if (out.length < designColors.length) {
+      throw new IllegalArgumentException(
+          "Output length " + out.length + " is less than input length " + designColors.length);
+    }
+    Hct hct = Hct.fromInt(sourceColor);
+    float sourceHue = hct.getHue();
+    for (int i = 0; i < designColors.length; i++) {
+      hct.setFromInt(designColors[i]);
+      hct.set(harmonizedHue(hct.getHue(), sourceHue), hct.getChroma(), hct.getTone());
+      out[i] = hct.toInt();
+    }
+  }
+
+  /** Rotates a design color's hue towards a key color's hue, see {@link #harmonize(int, int)}. */
+  private static float harmonizedHue(float fromHue, float toHue) {
+    float differenceDegrees = MathUtils.differenceDegrees(fromHue, toHue);
+    float rotationDegrees = min(differenceDegrees * HARMONIZE_PERCENTAGE, HARMONIZE_MAX_DEGREES);
+    return MathUtils.sanitizeDegrees(
+        fromHue + rotationDegrees * rotationDirection(fromHue, toHue));
+  }
+
   /**
    * Blends hue from one color into another. The chroma and tone of the original color are
    * maintained.
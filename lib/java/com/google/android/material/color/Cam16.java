@@ -48,6 +48,18 @@ final class Cam16 {
     {-0.01584150f, -0.03412294f, 1.0499644f}
   };
 
+  // Indices of the dimensions written by dimensionsFromIntInViewingConditions().
+  static final int HUE = 0;
+  static final int CHROMA = 1;
+  static final int J = 2;
+  static final int Q = 3;
+  static final int M = 4;
+  static final int S = 5;
+  static final int JSTAR = 6;
+  static final int ASTAR = 7;
+  static final int BSTAR = 8;
+  static final int DIMENSION_COUNT = 9;
+
   // CAM16 color dimensions, see getters for documentation.
   private final float hue;
   private final float chroma;
@@ -189,18 +201,43 @@ final class Cam16 {
    * @param argb ARGB representation of a color.
    * @param viewingConditions Information about the environment where the color was observed.
    */
+  static Cam16 fromIntInViewingConditions(int argb, ViewingConditions viewingConditions) {
+    float[] dimensions = new float[DIMENSION_COUNT];
+    dimensionsFromIntInViewingConditions(argb, viewingConditions, dimensions);
+    return new Cam16(
+        dimensions[HUE],
+        dimensions[CHROMA],
+        dimensions[J],
+        dimensions[Q],
+        dimensions[M],
+        dimensions[S],
+        dimensions[JSTAR],
+        dimensions[ASTAR],
+        dimensions[BSTAR]);
+  }
+
+  /**
+   * Writes the CAM16 dimensions of a color in defined viewing conditions into {@code out}, indexed
+   * by {@link #HUE}, {@link #CHROMA}, etc. Unlike {@link #fromIntInViewingConditions(int,
+   * ViewingConditions)}, this does not allocate, for use when converting many colors.
+   *
+   * @param argb ARGB representation of a color.
+   * @param viewingConditions Information about the environment where the color was observed.
+   * @param out Array of at least {@link #DIMENSION_COUNT} elements.
+   */
   // The RGB => XYZ conversion matrix elements are derived scientific constants. While the values
   // may differ at runtime due to floating point imprecision, keeping the values the same, and
   // accurate, across implementations takes precedence.
   @SuppressWarnings("FloatingPointLiteralPrecision")
-  static Cam16 fromIntInViewingConditions(int argb, ViewingConditions viewingConditions) {
+  static void dimensionsFromIntInViewingConditions(
+      int argb, ViewingConditions viewingConditions, float[] out) {
     // Transform ARGB int to XYZ
     int red = (argb & 0x00ff0000) >> 16;
     int green = (argb & 0x0000ff00) >> 8;
     int blue = (argb & 0x000000ff);
-    float redL = ColorUtils.linearized(red / 255f) * 100f;
-    float greenL = ColorUtils.linearized(green / 255f) * 100f;
-    float blueL = ColorUtils.linearized(blue / 255f) * 100f;
+    float redL = ColorUtils.linearizedChannel(red);
+    float greenL = ColorUtils.linearizedChannel(green);
+    float blueL = ColorUtils.linearizedChannel(blue);
     float x = 0.41233895f * redL + 0.35762064f * greenL + 0.18051042f * blueL;
     float y = 0.2126f * redL + 0.7152f * greenL + 0.0722f * blueL;
     float z = 0.01932141f * redL + 0.11916382f * greenL + 0.95034478f * blueL;
@@ -281,7 +318,15 @@ final class Cam16 {
     float astar = mstar * (float) Math.cos(hueRadians);
     float bstar = mstar * (float) Math.sin(hueRadians);
 
-    return new Cam16(hue, c, j, q, m, s, jstar, astar, bstar);
+    out[HUE] = hue;
+    out[CHROMA] = c;
+    out[J] = j;
+    out[Q] = q;
+    out[M] = m;
+    out[S] = s;
+    out[JSTAR] = jstar;
+    out[ASTAR] = astar;
+    out[BSTAR] = bstar;
   }
 
   /**
@@ -19,10 +19,13 @@ package com.bottombar.navigation.material.color;
 import android.content.Context;
 import android.util.Pair;
 import androidx.annotation.ColorInt;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
+import androidx.annotation.NonNull;
+import androidx.collection.LruCache;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -51,7 +54,10 @@ final class ColorResourcesTableCreator {
 
   private static final String RESOURCE_TYPE_NAME_COLOR = "color";
 
-  private static byte typeIdColor;
+  // Activities commonly harmonize the same colors on every launch, so a few tables suffice.
+  private static final int TABLE_CACHE_SIZE = 8;
+
+  private static final LruCache<TableKey, byte[]> tableCache = new LruCache<>(TABLE_CACHE_SIZE);
 
   private static final PackageInfo ANDROID_PACKAGE_INFO =
       new PackageInfo(ANDROID_PACKAGE_ID, "android");
@@ -64,10 +70,25 @@ final class ColorResourcesTableCreator {
         }
       };
 
-  static byte[] create(Context context, Map<Integer, Integer> colorMapping) throws IOException {
+  /**
+   * Returns a resources table which overrides the colors in {@code colorMapping}. Tables are cached
+   * by package and color mapping, so the returned array is shared and must not be modified.
+   */
+  @NonNull
+  static byte[] create(Context context, Map<Integer, Integer> colorMapping) {
     if (colorMapping.entrySet().isEmpty()) {
       throw new IllegalArgumentException("No color resources provided for harmonization.");
     }
+    TableKey tableKey = new TableKey(context.getPackageName(), colorMapping);
+    byte[] table = tableCache.get(tableKey);
+    if (table == null) {
+      table = createTable(context, colorMapping);
+      tableCache.put(tableKey, table);
+    }
+    return table;
+  }
+
+  private static byte[] createTable(Context context, Map<Integer, Integer> colorMapping) {
     PackageInfo applicationPackageInfo =
         new PackageInfo(APPLICATION_PACKAGE_ID, context.getPackageName());
 
@@ -106,13 +127,57 @@ final class ColorResourcesTableCreator {
     // Resource Type Ids are assigned by aapt arbitrarily, for each new type the next available
     // number is assigned and used. The type id will be the same for resources that are the same
     // type.
-    typeIdColor = colorResource.typeId;
+    byte typeIdColor = colorResource.typeId;
     if (typeIdColor == 0) {
       throw new IllegalArgumentException("No color resources found for harmonization.");
     }
-    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-    new ResTable(colorResourceMap).writeTo(outputStream);
-    return outputStream.toByteArray();
+    ResTable resTable = new ResTable(colorResourceMap, typeIdColor);
+    // Every chunk knows its size up front, so the table is written into a single exact buffer.
+    ByteBuffer buffer =
+        ByteBuffer.allocate(resTable.getOverallSize()).order(ByteOrder.LITTLE_ENDIAN);
+    resTable.writeTo(buffer);
+    return buffer.array();
+  }
+
+  /**
+   * Identifies a resources table by its content: the package it is created for, and every
+   * resource id and color it maps, sorted by resource id.
+   */
+  private static final class TableKey {
+    private final String packageName;
+    private final long[] colorMapping;
+    private final int hashCode;
+
+    TableKey(String packageName, Map<Integer, Integer> colorMapping) {
+      this.packageName = packageName;
+      this.colorMapping = new long[colorMapping.size()];
+      int i = 0;
+      for (Map.Entry<Integer, Integer> entry : colorMapping.entrySet()) {
+        this.colorMapping[i++] =
+            ((long) entry.getKey() << 32) | (entry.getValue() & 0xFFFFFFFFL);
+      }
+      Arrays.sort(this.colorMapping);
+      hashCode = 31 * packageName.hashCode() + Arrays.hashCode(this.colorMapping);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof TableKey)) {
+        return false;
+      }
+      TableKey that = (TableKey) o;
+      return hashCode == that.hashCode
+          && packageName.equals(that.packageName)
+          && Arrays.equals(colorMapping, that.colorMapping);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
   }
 
   /**
@@ -131,27 +196,27 @@ final class ColorResourcesTableCreator {
     private final StringPoolChunk stringPool;
     private final List<PackageChunk> packageChunks = new ArrayList<>();
 
-    ResTable(Map<PackageInfo, List<ColorResource>> colorResourceMap) {
+    ResTable(Map<PackageInfo, List<ColorResource>> colorResourceMap, byte typeIdColor) {
       packageCount = colorResourceMap.size();
       stringPool = new StringPoolChunk();
       for (Entry<PackageInfo, List<ColorResource>> entry : colorResourceMap.entrySet()) {
         List<ColorResource> colorResources = entry.getValue();
         Collections.sort(colorResources, COLOR_RESOURCE_COMPARATOR);
-        packageChunks.add(new PackageChunk(entry.getKey(), colorResources));
+        packageChunks.add(new PackageChunk(entry.getKey(), colorResources, typeIdColor));
       }
       header = new ResChunkHeader(HEADER_TYPE_RES_TABLE, HEADER_SIZE, getOverallSize());
     }
 
-    void writeTo(ByteArrayOutputStream outputStream) throws IOException {
-      header.writeTo(outputStream);
-      outputStream.write(intToByteArray(packageCount));
-      stringPool.writeTo(outputStream);
+    void writeTo(ByteBuffer buffer) {
+      header.writeTo(buffer);
+      buffer.putInt(packageCount);
+      stringPool.writeTo(buffer);
       for (PackageChunk packageChunk : packageChunks) {
-        packageChunk.writeTo(outputStream);
+        packageChunk.writeTo(buffer);
       }
     }
 
-    private int getOverallSize() {
+    int getOverallSize() {
       int packageChunkSize = 0;
       for (PackageChunk packageChunk : packageChunks) {
         packageChunkSize += packageChunk.getChunkSize();
@@ -182,10 +247,10 @@ final class ColorResourcesTableCreator {
       this.chunkSize = chunkSize;
     }
 
-    void writeTo(ByteArrayOutputStream outputStream) throws IOException {
-      outputStream.write(shortToByteArray(type));
-      outputStream.write(shortToByteArray(headerSize));
-      outputStream.write(intToByteArray(chunkSize));
+    void writeTo(ByteBuffer buffer) {
+      buffer.putShort(type);
+      buffer.putShort(headerSize);
+      buffer.putInt(chunkSize);
     }
   }
 
@@ -262,30 +327,30 @@ final class ColorResourcesTableCreator {
       header = new ResChunkHeader(HEADER_TYPE_STRING_POOL, HEADER_SIZE, chunkSize);
     }
 
-    void writeTo(ByteArrayOutputStream outputStream) throws IOException {
-      header.writeTo(outputStream);
-      outputStream.write(intToByteArray(stringCount));
-      outputStream.write(intToByteArray(styledSpanCount));
-      outputStream.write(intToByteArray(utf8Encode ? FLAG_UTF8 : 0));
-      outputStream.write(intToByteArray(stringsStart));
-      outputStream.write(intToByteArray(styledSpansStart));
+    void writeTo(ByteBuffer buffer) {
+      header.writeTo(buffer);
+      buffer.putInt(stringCount);
+      buffer.putInt(styledSpanCount);
+      buffer.putInt(utf8Encode ? FLAG_UTF8 : 0);
+      buffer.putInt(stringsStart);
+      buffer.putInt(styledSpansStart);
       for (Integer index : stringIndex) {
-        outputStream.write(intToByteArray(index));
+        buffer.putInt(index);
       }
       for (Integer index : styledSpanIndex) {
-        outputStream.write(intToByteArray(index));
+        buffer.putInt(index);
       }
       for (byte[] string : strings) {
-        outputStream.write(string);
+        buffer.put(string);
       }
       if (stringsPaddingSize > 0) {
-        outputStream.write(new byte[stringsPaddingSize]);
+        buffer.position(buffer.position() + stringsPaddingSize);
       }
       for (List<StringStyledSpan> styledSpanList : styledSpans) {
         for (StringStyledSpan styledSpan : styledSpanList) {
-          styledSpan.writeTo(outputStream);
+          styledSpan.writeTo(buffer);
         }
-        outputStream.write(intToByteArray(STYLED_SPAN_LIST_END));
+        buffer.putInt(STYLED_SPAN_LIST_END);
       }
     }
 
@@ -309,10 +374,10 @@ final class ColorResourcesTableCreator {
     private int firstCharacterIndex;
     private int lastCharacterIndex;
 
-    void writeTo(ByteArrayOutputStream outputStream) throws IOException {
-      outputStream.write(intToByteArray(nameReference));
-      outputStream.write(intToByteArray(firstCharacterIndex));
-      outputStream.write(intToByteArray(lastCharacterIndex));
+    void writeTo(ByteBuffer buffer) {
+      buffer.putInt(nameReference);
+      buffer.putInt(firstCharacterIndex);
+      buffer.putInt(lastCharacterIndex);
     }
   }
 
@@ -335,7 +400,7 @@ final class ColorResourcesTableCreator {
     private final StringPoolChunk keyStrings;
     private final TypeSpecChunk typeSpecChunk;
 
-    PackageChunk(PackageInfo packageInfo, List<ColorResource> colorResources) {
+    PackageChunk(PackageInfo packageInfo, List<ColorResource> colorResources, byte typeIdColor) {
       this.packageInfo = packageInfo;
 
       // Placeholder String type, since only XML color resources will be replaced at runtime.
@@ -345,31 +410,30 @@ final class ColorResourcesTableCreator {
         keys[i] = colorResources.get(i).name;
       }
       keyStrings = new StringPoolChunk(true, keys);
-      typeSpecChunk = new TypeSpecChunk(colorResources);
+      typeSpecChunk = new TypeSpecChunk(colorResources, typeIdColor);
 
       header = new ResChunkHeader(HEADER_TYPE_PACKAGE, HEADER_SIZE, getChunkSize());
     }
 
-    void writeTo(ByteArrayOutputStream outputStream) throws IOException {
-      header.writeTo(outputStream);
-      outputStream.write(intToByteArray(packageInfo.id));
+    void writeTo(ByteBuffer buffer) {
+      header.writeTo(buffer);
+      buffer.putInt(packageInfo.id);
       char[] packageName = packageInfo.name.toCharArray();
       for (int i = 0; i < PACKAGE_NAME_MAX_LENGTH; i++) {
         if (i < packageName.length) {
-          outputStream.write(charToByteArray(packageName[i]));
+          buffer.putChar(packageName[i]);
         } else {
-          outputStream.write(charToByteArray((char) 0));
+          buffer.putChar((char) 0);
         }
       }
-      outputStream.write(intToByteArray(HEADER_SIZE)); // Type strings offset
-      outputStream.write(intToByteArray(0)); // Last public type
-      outputStream.write(
-          intToByteArray(HEADER_SIZE + typeStrings.getChunkSize())); // Key strings offset
-      outputStream.write(intToByteArray(0)); // Last public key
-      outputStream.write(intToByteArray(0)); // Note
-      typeStrings.writeTo(outputStream);
-      keyStrings.writeTo(outputStream);
-      typeSpecChunk.writeTo(outputStream);
+      buffer.putInt(HEADER_SIZE); // Type strings offset
+      buffer.putInt(0); // Last public type
+      buffer.putInt(HEADER_SIZE + typeStrings.getChunkSize()); // Key strings offset
+      buffer.putInt(0); // Last public key
+      buffer.putInt(0); // Note
+      typeStrings.writeTo(buffer);
+      keyStrings.writeTo(buffer);
+      typeSpecChunk.writeTo(buffer);
     }
 
     int getChunkSize() {
@@ -394,11 +458,13 @@ final class ColorResourcesTableCreator {
     private static final int SPEC_PUBLIC = 0x40000000;
 
     private final ResChunkHeader header;
+    private final byte typeIdColor;
     private final int entryCount;
     private final int[] entryFlags;
     private final TypeChunk typeChunk;
 
-    TypeSpecChunk(List<ColorResource> colorResources) {
+    TypeSpecChunk(List<ColorResource> colorResources, byte typeIdColor) {
+      this.typeIdColor = typeIdColor;
       entryCount = colorResources.get(colorResources.size() - 1).entryId + 1;
       Set<Short> validEntryIds = new HashSet<>();
       for (ColorResource colorResource : colorResources) {
@@ -414,17 +480,17 @@ final class ColorResourcesTableCreator {
 
       header = new ResChunkHeader(HEADER_TYPE_TYPE_SPEC, HEADER_SIZE, getChunkSize());
 
-      typeChunk = new TypeChunk(colorResources, validEntryIds, entryCount);
+      typeChunk = new TypeChunk(colorResources, validEntryIds, entryCount, typeIdColor);
     }
 
-    void writeTo(ByteArrayOutputStream outputStream) throws IOException {
-      header.writeTo(outputStream);
-      outputStream.write(new byte[] {typeIdColor, 0x00, 0x00, 0x00});
-      outputStream.write(intToByteArray(entryCount));
+    void writeTo(ByteBuffer buffer) {
+      header.writeTo(buffer);
+      buffer.put(typeIdColor).put((byte) 0x00).putShort((short) 0x0000);
+      buffer.putInt(entryCount);
       for (int entryFlag : entryFlags) {
-        outputStream.write(intToByteArray(entryFlag));
+        buffer.putInt(entryFlag);
       }
-      typeChunk.writeTo(outputStream);
+      typeChunk.writeTo(buffer);
     }
 
     int getChunkSizeWithTypeChunk() {
@@ -449,12 +515,15 @@ final class ColorResourcesTableCreator {
     private static final byte CONFIG_SIZE = 0x40;
 
     private final ResChunkHeader header;
+    private final byte typeIdColor;
     private final int entryCount;
     private final byte[] config = new byte[CONFIG_SIZE];
     private final int[] offsetTable;
     private final ResEntry[] resEntries;
 
-    TypeChunk(List<ColorResource> colorResources, Set<Short> entryIds, int entryCount) {
+    TypeChunk(
+        List<ColorResource> colorResources, Set<Short> entryIds, int entryCount, byte typeIdColor) {
+      this.typeIdColor = typeIdColor;
       this.entryCount = entryCount;
       this.config[0] = CONFIG_SIZE;
 
@@ -479,17 +548,17 @@ final class ColorResourcesTableCreator {
       this.header = new ResChunkHeader(HEADER_TYPE_TYPE, HEADER_SIZE, getChunkSize());
     }
 
-    void writeTo(ByteArrayOutputStream outputStream) throws IOException {
-      header.writeTo(outputStream);
-      outputStream.write(new byte[] {typeIdColor, 0x00, 0x00, 0x00});
-      outputStream.write(intToByteArray(entryCount));
-      outputStream.write(intToByteArray(getEntryStart()));
-      outputStream.write(config);
+    void writeTo(ByteBuffer buffer) {
+      header.writeTo(buffer);
+      buffer.put(typeIdColor).put((byte) 0x00).putShort((short) 0x0000);
+      buffer.putInt(entryCount);
+      buffer.putInt(getEntryStart());
+      buffer.put(config);
       for (int offset : offsetTable) {
-        outputStream.write(intToByteArray(offset));
+        buffer.putInt(offset);
       }
       for (ResEntry entry : resEntries) {
-        entry.writeTo(outputStream);
+        entry.writeTo(buffer);
       }
     }
 
@@ -528,13 +597,13 @@ final class ColorResourcesTableCreator {
       this.data = data;
     }
 
-    void writeTo(ByteArrayOutputStream outputStream) throws IOException {
-      outputStream.write(shortToByteArray(ENTRY_SIZE));
-      outputStream.write(shortToByteArray(FLAG_PUBLIC));
-      outputStream.write(intToByteArray(keyStringIndex));
-      outputStream.write(shortToByteArray(VALUE_SIZE));
-      outputStream.write(new byte[] {0x00, DATA_TYPE_AARRGGBB});
-      outputStream.write(intToByteArray(data));
+    void writeTo(ByteBuffer buffer) {
+      buffer.putShort(ENTRY_SIZE);
+      buffer.putShort(FLAG_PUBLIC);
+      buffer.putInt(keyStringIndex);
+      buffer.putShort(VALUE_SIZE);
+      buffer.put((byte) 0x00).put(DATA_TYPE_AARRGGBB);
+      buffer.putInt(data);
     }
   }
 
@@ -584,15 +653,6 @@ final class ColorResourcesTableCreator {
     };
   }
 
-  private static byte[] intToByteArray(int value) {
-    return new byte[] {
-      (byte) (value & 0xFF),
-      (byte) ((value >> 8) & 0xFF),
-      (byte) ((value >> 16) & 0xFF),
-      (byte) ((value >> 24) & 0xFF),
-    };
-  }
-
   private static byte[] stringToByteArray(String value) {
     char[] chars = value.toCharArray();
     byte[] bytes = new byte[chars.length * 2 + 4];
@@ -31,6 +31,15 @@ final class ColorUtils {
     return Arrays.copyOf(WHITE_POINT_D65, 3);
   }
 
+  // linearized(channel / 255f) * 100f for each 8-bit channel value.
+  private static final float[] LINEARIZED_CHANNELS = new float[256];
+
+  static {
+    for (int channel = 0; channel < LINEARIZED_CHANNELS.length; channel++) {
+      LINEARIZED_CHANNELS[channel] = linearized(channel / 255f) * 100f;
+    }
+  }
+
   /**
    * The red channel of the color, from 0 to 255.
    *
@@ -64,7 +73,26 @@ final class ColorUtils {
    * @param argb ARGB representation of a color.
    */
   public static float lstarFromInt(int argb) {
-    return (float) labFromInt(argb)[0];
+    // Equivalent to labFromInt(argb)[0], without allocating the intermediate arrays.
+    final float r = linearizedChannel(redFromInt(argb));
+    final float g = linearizedChannel(greenFromInt(argb));
+    final float b = linearizedChannel(blueFromInt(argb));
+    final float y = 0.2126f * r + 0.7152f * g + 0.0722f * b;
+    final double e = 216.0 / 24389.0;
+    final double kappa = 24389.0 / 27.0;
+    final double yNormalized = y / WHITE_POINT_D65[1];
+    final double fy = yNormalized > e ? Math.cbrt(yNormalized) : (kappa * yNormalized + 16) / 116;
+    return (float) (116.0 * fy - 16);
+  }
+
+  /**
+   * Linear RGB component of an 8-bit channel, from 0 to 100, equal to {@code
+   * linearized(channel / 255f) * 100f}.
+   *
+   * @param channel a red, green, or blue channel value, from 0 to 255.
+   */
+  static float linearizedChannel(int channel) {
+    return LINEARIZED_CHANNELS[channel];
   }
 
   /**
@@ -89,9 +117,9 @@ final class ColorUtils {
   // accurate, across implementations takes precedence.
   @SuppressWarnings("FloatingPointLiteralPrecision")
   public static float[] xyzFromInt(int argb) {
-    final float r = linearized(redFromInt(argb) / 255f) * 100f;
-    final float g = linearized(greenFromInt(argb) / 255f) * 100f;
-    final float b = linearized(blueFromInt(argb) / 255f) * 100f;
+    final float r = linearizedChannel(redFromInt(argb));
+    final float g = linearizedChannel(greenFromInt(argb));
+    final float b = linearizedChannel(blueFromInt(argb));
     final float x = 0.41233894f * r + 0.35762064f * g + 0.18051042f * b;
     final float y = 0.2126f * r + 0.7152f * g + 0.0722f * b;
     final float z = 0.01932141f * r + 0.11916382f * g + 0.95034478f * b;
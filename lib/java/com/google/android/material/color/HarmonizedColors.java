@@ -32,6 +32,7 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.RequiresApi;
 import androidx.core.content.ContextCompat;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -133,12 +134,13 @@ public class HarmonizedColors {
         MaterialColors.getColor(originalContext, options.getColorAttributeToHarmonizeWith(), TAG);
 
     // Harmonize color resources.
-    for (int colorResourceId : options.getColorResourceIds()) {
-      int harmonizedColor =
-          MaterialColors.harmonize(
-              ContextCompat.getColor(originalContext, colorResourceId), colorToHarmonizeWith);
-      colorReplacementMap.put(colorResourceId, harmonizedColor);
+    int[] colorResourceIds = options.getColorResourceIds();
+    int[] colors = new int[colorResourceIds.length];
+    for (int i = 0; i < colorResourceIds.length; i++) {
+      colors[i] = ContextCompat.getColor(originalContext, colorResourceIds[i]);
     }
+    addHarmonizedColorsToReplacementMap(
+        colorReplacementMap, colorResourceIds, colors, colors.length, colorToHarmonizeWith);
 
     HarmonizedColorAttributes colorAttributes = options.getColorAttributes();
     if (colorAttributes != null) {
@@ -193,16 +195,42 @@ public class HarmonizedColors {
             ? themeOverlayAttributesTypedArray
             : themeAttributesTypedArray;
 
-    for (int i = 0; i < themeAttributesTypedArray.getIndexCount(); i++) {
+    int indexCount = themeAttributesTypedArray.getIndexCount();
+    int[] resourceIds = new int[indexCount];
+    int[] colors = new int[indexCount];
+    int colorCount = 0;
+    for (int i = 0; i < indexCount; i++) {
       int resourceId = resourceIdTypedArray.getResourceId(i, 0);
       if (resourceId != 0
           && themeAttributesTypedArray.hasValue(i)
           && isColorResource(themeAttributesTypedArray.getType(i))) {
-        int colorToHarmonize = themeAttributesTypedArray.getColor(i, 0);
-        colorReplacementMap.put(
-            resourceId, MaterialColors.harmonize(colorToHarmonize, colorToHarmonizeWith));
+        resourceIds[colorCount] = resourceId;
+        colors[colorCount] = themeAttributesTypedArray.getColor(i, 0);
+        colorCount++;
       }
     }
+    addHarmonizedColorsToReplacementMap(
+        colorReplacementMap, resourceIds, colors, colorCount, colorToHarmonizeWith);
+  }
+
+  /**
+   * Harmonizes the first {@code count} colors in a single batch, and maps each resource id to its
+   * harmonized color.
+   */
+  private static void addHarmonizedColorsToReplacementMap(
+      @NonNull Map<Integer, Integer> colorReplacementMap,
+      @NonNull int[] resourceIds,
+      @NonNull int[] colors,
+      int count,
+      @ColorInt int colorToHarmonizeWith) {
+    if (count == 0) {
+      return;
+    }
+    int[] colorsToHarmonize = count == colors.length ? colors : Arrays.copyOf(colors, count);
+    MaterialColors.harmonize(colorsToHarmonize, colorToHarmonizeWith, colorsToHarmonize);
+    for (int i = 0; i < count; i++) {
+      colorReplacementMap.put(resourceIds[i], colorsToHarmonize[i]);
+    }
   }
 
   private static boolean isColorResource(int attrType) {
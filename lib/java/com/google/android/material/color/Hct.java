@@ -39,6 +39,8 @@ final class Hct {
   private float hue;
   private float chroma;
   private float tone;
+  // Scratch buffer of the solver, and for the dimensions of the colors this is set to.
+  private final float[] scratch = new float[HctSolver.SCRATCH_SIZE];
 
   /**
    * Create an HCT color from hue, chroma, and tone.
@@ -60,12 +62,15 @@ final class Hct {
    * @return HCT representation of a color in default viewing conditions
    */
   public static Hct fromInt(int argb) {
-    Cam16 cam = Cam16.fromInt(argb);
-    return new Hct(cam.getHue(), cam.getChroma(), ColorUtils.lstarFromInt(argb));
+    Hct hct = new Hct();
+    hct.setFromInt(argb);
+    return hct;
   }
 
+  private Hct() {}
+
   private Hct(float hue, float chroma, float tone) {
-    setInternalState(gamutMap(hue, chroma, tone));
+    set(hue, chroma, tone);
   }
 
   public float getHue() {
@@ -114,12 +119,30 @@ final class Hct {
     setInternalState(gamutMap(hue, chroma, newTone));
   }
 
+  /**
+   * Sets this color to the HCT representation of a color, like {@link #fromInt(int)}, without
+   * allocating. Used to convert many colors with a single instance.
+   *
+   * @param argb ARGB representation of a color.
+   */
+  void setFromInt(int argb) {
+    Cam16.dimensionsFromIntInViewingConditions(argb, ViewingConditions.DEFAULT, scratch);
+    set(scratch[Cam16.HUE], scratch[Cam16.CHROMA], ColorUtils.lstarFromInt(argb));
+  }
+
+  /**
+   * Sets this color to the given hue, chroma, and tone, like {@link #from(float, float, float)},
+   * without allocating. Used to convert many colors with a single instance.
+   */
+  void set(float newHue, float newChroma, float newTone) {
+    setInternalState(gamutMap(newHue, newChroma, newTone));
+  }
+
   private void setInternalState(int argb) {
-    Cam16 cam = Cam16.fromInt(argb);
-    float tone = ColorUtils.lstarFromInt(argb);
-    hue = cam.getHue();
-    chroma = cam.getChroma();
-    this.tone = tone;
+    Cam16.dimensionsFromIntInViewingConditions(argb, ViewingConditions.DEFAULT, scratch);
+    hue = scratch[Cam16.HUE];
+    chroma = scratch[Cam16.CHROMA];
+    tone = ColorUtils.lstarFromInt(argb);
   }
 
   /**
@@ -156,8 +179,8 @@ final class Hct {
    * @param tone Lightness. Ranges from 0 to 100.
    * @return ARGB representation of a color in default viewing conditions
    */
-  private static int gamutMap(float hue, float chroma, float tone) {
-    return gamutMapInViewingConditions(hue, chroma, tone, ViewingConditions.DEFAULT);
+  private int gamutMap(float hue, float chroma, float tone) {
+    return HctSolver.DEFAULT.solveToInt(hue, chroma, tone, scratch);
   }
 
   /**
@@ -173,6 +196,28 @@ final class Hct {
       return ColorUtils.intFromLstar(tone);
     }
 
+    return HctSolver.forViewingConditions(viewingConditions)
+        .solveToInt(hue, chroma, tone, new float[HctSolver.SCRATCH_SIZE]);
+  }
+
+  /**
+   * Gamut maps by bisecting on chroma, and for each chroma, bisecting on CAM16 lightness. This
+   * allocates several {@link Cam16} instances per step, prefer {@link
+   * #gamutMapInViewingConditions(float, float, float, ViewingConditions)}, which uses {@link
+   * HctSolver} to return the same colors. Kept as the reference the solver is tested against.
+   *
+   * @param hue CAM16 hue.
+   * @param chroma CAM16 chroma.
+   * @param tone L*a*b* lightness.
+   * @param viewingConditions Information about the environment where the color was observed.
+   */
+  static int gamutMapByBisectionInViewingConditions(
+      float hue, float chroma, float tone, ViewingConditions viewingConditions) {
+
+    if (chroma < 1.0 || Math.round(tone) <= 0.0 || Math.round(tone) >= 100.0) {
+      return ColorUtils.intFromLstar(tone);
+    }
+
     hue = MathUtils.sanitizeDegrees(hue);
 
     float high = chroma;
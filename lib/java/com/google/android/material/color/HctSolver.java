@@ -0,0 +1,293 @@
+/*
+ * Copyright (C) 2022 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bottombar.navigation.material.color;
+
+import static java.lang.Math.max;
+
+/**
+ * Gamut maps HCT colors with the same bisection on chroma and CAM16 lightness as {@link
+ * Hct#gamutMapByBisectionInViewingConditions(float, float, float, ViewingConditions)}, and returns
+ * the same colors, without creating {@link Cam16} instances.
+ *
+ * <p>Each step of the bisection converts a CAM16 color to ARGB and back. The solver performs the
+ * same float arithmetic as {@link Cam16} on primitives, computes the values which only depend on
+ * the hue once per search, and caches the values which only depend on {@link ViewingConditions},
+ * so that gamut mapping doesn't allocate, given a scratch buffer of {@link #SCRATCH_SIZE}
+ * elements.
+ */
+final class HctSolver {
+
+  /**
+   * When the delta between the floor & ceiling of a binary search for maximum chroma at a hue and
+   * tone is less than this, the binary search terminates.
+   */
+  private static final float CHROMA_SEARCH_ENDPOINT = 0.4f;
+
+  /** The maximum color distance, in CAM16-UCS, between a requested color and the color returned. */
+  private static final float DE_MAX = 1.0f;
+
+  /** The maximum difference between the requested L* and the L* returned. */
+  private static final float DL_MAX = 0.2f;
+
+  /**
+   * The minimum color distance, in CAM16-UCS, between a requested color and an 'exact' match. This
+   * allows the binary search during gamut mapping to terminate much earlier when the error is
+   * infinitesimal.
+   */
+  private static final float DE_MAX_ERROR = 0.000000001f;
+
+  /**
+   * When the delta between the floor & ceiling of a binary search for J, lightness in CAM16, is
+   * less than this, the binary search terminates.
+   */
+  private static final float LIGHTNESS_SEARCH_ENDPOINT = 0.01f;
+
+  // Indices in a scratch buffer: the dimensions of the last clipped color measured by findCamByJ(),
+  // the hue dependent values of viewed(), and the dimensions of the best color found.
+  private static final int HUE_P1 = Cam16.DIMENSION_COUNT;
+  private static final int HUE_SIN = HUE_P1 + 1;
+  private static final int HUE_COS = HUE_P1 + 2;
+  private static final int BEST = HUE_P1 + 3;
+
+  /**
+   * The size of the scratch buffer for {@link #solveToInt(float, float, float, float[])}, which
+   * also fits the dimensions of a {@link Cam16}.
+   */
+  static final int SCRATCH_SIZE = BEST + Cam16.DIMENSION_COUNT;
+
+  /** Solver for {@link ViewingConditions#DEFAULT}, which is used by {@link Hct}. */
+  static final HctSolver DEFAULT = new HctSolver(ViewingConditions.DEFAULT);
+
+  private final ViewingConditions viewingConditions;
+  // (1.64 - 0.29^n)^0.73, from CAM16 chroma.
+  private final double tDenominator;
+  // Exponent relating J to the achromatic response.
+  private final double jExponent;
+  // Undoes the luminance level adaptation factor.
+  private final float flScale;
+
+  HctSolver(ViewingConditions viewingConditions) {
+    this.viewingConditions = viewingConditions;
+    tDenominator = Math.pow(1.64 - Math.pow(0.29, viewingConditions.getN()), 0.73);
+    jExponent = 1.0 / viewingConditions.getC() / viewingConditions.getZ();
+    flScale = 100.0f / viewingConditions.getFl();
+  }
+
+  /**
+   * Returns the solver for the given viewing conditions, which is created once per {@link
+   * ViewingConditions} instance.
+   */
+  static HctSolver forViewingConditions(ViewingConditions viewingConditions) {
+    return viewingConditions == ViewingConditions.DEFAULT
+        ? DEFAULT
+        : viewingConditions.getHctSolver();
+  }
+
+  /**
+   * Finds the color with the requested hue and tone, and the chroma closest to the requested
+   * chroma that is within the sRGB gamut.
+   *
+   * @param hue CAM16 hue, in degrees.
+   * @param chroma CAM16 chroma.
+   * @param tone L*a*b* lightness.
+   * @param scratch Array of at least {@link #SCRATCH_SIZE} elements.
+   * @return ARGB representation of the color.
+   */
+  int solveToInt(float hue, float chroma, float tone, float[] scratch) {
+    if (chroma < 1.0 || Math.round(tone) <= 0.0 || Math.round(tone) >= 100.0) {
+      return ColorUtils.intFromLstar(tone);
+    }
+
+    hue = MathUtils.sanitizeDegrees(hue);
+    DEFAULT.setHueTerms(hue, scratch);
+
+    float high = chroma;
+    float mid = chroma;
+    float low = 0.0f;
+    boolean isFirstLoop = true;
+
+    boolean hasAnswer = false;
+    while (Math.abs(low - high) >= CHROMA_SEARCH_ENDPOINT) {
+      boolean hasPossibleAnswer = findCamByJ(hue, mid, tone, scratch);
+
+      if (isFirstLoop) {
+        if (hasPossibleAnswer) {
+          return viewedBest(scratch);
+        } else {
+          isFirstLoop = false;
+          mid = low + (high - low) / 2.0f;
+          continue;
+        }
+      }
+
+      if (hasPossibleAnswer) {
+        hasAnswer = true;
+        low = mid;
+      } else {
+        high = mid;
+      }
+
+      mid = low + (high - low) / 2.0f;
+    }
+
+    if (!hasAnswer) {
+      return ColorUtils.intFromLstar(tone);
+    }
+
+    return viewedBest(scratch);
+  }
+
+  /**
+   * Finds the color with the requested hue, chroma, and tone, within error tolerance, like {@code
+   * Hct#findCamByJ}. The search runs in default viewing conditions.
+   *
+   * @param scratch holds the dimensions of clipped colors, the hue dependent values of {@link
+   *     #viewed}, and the dimensions of the best color at {@link #BEST}.
+   * @return whether a color was found, in which case its dimensions are written into {@code
+   *     scratch} at {@link #BEST}. Otherwise, {@code scratch} keeps the previous best color.
+   */
+  private static boolean findCamByJ(float hue, float chroma, float tone, float[] scratch) {
+    float low = 0.0f;
+    float high = 100.0f;
+    float mid = 0.0f;
+    float bestdL = 1000.0f;
+    float bestdE = 1000.0f;
+    boolean found = false;
+
+    float hueRadians = hue * (float) Math.PI / 180.0f;
+    float hueCos = (float) Math.cos(hueRadians);
+    float hueSin = (float) Math.sin(hueRadians);
+    // The last steps of the search often clip to the same color. Measuring it again would not
+    // change the best color, so its L* is reused and the distance is not computed again.
+    int previousClipped = 0;
+    float clippedLstar = 0.0f;
+    boolean isFirstStep = true;
+    while (Math.abs(low - high) > LIGHTNESS_SEARCH_ENDPOINT) {
+      mid = low + (high - low) / 2;
+      int clipped = DEFAULT.viewed(mid, chroma, scratch);
+      boolean isRepeated = !isFirstStep && clipped == previousClipped;
+      if (!isRepeated) {
+        clippedLstar = ColorUtils.lstarFromInt(clipped);
+      }
+      previousClipped = clipped;
+      isFirstStep = false;
+      float dL = Math.abs(tone - clippedLstar);
+
+      if (!isRepeated && dL < DL_MAX) {
+        Cam16.dimensionsFromIntInViewingConditions(clipped, ViewingConditions.DEFAULT, scratch);
+        float dE = distanceToHue(scratch, hueCos, hueSin);
+        if (dE <= DE_MAX && dE <= bestdE) {
+          bestdL = dL;
+          bestdE = dE;
+          found = true;
+          System.arraycopy(scratch, 0, scratch, BEST, Cam16.DIMENSION_COUNT);
+        }
+      }
+
+      if (bestdL == 0 && bestdE < DE_MAX_ERROR) {
+        break;
+      }
+
+      if (clippedLstar < tone) {
+        low = mid;
+      } else {
+        high = mid;
+      }
+    }
+
+    return found;
+  }
+
+  /**
+   * Returns the distance, like {@link Cam16#distance(Cam16)}, between the color whose dimensions
+   * are in {@code dimensions} and the color with the same J and chroma at the requested hue.
+   */
+  private static float distanceToHue(float[] dimensions, float hueCos, float hueSin) {
+    float j = dimensions[Cam16.J];
+    float m = dimensions[Cam16.CHROMA] * ViewingConditions.DEFAULT.getFlRoot();
+    float jstar = (1.0f + 100.0f * 0.007f) * j / (1.0f + 0.007f * j);
+    float mstar = 1.0f / 0.0228f * (float) Math.log1p(0.0228 * m);
+    float astar = mstar * hueCos;
+    float bstar = mstar * hueSin;
+
+    float dJ = dimensions[Cam16.JSTAR] - jstar;
+    float dA = dimensions[Cam16.ASTAR] - astar;
+    float dB = dimensions[Cam16.BSTAR] - bstar;
+    double dEPrime = Math.sqrt(dJ * dJ + dA * dA + dB * dB);
+    double dE = 1.41 * Math.pow(dEPrime, 0.63);
+    return (float) dE;
+  }
+
+  /** Returns the best color found by {@link #findCamByJ}, viewed in this solver's conditions. */
+  private int viewedBest(float[] scratch) {
+    float j = scratch[BEST + Cam16.J];
+    float chroma = scratch[BEST + Cam16.CHROMA];
+    setHueTerms(scratch[BEST + Cam16.HUE], scratch);
+    return viewed(j, chroma, scratch);
+  }
+
+  /** Writes the values of {@link Cam16#viewed(ViewingConditions)} which only depend on the hue. */
+  private void setHueTerms(float hue, float[] scratch) {
+    float hRad = hue * (float) Math.PI / 180.0f;
+    float eHue = 0.25f * (float) (Math.cos(hRad + 2.0) + 3.8);
+    scratch[HUE_P1] =
+        eHue * (50000.0f / 13.0f) * viewingConditions.getNc() * viewingConditions.getNcb();
+    scratch[HUE_SIN] = (float) Math.sin(hRad);
+    scratch[HUE_COS] = (float) Math.cos(hRad);
+  }
+
+  /**
+   * ARGB representation of a CAM16 color, like {@link Cam16#viewed(ViewingConditions)}, with the
+   * hue dependent values read from {@code hueTerms}.
+   */
+  private int viewed(float j, float chroma, float[] hueTerms) {
+    float alpha = (chroma == 0.0 || j == 0.0) ? 0.0f : chroma / (float) Math.sqrt(j / 100.0);
+
+    float t = (float) Math.pow(alpha / tDenominator, 1.0 / 0.9);
+    float ac = viewingConditions.getAw() * (float) Math.pow(j / 100.0, jExponent);
+    float p1 = hueTerms[HUE_P1];
+    float p2 = (ac / viewingConditions.getNbb());
+
+    float hSin = hueTerms[HUE_SIN];
+    float hCos = hueTerms[HUE_COS];
+
+    float gamma = 23.0f * (p2 + 0.305f) * t / (23.0f * p1 + 11.0f * t * hCos + 108.0f * t * hSin);
+    float a = gamma * hCos;
+    float b = gamma * hSin;
+    float rA = (460.0f * p2 + 451.0f * a + 288.0f * b) / 1403.0f;
+    float gA = (460.0f * p2 - 891.0f * a - 261.0f * b) / 1403.0f;
+    float bA = (460.0f * p2 - 220.0f * a - 6300.0f * b) / 1403.0f;
+
+    float rCBase = (float) max(0, (27.13 * Math.abs(rA)) / (400.0 - Math.abs(rA)));
+    float rC = Math.signum(rA) * flScale * (float) Math.pow(rCBase, 1.0 / 0.42);
+    float gCBase = (float) max(0, (27.13 * Math.abs(gA)) / (400.0 - Math.abs(gA)));
+    float gC = Math.signum(gA) * flScale * (float) Math.pow(gCBase, 1.0 / 0.42);
+    float bCBase = (float) max(0, (27.13 * Math.abs(bA)) / (400.0 - Math.abs(bA)));
+    float bC = Math.signum(bA) * flScale * (float) Math.pow(bCBase, 1.0 / 0.42);
+    float[] rgbD = viewingConditions.getRgbD();
+    float rF = rC / rgbD[0];
+    float gF = gC / rgbD[1];
+    float bF = bC / rgbD[2];
+
+    float[][] matrix = Cam16.CAM16RGB_TO_XYZ;
+    float x = (rF * matrix[0][0]) + (gF * matrix[0][1]) + (bF * matrix[0][2]);
+    float y = (rF * matrix[1][0]) + (gF * matrix[1][1]) + (bF * matrix[1][2]);
+    float z = (rF * matrix[2][0]) + (gF * matrix[2][1]) + (bF * matrix[2][2]);
+
+    return ColorUtils.intFromXyzComponents(x, y, z);
+  }
+}
@@ -29,6 +29,7 @@ import androidx.annotation.ColorInt;
 import androidx.annotation.FloatRange;
 import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
+import androidx.collection.LruCache;
 import androidx.core.content.ContextCompat;
 import androidx.core.graphics.ColorUtils;
 import com.bottombar.navigation.material.resources.MaterialAttributes;
@@ -56,6 +57,30 @@ public class MaterialColors {
   private static final int TONE_ACCENT_CONTAINER_DARK = 30;
   private static final int TONE_ON_ACCENT_CONTAINER_DARK = 90;
 
+  // Widgets commonly derive color roles from a handful of seed colors, so small caches suffice.
+  private static final int COLOR_ROLES_CACHE_SIZE = 32;
+  private static final int COLOR_ROLE_CACHE_SIZE = COLOR_ROLES_CACHE_SIZE * 8;
+
+  // Keyed by the color in the upper bits and whether the theme is light in the lowest bit.
+  private static final LruCache<Long, ColorRoles> colorRolesCache =
+      new LruCache<Long, ColorRoles>(COLOR_ROLES_CACHE_SIZE) {
+        @Override
+        protected ColorRoles create(@NonNull Long key) {
+          return createColorRoles((int) (key >>> 1), (key & 1) == 1);
+        }
+      };
+
+  // Keyed by the color in the upper bits and the tone in the lowest byte.
+  private static final LruCache<Long, Integer> colorRoleCache =
+      new LruCache<Long, Integer>(COLOR_ROLE_CACHE_SIZE) {
+        @Override
+        protected Integer create(@NonNull Long key) {
+          Hct hctColor = Hct.fromInt((int) (key >>> 8));
+          hctColor.setTone((int) (key & 0xff));
+          return hctColor.toInt();
+        }
+      };
+
   private MaterialColors() {
     // Private constructor to prevent unwanted construction.
   }
@@ -243,6 +268,23 @@ public class MaterialColors {
     return Blend.harmonize(colorToHarmonize, colorToHarmonizeWith);
   }
 
+  /**
+   * Harmonizes each of the provided colors with the same color. Prefer this to calling {@link
+   * #harmonize(int, int)} for each color when harmonizing many colors, since the color to harmonize
+   * with is only converted once.
+   *
+   * @param colorsToHarmonize The colors to harmonize.
+   * @param colorToHarmonizeWith The primary color selected for harmonization.
+   * @param harmonizedColors Receives the harmonized colors, at the same indices as in {@code
+   *     colorsToHarmonize}. May be {@code colorsToHarmonize} itself.
+   */
+  public static void harmonize(
+      @NonNull int[] colorsToHarmonize,
+      @ColorInt int colorToHarmonizeWith,
+      @NonNull int[] harmonizedColors) {
+    Blend.harmonize(colorsToHarmonize, colorToHarmonizeWith, harmonizedColors);
+  }
+
   /**
    * Returns the {@link ColorRoles} object generated from the provided input color.
    *
@@ -264,6 +306,27 @@ public class MaterialColors {
    */
   @NonNull
   public static ColorRoles getColorRoles(@ColorInt int color, boolean isLightTheme) {
+    return colorRolesCache.get(((color & 0xffffffffL) << 1) | (isLightTheme ? 1 : 0));
+  }
+
+  /**
+   * Returns the number of times {@link #getColorRoles(int, boolean)} returned previously generated
+   * {@link ColorRoles}.
+   */
+  public static int getColorRolesCacheHitCount() {
+    return colorRolesCache.hitCount();
+  }
+
+  /**
+   * Returns the number of times {@link #getColorRoles(int, boolean)} had to generate new {@link
+   * ColorRoles}.
+   */
+  public static int getColorRolesCacheMissCount() {
+    return colorRolesCache.missCount();
+  }
+
+  @NonNull
+  private static ColorRoles createColorRoles(@ColorInt int color, boolean isLightTheme) {
     return isLightTheme
         ? new ColorRoles(
             getColorRole(color, TONE_ACCENT_LIGHT),
@@ -279,8 +342,6 @@ public class MaterialColors {
 
   @ColorInt
   private static int getColorRole(@ColorInt int color, @IntRange(from = 0, to = 100) int tone) {
-    Hct hctColor = Hct.fromInt(color);
-    hctColor.setTone(tone);
-    return hctColor.toInt();
+    return colorRoleCache.get(((color & 0xffffffffL) << 8) | tone);
   }
 }
@@ -48,6 +48,9 @@ final class ViewingConditions {
   private final float flRoot;
   private final float z;
 
+  // Created on first use by getHctSolver().
+  private HctSolver hctSolver;
+
   public float getAw() {
     return aw;
   }
@@ -88,6 +91,14 @@ final class ViewingConditions {
     return z;
   }
 
+  /** Returns the {@link HctSolver} for these viewing conditions, creating it on first use. */
+  HctSolver getHctSolver() {
+    if (hctSolver == null) {
+      hctSolver = new HctSolver(this);
+    }
+    return hctSolver;
+  }
+
   /**
    * Create ViewingConditions from a simple, physically relevant, set of parameters.
    *
@@ -20,6 +20,7 @@ import static androidx.annotation.RestrictTo.Scope.LIBRARY_GROUP;
 import android.os.Bundle;
 import android.os.Parcel;
 import android.os.Parcelable;
+import android.util.SparseIntArray;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
@@ -45,6 +46,10 @@ public final class CalendarConstraints implements Parcelable {
   private final int yearSpan;
   private final int monthSpan;
 
+  private final boolean validDaysCacheEnabled;
+  // The masks returned by DateValidator#getValidDaysInMonth, keyed by year * 12 + month.
+  private final SparseIntArray validDaysByMonth = new SparseIntArray();
+
   /**
    * Used to determine whether calendar days are enabled.
    *
@@ -55,6 +60,29 @@ public final class CalendarConstraints implements Parcelable {
 
     /** Returns true if the provided {@code date} is enabled. */
     boolean isValid(long date);
+
+    /**
+     * Returns the enabled days of a month as a bit mask, in which bit {@code n} is set when day
+     * {@code n + 1} of the month is enabled.
+     *
+     * <p>Defaults to calling {@link #isValid(long)} for every day of the month. Validators which
+     * can compute the days of a whole month more efficiently should override this method, and
+     * must return the same days as {@link #isValid(long)}.
+     *
+     * @param year The year of the month.
+     * @param month The 0-indexed month, from {@link Calendar#JANUARY} to {@link Calendar#DECEMBER}.
+     */
+    default int getValidDaysInMonth(int year, int month) {
+      long firstEpochDay = EpochDays.fromCivil(year, month, 1);
+      int daysInMonth = EpochDays.getDaysInMonth(year, month);
+      int validDays = 0;
+      for (int day = 0; day < daysInMonth; day++) {
+        if (isValid(EpochDays.toMillis(firstEpochDay + day))) {
+          validDays |= 1 << day;
+        }
+      }
+      return validDays;
+    }
   }
 
   private CalendarConstraints(
@@ -62,12 +90,14 @@ public final class CalendarConstraints implements Parcelable {
       @NonNull Month end,
       @NonNull DateValidator validator,
       @Nullable Month openAt,
-      int firstDayOfWeek) {
+      int firstDayOfWeek,
+      boolean validDaysCacheEnabled) {
     this.start = start;
     this.end = end;
     this.openAt = openAt;
     this.firstDayOfWeek = firstDayOfWeek;
     this.validator = validator;
+    this.validDaysCacheEnabled = validDaysCacheEnabled;
     if (openAt != null && start.compareTo(openAt) > 0) {
       throw new IllegalArgumentException("start Month cannot be after current Month");
     }
@@ -93,6 +123,35 @@ public final class CalendarConstraints implements Parcelable {
     return validator;
   }
 
+  /**
+   * Returns whether the {@link DateValidator} enables the day of {@code date}.
+   *
+   * <p>When the valid days cache is enabled, the validator is evaluated once for the whole month
+   * with {@link DateValidator#getValidDaysInMonth(int, int)}, and later days of the month are
+   * looked up in the cached mask.
+   */
+  boolean isValidDay(long date) {
+    if (!validDaysCacheEnabled) {
+      return validator.isValid(date);
+    }
+    long epochDay = EpochDays.fromMillis(date);
+    int year = EpochDays.getYear(epochDay);
+    int month = EpochDays.getMonth(epochDay);
+    int key = year * 12 + month;
+    // Masks never have the sign bit set, as months have at most 31 days.
+    int validDays = validDaysByMonth.get(key, -1);
+    if (validDays == -1) {
+      validDays = validator.getValidDaysInMonth(year, month);
+      validDaysByMonth.put(key, validDays);
+    }
+    return (validDays & (1 << (EpochDays.getDayOfMonth(epochDay) - 1))) != 0;
+  }
+
+  /** Returns whether the valid days of each month are cached. */
+  boolean isValidDaysCacheEnabled() {
+    return validDaysCacheEnabled;
+  }
+
   /** Returns the earliest month allowed by this set of bounds. */
   @NonNull
   Month getStart() {
@@ -150,12 +209,13 @@ public final class CalendarConstraints implements Parcelable {
         && end.equals(that.end)
         && ObjectsCompat.equals(openAt, that.openAt)
         && firstDayOfWeek == that.firstDayOfWeek
+        && validDaysCacheEnabled == that.validDaysCacheEnabled
         && validator.equals(that.validator);
   }
 
   @Override
   public int hashCode() {
-    Object[] hashedFields = {start, end, openAt, firstDayOfWeek, validator};
+    Object[] hashedFields = {start, end, openAt, firstDayOfWeek, validDaysCacheEnabled, validator};
     return Arrays.hashCode(hashedFields);
   }
 
@@ -172,7 +232,9 @@ public final class CalendarConstraints implements Parcelable {
           Month openAt = source.readParcelable(Month.class.getClassLoader());
           DateValidator validator = source.readParcelable(DateValidator.class.getClassLoader());
           int firstDayOfWeek = source.readInt();
-          return new CalendarConstraints(start, end, validator, openAt, firstDayOfWeek);
+          boolean validDaysCacheEnabled = source.readInt() != 0;
+          return new CalendarConstraints(
+              start, end, validator, openAt, firstDayOfWeek, validDaysCacheEnabled);
         }
 
         @NonNull
@@ -194,6 +256,7 @@ public final class CalendarConstraints implements Parcelable {
     dest.writeParcelable(openAt, /* parcelableFlags= */ 0);
     dest.writeParcelable(validator, /* parcelableFlags = */ 0);
     dest.writeInt(firstDayOfWeek);
+    dest.writeInt(validDaysCacheEnabled ? 1 : 0);
   }
 
   /**
@@ -234,6 +297,7 @@ public final class CalendarConstraints implements Parcelable {
     private Long openAt;
     private int firstDayOfWeek;
     private DateValidator validator = DateValidatorPointForward.from(Long.MIN_VALUE);
+    private boolean validDaysCacheEnabled;
 
     public Builder() {}
 
@@ -243,6 +307,7 @@ public final class CalendarConstraints implements Parcelable {
       openAt = clone.openAt.timeInMillis;
       firstDayOfWeek = clone.firstDayOfWeek;
       validator = clone.validator;
+      validDaysCacheEnabled = clone.validDaysCacheEnabled;
     }
 
     /**
@@ -349,6 +414,21 @@ public final class CalendarConstraints implements Parcelable {
       return this;
     }
 
+    /**
+     * Sets whether the {@link DateValidator} is evaluated once per month, with {@link
+     * DateValidator#getValidDaysInMonth(int, int)}, and the result cached for the lifetime of the
+     * {@link CalendarConstraints}. Defaults to false.
+     *
+     * <p>Enable this for validators whose result for a date never changes, such as a {@link
+     * CompositeDateValidator} of many {@link DateValidatorBlocklist}s, to avoid evaluating the
+     * validator for every day each time the calendar is bound.
+     */
+    @NonNull
+    public Builder setValidDaysCacheEnabled(boolean validDaysCacheEnabled) {
+      this.validDaysCacheEnabled = validDaysCacheEnabled;
+      return this;
+    }
+
     /** Builds the {@link CalendarConstraints} object using the set parameters or defaults. */
     @NonNull
     public CalendarConstraints build() {
@@ -359,7 +439,8 @@ public final class CalendarConstraints implements Parcelable {
           Month.create(end),
           (DateValidator) deepCopyBundle.getParcelable(DEEP_COPY_VALIDATOR_KEY),
           openAt == null ? null : Month.create(openAt),
-          firstDayOfWeek);
+          firstDayOfWeek,
+          validDaysCacheEnabled);
     }
   }
 }
@@ -36,6 +36,8 @@ public final class CompositeDateValidator implements DateValidator {
   private interface Operator {
     boolean isValid(@NonNull List<DateValidator> validators, long date);
 
+    int getValidDaysInMonth(@NonNull List<DateValidator> validators, int year, int month);
+
     int getId();
   }
 
@@ -56,6 +58,24 @@ public final class CompositeDateValidator implements DateValidator {
           return false;
         }
 
+        @Override
+        public int getValidDaysInMonth(
+            @NonNull List<DateValidator> validators, int year, int month) {
+          int allDays = getAllDaysInMonth(year, month);
+          int validDays = 0;
+          for (DateValidator validator : validators) {
+            if (validator == null) {
+              continue;
+            }
+            validDays |= validator.getValidDaysInMonth(year, month);
+            if (validDays == allDays) {
+              break;
+            }
+          }
+
+          return validDays;
+        }
+
         @Override
         public int getId() {
           return COMPARATOR_ANY_ID;
@@ -79,12 +99,33 @@ public final class CompositeDateValidator implements DateValidator {
           return true;
         }
 
+        @Override
+        public int getValidDaysInMonth(
+            @NonNull List<DateValidator> validators, int year, int month) {
+          int validDays = getAllDaysInMonth(year, month);
+          for (DateValidator validator : validators) {
+            if (validator == null) {
+              continue;
+            }
+            validDays &= validator.getValidDaysInMonth(year, month);
+            if (validDays == 0) {
+              break;
+            }
+          }
+
+          return validDays;
+        }
+
         @Override
         public int getId() {
           return COMPARATOR_ALL_ID;
         }
       };
 
+  private static int getAllDaysInMonth(int year, int month) {
+    return (int) ((1L << EpochDays.getDaysInMonth(year, month)) - 1);
+  }
+
   private CompositeDateValidator(@NonNull List<DateValidator> validators, Operator operator) {
     this.validators = validators;
     this.operator = operator;
@@ -146,6 +187,15 @@ public final class CompositeDateValidator implements DateValidator {
     return operator.isValid(validators, date);
   }
 
+  /**
+   * Combines the {@link DateValidator#getValidDaysInMonth(int, int)} masks of the validators,
+   * so that each validator computes the month at once instead of being called for every day.
+   */
+  @Override
+  public int getValidDaysInMonth(int year, int month) {
+    return operator.getValidDaysInMonth(validators, year, month);
+  }
+
   @Override
   public int describeContents() {
     return 0;
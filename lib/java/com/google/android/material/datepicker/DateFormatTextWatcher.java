@@ -90,7 +90,7 @@ abstract class DateFormatTextWatcher extends TextWatcherAdapter {
       Date date = dateFormat.parse(s.toString());
       textInputLayout.setError(null);
       final long milliseconds = date.getTime();
-      if (constraints.getDateValidator().isValid(milliseconds)
+      if (constraints.isValidDay(milliseconds)
           && constraints.isWithinBounds(milliseconds)) {
         onValidDate(date.getTime());
         return;
@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2022 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bottombar.navigation.material.datepicker;
+
+import android.util.SparseIntArray;
+import androidx.annotation.NonNull;
+import androidx.annotation.RestrictTo;
+import androidx.annotation.RestrictTo.Scope;
+import androidx.core.util.Pair;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * An index of selected days and ranges which a {@link DateSelector} can keep alongside its
+ * selection, so that {@link DateSelector#isDaySelected(long)}, {@link
+ * DateSelector#getSelectionInMonth(int, int)} and {@link
+ * DateSelector#getSelectedRangesBetween(long, long)} don't depend on the number of selected days.
+ *
+ * <p>Selected days are kept as a bit mask per month, and ranges as sorted arrays of epoch days in
+ * which overlapping ranges are merged. Dates are represented as times in UTC milliseconds.
+ *
+ * @hide
+ */
+@RestrictTo(Scope.LIBRARY_GROUP)
+public final class DateSelectionIndex {
+
+  // Bit n is set when day n + 1 of the month is selected, keyed by getMonthKey(year, month).
+  private final SparseIntArray selectedDaysByMonth = new SparseIntArray();
+
+  // Inclusive epoch day bounds of the ranges, sorted and without overlaps.
+  private long[] rangeStarts = new long[2];
+  private long[] rangeEnds = new long[2];
+  private int rangeCount;
+
+  /** Removes all days and ranges from the index. */
+  public void clear() {
+    selectedDaysByMonth.clear();
+    rangeCount = 0;
+  }
+
+  /** Removes all days from the index, keeping the ranges. */
+  public void clearDays() {
+    selectedDaysByMonth.clear();
+  }
+
+  /** Sets the days and ranges of this index to those of {@code other}. */
+  public void set(@NonNull DateSelectionIndex other) {
+    selectedDaysByMonth.clear();
+    for (int i = 0; i < other.selectedDaysByMonth.size(); i++) {
+      selectedDaysByMonth.put(
+          other.selectedDaysByMonth.keyAt(i), other.selectedDaysByMonth.valueAt(i));
+    }
+    rangeStarts = Arrays.copyOf(other.rangeStarts, other.rangeStarts.length);
+    rangeEnds = Arrays.copyOf(other.rangeEnds, other.rangeEnds.length);
+    rangeCount = other.rangeCount;
+  }
+
+  /** Adds the day containing {@code day} to the selected days. */
+  public void addDay(long day) {
+    long epochDay = EpochDays.fromMillis(day);
+    int key = getMonthKey(epochDay);
+    selectedDaysByMonth.put(key, selectedDaysByMonth.get(key) | getDayBit(epochDay));
+  }
+
+  /** Removes the day containing {@code day} from the selected days. */
+  public void removeDay(long day) {
+    long epochDay = EpochDays.fromMillis(day);
+    int key = getMonthKey(epochDay);
+    int selectedDays = selectedDaysByMonth.get(key) & ~getDayBit(epochDay);
+    if (selectedDays == 0) {
+      selectedDaysByMonth.delete(key);
+    } else {
+      selectedDaysByMonth.put(key, selectedDays);
+    }
+  }
+
+  /** Returns whether the day containing {@code day} is one of the selected days. */
+  public boolean containsDay(long day) {
+    long epochDay = EpochDays.fromMillis(day);
+    return (selectedDaysByMonth.get(getMonthKey(epochDay)) & getDayBit(epochDay)) != 0;
+  }
+
+  /**
+   * Returns the selected days of a month as a bit mask, in which bit {@code n} is set when day
+   * {@code n + 1} of the month is selected.
+   *
+   * @param month The 0-indexed month, from {@link java.util.Calendar#JANUARY}.
+   */
+  public int getSelectedDaysInMonth(int year, int month) {
+    return selectedDaysByMonth.get(getMonthKey(year, month));
+  }
+
+  /**
+   * Adds the range of days from {@code start} to {@code end}, inclusive, merging it with the ranges
+   * it overlaps.
+   */
+  public void addRange(long start, long end) {
+    long startDay = EpochDays.fromMillis(Math.min(start, end));
+    long endDay = EpochDays.fromMillis(Math.max(start, end));
+    // Ranges from first to last - 1 overlap the new range and are merged into it.
+    int first = findFirstRangeEndingOnOrAfter(startDay);
+    int last = first;
+    while (last < rangeCount && rangeStarts[last] <= endDay) {
+      startDay = Math.min(startDay, rangeStarts[last]);
+      endDay = Math.max(endDay, rangeEnds[last]);
+      last++;
+    }
+    int removed = last - first;
+    if (removed == 0) {
+      ensureRangeCapacity(rangeCount + 1);
+    }
+    int shift = 1 - removed;
+    if (shift != 0) {
+      System.arraycopy(rangeStarts, last, rangeStarts, last + shift, rangeCount - last);
+      System.arraycopy(rangeEnds, last, rangeEnds, last + shift, rangeCount - last);
+    }
+    rangeStarts[first] = startDay;
+    rangeEnds[first] = endDay;
+    rangeCount += shift;
+  }
+
+  /**
+   * Removes the range which includes the day containing {@code day}, if any.
+   *
+   * @return whether a range was removed
+   */
+  public boolean removeRangeContaining(long day) {
+    long epochDay = EpochDays.fromMillis(day);
+    int index = findFirstRangeEndingOnOrAfter(epochDay);
+    if (index >= rangeCount || rangeStarts[index] > epochDay) {
+      return false;
+    }
+    System.arraycopy(rangeStarts, index + 1, rangeStarts, index, rangeCount - index - 1);
+    System.arraycopy(rangeEnds, index + 1, rangeEnds, index, rangeCount - index - 1);
+    rangeCount--;
+    return true;
+  }
+
+  /** Returns whether the day containing {@code day} is within one of the ranges. */
+  public boolean isInRange(long day) {
+    long epochDay = EpochDays.fromMillis(day);
+    int index = findFirstRangeEndingOnOrAfter(epochDay);
+    return index < rangeCount && rangeStarts[index] <= epochDay;
+  }
+
+  /** Returns the number of ranges, after overlapping ranges are merged. */
+  public int getRangeCount() {
+    return rangeCount;
+  }
+
+  /** Returns the first day of the range at {@code index}, in order of the ranges' days. */
+  public long getRangeStart(int index) {
+    return EpochDays.toMillis(rangeStarts[index]);
+  }
+
+  /** Returns the last day of the range at {@code index}, in order of the ranges' days. */
+  public long getRangeEnd(int index) {
+    return EpochDays.toMillis(rangeEnds[index]);
+  }
+
+  /**
+   * Adds the ranges which include days from {@code start} to {@code end}, inclusive, to {@code
+   * ranges}.
+   */
+  public void getRangesBetween(long start, long end, @NonNull Collection<Pair<Long, Long>> ranges) {
+    long endDay = EpochDays.fromMillis(end);
+    for (int index = findFirstRangeEndingOnOrAfter(EpochDays.fromMillis(start));
+        index < rangeCount && rangeStarts[index] <= endDay;
+        index++) {
+      ranges.add(
+          new Pair<>(EpochDays.toMillis(rangeStarts[index]), EpochDays.toMillis(rangeEnds[index])));
+    }
+  }
+
+  /** Returns the index of the first range ending on or after {@code epochDay}. */
+  private int findFirstRangeEndingOnOrAfter(long epochDay) {
+    int index = Arrays.binarySearch(rangeEnds, 0, rangeCount, epochDay);
+    return index >= 0 ? index : -(index + 1);
+  }
+
+  private void ensureRangeCapacity(int capacity) {
+    if (capacity > rangeStarts.length) {
+      int newCapacity = Math.max(capacity, rangeStarts.length * 2);
+      rangeStarts = Arrays.copyOf(rangeStarts, newCapacity);
+      rangeEnds = Arrays.copyOf(rangeEnds, newCapacity);
+    }
+  }
+
+  private static int getMonthKey(long epochDay) {
+    return getMonthKey(EpochDays.getYear(epochDay), EpochDays.getMonth(epochDay));
+  }
+
+  private static int getMonthKey(int year, int month) {
+    return year * 12 + month;
+  }
+
+  private static int getDayBit(long epochDay) {
+    return 1 << (EpochDays.getDayOfMonth(epochDay) - 1);
+  }
+}
@@ -33,6 +33,7 @@ import androidx.annotation.StringRes;
 import androidx.annotation.StyleRes;
 import androidx.core.util.Pair;
 import com.bottombar.navigation.material.internal.ViewUtils;
+import java.util.ArrayList;
 import java.util.Collection;
 
 /**
@@ -87,6 +88,58 @@ public interface DateSelector<S> extends Parcelable {
   @NonNull
   Collection<Pair<Long, Long>> getSelectedRanges();
 
+  /**
+   * Returns whether {@code day}, represented as time in UTC milliseconds, is one of the {@link
+   * #getSelectedDays()}.
+   *
+   * <p>Called for every day bound in the calendar. Implementations with many selected days should
+   * answer this from a {@link DateSelectionIndex} instead of iterating their selection.
+   */
+  default boolean isDaySelected(long day) {
+    long canonicalDay = UtcDates.canonicalYearMonthDay(day);
+    for (Long selectedDay : getSelectedDays()) {
+      if (UtcDates.canonicalYearMonthDay(selectedDay) == canonicalDay) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the {@link #getSelectedDays()} within a month as a bit mask, in which bit {@code n} is
+   * set when day {@code n + 1} of the month is selected.
+   *
+   * @param month The 0-indexed month, from {@link java.util.Calendar#JANUARY}.
+   */
+  default int getSelectionInMonth(int year, int month) {
+    int selectionInMonth = 0;
+    for (Long selectedDay : getSelectedDays()) {
+      long epochDay = EpochDays.fromMillis(selectedDay);
+      if (EpochDays.getYear(epochDay) == year && EpochDays.getMonth(epochDay) == month) {
+        selectionInMonth |= 1 << (EpochDays.getDayOfMonth(epochDay) - 1);
+      }
+    }
+    return selectionInMonth;
+  }
+
+  /**
+   * Returns the {@link #getSelectedRanges()} which include days from {@code start} to {@code end},
+   * inclusive, represented as times in UTC milliseconds.
+   */
+  @NonNull
+  default Collection<Pair<Long, Long>> getSelectedRangesBetween(long start, long end) {
+    Collection<Pair<Long, Long>> ranges = new ArrayList<>();
+    for (Pair<Long, Long> range : getSelectedRanges()) {
+      if (range.first != null
+          && range.second != null
+          && range.first <= end
+          && range.second >= start) {
+        ranges.add(range);
+      }
+    }
+    return ranges;
+  }
+
   @NonNull
   String getSelectionDisplayString(Context context);
 
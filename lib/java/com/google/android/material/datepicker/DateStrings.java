@@ -22,6 +22,7 @@ import android.text.format.DateUtils;
 import androidx.annotation.Nullable;
 import androidx.core.util.Pair;
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Locale;
@@ -29,8 +30,34 @@ import java.util.Locale;
 /** Util methods for formatting date strings for use in {@link MaterialDatePicker}. */
 class DateStrings {
 
+  /** The maximum number of days in a month, for {@link #getDayNumber(int, Locale)}. */
+  private static final int MAXIMUM_DAYS_IN_MONTH = 31;
+
+  // The formatted day numbers of dayNumbersLocale, only used from the UI thread.
+  private static final String[] dayNumbers = new String[MAXIMUM_DAYS_IN_MONTH];
+  @Nullable private static Locale dayNumbersLocale;
+
   private DateStrings() {}
 
+  /**
+   * Returns the day number of a day of the month formatted for the specified Locale.
+   *
+   * <p>The numbers are cached for the last Locale they were formatted for, as they're formatted for
+   * every day of each month the calendar binds.
+   */
+  static String getDayNumber(int dayOfMonth, Locale locale) {
+    if (!locale.equals(dayNumbersLocale)) {
+      Arrays.fill(dayNumbers, null);
+      dayNumbersLocale = locale;
+    }
+    String dayNumber = dayNumbers[dayOfMonth - 1];
+    if (dayNumber == null) {
+      dayNumber = String.format(locale, "%d", dayOfMonth);
+      dayNumbers[dayOfMonth - 1] = dayNumber;
+    }
+    return dayNumber;
+  }
+
   static String getYearMonth(long timeInMillis) {
     int flags = DateUtils.FORMAT_SHOW_YEAR | DateUtils.FORMAT_NO_MONTH_DAY | DateUtils.FORMAT_UTC;
     return DateUtils.formatDateTime(null, timeInMillis, flags);
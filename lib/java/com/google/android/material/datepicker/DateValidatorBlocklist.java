@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2022 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bottombar.navigation.material.datepicker;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+import androidx.annotation.NonNull;
+import com.bottombar.navigation.material.datepicker.CalendarConstraints.DateValidator;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * A {@link CalendarConstraints.DateValidator} that disables a given list of days, such as holidays,
+ * using {@link DateValidatorBlocklist#from(Collection)}.
+ *
+ * <p>The days are kept sorted, so that checking a day takes a binary search regardless of the
+ * number of disabled days.
+ */
+public class DateValidatorBlocklist implements DateValidator {
+
+  // Sorted epoch days without duplicates.
+  @NonNull private final long[] blockedDays;
+
+  private DateValidatorBlocklist(@NonNull long[] blockedDays) {
+    this.blockedDays = blockedDays;
+  }
+
+  /**
+   * Returns a {@link CalendarConstraints.DateValidator} which disables the days containing each
+   * of the {@code dates}, in UTC milliseconds.
+   */
+  @NonNull
+  public static DateValidatorBlocklist from(@NonNull Collection<Long> dates) {
+    long[] blockedDays = new long[dates.size()];
+    int count = 0;
+    for (Long date : dates) {
+      blockedDays[count++] = EpochDays.fromMillis(date);
+    }
+    Arrays.sort(blockedDays);
+    int distinctCount = 0;
+    for (int i = 0; i < count; i++) {
+      if (distinctCount == 0 || blockedDays[distinctCount - 1] != blockedDays[i]) {
+        blockedDays[distinctCount++] = blockedDays[i];
+      }
+    }
+    return new DateValidatorBlocklist(Arrays.copyOf(blockedDays, distinctCount));
+  }
+
+  /** Part of {@link android.os.Parcelable} requirements. Do not use. */
+  public static final Parcelable.Creator<DateValidatorBlocklist> CREATOR =
+      new Parcelable.Creator<DateValidatorBlocklist>() {
+        @NonNull
+        @Override
+        public DateValidatorBlocklist createFromParcel(@NonNull Parcel source) {
+          return new DateValidatorBlocklist(source.createLongArray());
+        }
+
+        @NonNull
+        @Override
+        public DateValidatorBlocklist[] newArray(int size) {
+          return new DateValidatorBlocklist[size];
+        }
+      };
+
+  @Override
+  public boolean isValid(long date) {
+    return Arrays.binarySearch(blockedDays, EpochDays.fromMillis(date)) < 0;
+  }
+
+  @Override
+  public int getValidDaysInMonth(int year, int month) {
+    long firstEpochDay = EpochDays.fromCivil(year, month, 1);
+    int daysInMonth = EpochDays.getDaysInMonth(year, month);
+    int validDays = (int) ((1L << daysInMonth) - 1);
+    int index = Arrays.binarySearch(blockedDays, firstEpochDay);
+    if (index < 0) {
+      index = -(index + 1);
+    }
+    long endEpochDay = firstEpochDay + daysInMonth;
+    for (; index < blockedDays.length && blockedDays[index] < endEpochDay; index++) {
+      validDays &= ~(1 << (int) (blockedDays[index] - firstEpochDay));
+    }
+    return validDays;
+  }
+
+  @Override
+  public int describeContents() {
+    return 0;
+  }
+
+  @Override
+  public void writeToParcel(@NonNull Parcel dest, int flags) {
+    dest.writeLongArray(blockedDays);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof DateValidatorBlocklist)) {
+      return false;
+    }
+    DateValidatorBlocklist that = (DateValidatorBlocklist) o;
+    return Arrays.equals(blockedDays, that.blockedDays);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(blockedDays);
+  }
+}
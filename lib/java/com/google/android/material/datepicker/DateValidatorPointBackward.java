@@ -51,7 +51,7 @@ public class DateValidatorPointBackward implements DateValidator {
    */
   @NonNull
   public static DateValidatorPointBackward now() {
-    return before(UtcDates.getTodayCalendar().getTimeInMillis());
+    return before(UtcDates.getTodayTimeInMillis());
   }
 
   /** Part of {@link android.os.Parcelable} requirements. Do not use. */
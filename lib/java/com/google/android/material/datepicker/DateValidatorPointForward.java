@@ -50,7 +50,7 @@ public class DateValidatorPointForward implements DateValidator {
    */
   @NonNull
   public static DateValidatorPointForward now() {
-    return from(UtcDates.getTodayCalendar().getTimeInMillis());
+    return from(UtcDates.getTodayTimeInMillis());
   }
 
   /** Part of {@link android.os.Parcelable} requirements. Do not use. */
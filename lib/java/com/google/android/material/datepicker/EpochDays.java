@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2022 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bottombar.navigation.material.datepicker;
+
+import java.util.Calendar;
+
+/**
+ * Date arithmetic on epoch days, the number of days since January 1, 1970 in UTC, using the
+ * proleptic Gregorian calendar.
+ *
+ * <p>Used instead of {@link Calendar} where dates are computed for every day of a month, as none of
+ * these methods allocate. Months are 0-indexed to match the {@link Calendar} constants.
+ */
+final class EpochDays {
+
+  static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+
+  static final int DAYS_PER_WEEK = 7;
+
+  /** Days from 0000-03-01, the start of the proleptic Gregorian era, to 1970-01-01. */
+  private static final long DAYS_0000_TO_1970 = 719468;
+
+  private static final int DAYS_PER_ERA = 146097;
+
+  private static final int[] DAYS_IN_MONTH = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+  private EpochDays() {}
+
+  /** Returns the epoch day containing the given time in UTC milliseconds from the epoch. */
+  static long fromMillis(long timeInMillis) {
+    return floorDiv(timeInMillis, MILLIS_PER_DAY);
+  }
+
+  /** Returns the UTC milliseconds from the epoch of the first moment of the epoch day. */
+  static long toMillis(long epochDay) {
+    return epochDay * MILLIS_PER_DAY;
+  }
+
+  /**
+   * Returns the epoch day of the given date.
+   *
+   * @param month The 0-indexed month, from {@link Calendar#JANUARY} to {@link Calendar#DECEMBER}.
+   * @param dayOfMonth The 1-indexed day of the month, days outside the month roll over to the
+   *     previous or next months like a lenient {@link Calendar}.
+   */
+  static long fromCivil(int year, int month, int dayOfMonth) {
+    // Years start on March 1 so that the leap day is the last day of the year.
+    long y = month <= Calendar.FEBRUARY ? year - 1 : year;
+    long era = floorDiv(y, 400);
+    long yearOfEra = y - era * 400;
+    int monthFromMarch = (month + 10) % 12;
+    long dayOfYear = (153 * monthFromMarch + 2) / 5 + dayOfMonth - 1;
+    long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+    return era * DAYS_PER_ERA + dayOfEra - DAYS_0000_TO_1970;
+  }
+
+  /** Returns the year of the epoch day. */
+  static int getYear(long epochDay) {
+    return (int) (toCivil(epochDay) >> 16);
+  }
+
+  /** Returns the 0-indexed month of the epoch day, from {@link Calendar#JANUARY}. */
+  static int getMonth(long epochDay) {
+    return (int) ((toCivil(epochDay) >> 8) & 0xFF);
+  }
+
+  /** Returns the 1-indexed day of the month of the epoch day. */
+  static int getDayOfMonth(long epochDay) {
+    return (int) (toCivil(epochDay) & 0xFF);
+  }
+
+  /** Returns the day of the week of the epoch day, from {@link Calendar#SUNDAY}. */
+  static int getDayOfWeek(long epochDay) {
+    // 1970-01-01 was a Thursday.
+    return (int) floorMod(epochDay + Calendar.THURSDAY - Calendar.SUNDAY, DAYS_PER_WEEK)
+        + Calendar.SUNDAY;
+  }
+
+  /** Returns the number of days in the 0-indexed month of the year. */
+  static int getDaysInMonth(int year, int month) {
+    return month == Calendar.FEBRUARY && isLeapYear(year) ? 29 : DAYS_IN_MONTH[month];
+  }
+
+  static boolean isLeapYear(int year) {
+    return (year % 4 == 0) && (year % 100 != 0 || year % 400 == 0);
+  }
+
+  /**
+   * Returns the year, 0-indexed month and day of month of the epoch day packed into a long, as
+   * {@code year << 16 | month << 8 | dayOfMonth}, so that they can be computed without allocating.
+   */
+  private static long toCivil(long epochDay) {
+    long z = epochDay + DAYS_0000_TO_1970;
+    long era = floorDiv(z, DAYS_PER_ERA);
+    long dayOfEra = z - era * DAYS_PER_ERA;
+    long yearOfEra =
+        (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / (DAYS_PER_ERA - 1)) / 365;
+    long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+    long monthFromMarch = (5 * dayOfYear + 2) / 153;
+    long dayOfMonth = dayOfYear - (153 * monthFromMarch + 2) / 5 + 1;
+    long month = monthFromMarch < 10 ? monthFromMarch + 2 : monthFromMarch - 10;
+    long year = yearOfEra + era * 400 + (month <= Calendar.FEBRUARY ? 1 : 0);
+    return year << 16 | month << 8 | dayOfMonth;
+  }
+
+  private static long floorDiv(long x, long y) {
+    long quotient = x / y;
+    if ((x % y != 0) && ((x ^ y) < 0)) {
+      quotient--;
+    }
+    return quotient;
+  }
+
+  private static long floorMod(long x, long y) {
+    return x - floorDiv(x, y) * y;
+  }
+}
@@ -194,7 +194,7 @@ public final class MaterialCalendar<S> extends PickerFragment<S> {
 
               @Override
               public void onDayClick(long day) {
-                if (calendarConstraints.getDateValidator().isValid(day)) {
+                if (calendarConstraints.isValidDay(day)) {
                   dateSelector.select(day);
                   for (OnSelectionChangedListener<S> listener : onSelectionChangedListeners) {
                     listener.onSelectionChanged(dateSelector.getSelection());
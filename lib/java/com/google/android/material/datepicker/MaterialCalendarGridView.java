@@ -36,11 +36,9 @@ import androidx.core.view.AccessibilityDelegateCompat;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.accessibility.AccessibilityNodeInfoCompat;
 import com.bottombar.navigation.material.internal.ViewUtils;
-import java.util.Calendar;
 
 final class MaterialCalendarGridView extends GridView {
 
-  private final Calendar dayCompute = UtcDates.getUtcCalendar();
   private final boolean nestedScrollable;
 
   public MaterialCalendarGridView(Context context) {
@@ -136,8 +134,12 @@ final class MaterialCalendarGridView extends GridView {
 
     Long firstOfMonth = monthAdapter.getItem(firstVisiblePositionInMonth);
     Long lastOfMonth = monthAdapter.getItem(lastVisiblePositionInMonth);
+    if (firstOfMonth == null || lastOfMonth == null) {
+      return;
+    }
 
-    for (Pair<Long, Long> range : dateSelector.getSelectedRanges()) {
+    for (Pair<Long, Long> range :
+        dateSelector.getSelectedRangesBetween(firstOfMonth, lastOfMonth)) {
       if (range.first == null || range.second == null) {
         continue;
       }
@@ -159,8 +161,8 @@ final class MaterialCalendarGridView extends GridView {
                     ? getChildAtPosition(firstHighlightPosition - 1).getRight()
                     : getChildAtPosition(firstHighlightPosition - 1).getLeft();
       } else {
-        dayCompute.setTimeInMillis(startItem);
-        firstHighlightPosition = monthAdapter.dayToPosition(dayCompute.get(Calendar.DAY_OF_MONTH));
+        firstHighlightPosition =
+            monthAdapter.dayToPosition(EpochDays.getDayOfMonth(EpochDays.fromMillis(startItem)));
         rangeHighlightStart = horizontalMidPoint(getChildAtPosition(firstHighlightPosition));
       }
 
@@ -175,8 +177,8 @@ final class MaterialCalendarGridView extends GridView {
                     ? getChildAtPosition(lastHighlightPosition).getRight()
                     : getChildAtPosition(lastHighlightPosition).getLeft();
       } else {
-        dayCompute.setTimeInMillis(endItem);
-        lastHighlightPosition = monthAdapter.dayToPosition(dayCompute.get(Calendar.DAY_OF_MONTH));
+        lastHighlightPosition =
+            monthAdapter.dayToPosition(EpochDays.getDayOfMonth(EpochDays.fromMillis(endItem)));
         rangeHighlightEnd = horizontalMidPoint(getChildAtPosition(lastHighlightPosition));
       }
 
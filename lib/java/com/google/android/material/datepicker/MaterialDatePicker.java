@@ -61,6 +61,7 @@ import com.bottombar.navigation.material.shape.MaterialShapeDrawable;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.util.LinkedHashSet;
+import java.util.List;
 
 /** A {@link Dialog} with a header, {@link MaterialCalendar}, and set of actions. */
 public final class MaterialDatePicker<S> extends DialogFragment {
@@ -94,7 +95,7 @@ public final class MaterialDatePicker<S> extends DialogFragment {
 
   /** Returns the UTC milliseconds representing the first moment of today in local timezone. */
   public static long todayInUtcMilliseconds() {
-    return UtcDates.getTodayCalendar().getTimeInMillis();
+    return UtcDates.getTodayTimeInMillis();
   }
 
   /**
@@ -636,6 +637,15 @@ public final class MaterialDatePicker<S> extends DialogFragment {
       return new Builder<>(new RangeDateSelector());
     }
 
+    /**
+     * Used to create a Builder that allows for choosing any number of date ranges in the {@code
+     * MaterialDatePicker}. Overlapping ranges are merged, and the selection is sorted by date.
+     */
+    @NonNull
+    public static Builder<List<Pair<Long, Long>>> multiDateRangePicker() {
+      return new Builder<>(new MultiRangeDateSelector());
+    }
+
     @NonNull
     public Builder<S> setSelection(S selection) {
       this.selection = selection;
@@ -24,7 +24,6 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.util.Arrays;
 import java.util.Calendar;
-import java.util.GregorianCalendar;
 
 /** Contains convenience operations for a month within a specific year. */
 final class Month implements Comparable<Month>, Parcelable {
@@ -47,23 +46,28 @@ final class Month implements Comparable<Month>, Parcelable {
   })
   @interface Months {}
 
-  @NonNull private final Calendar firstOfMonth;
   @Months final int month;
   final int year;
   final int daysInWeek;
   final int daysInMonth;
   final long timeInMillis;
 
+  // Precomputed so that the days of the month can be calculated without a Calendar.
+  private final long firstEpochDay;
+  private final int firstDayOfWeek;
+  // The first day of the week in the default locale, looked up when first needed.
+  private int defaultFirstDayOfWeek;
+
   @Nullable private String longName;
 
-  private Month(@NonNull Calendar rawCalendar) {
-    rawCalendar.set(Calendar.DAY_OF_MONTH, 1);
-    firstOfMonth = UtcDates.getDayCopy(rawCalendar);
-    month = firstOfMonth.get(Calendar.MONTH);
-    year = firstOfMonth.get(Calendar.YEAR);
-    daysInWeek = firstOfMonth.getMaximum(Calendar.DAY_OF_WEEK);
-    daysInMonth = firstOfMonth.getActualMaximum(Calendar.DAY_OF_MONTH);
-    timeInMillis = firstOfMonth.getTimeInMillis();
+  private Month(int year, @Months int month) {
+    this.year = year;
+    this.month = month;
+    daysInWeek = EpochDays.DAYS_PER_WEEK;
+    daysInMonth = EpochDays.getDaysInMonth(year, month);
+    firstEpochDay = EpochDays.fromCivil(year, month, 1);
+    firstDayOfWeek = EpochDays.getDayOfWeek(firstEpochDay);
+    timeInMillis = EpochDays.toMillis(firstEpochDay);
   }
 
   /**
@@ -72,25 +76,27 @@ final class Month implements Comparable<Month>, Parcelable {
    */
   @NonNull
   static Month create(long timeInMillis) {
-    Calendar calendar = UtcDates.getUtcCalendar();
-    calendar.setTimeInMillis(timeInMillis);
-    return new Month(calendar);
+    long epochDay = EpochDays.fromMillis(timeInMillis);
+    return new Month(EpochDays.getYear(epochDay), EpochDays.getMonth(epochDay));
   }
 
   /**
-   * Creates an instance of Month with the given parameters backed by a {@link Calendar}.
+   * Creates an instance of Month with the given parameters.
    *
    * @param year The year
    * @param month The 0-index based month. Use {@link Calendar} constants (e.g., {@link
-   *     Calendar#JANUARY}
-   * @return A Month object backed by a new {@link Calendar} instance
+   *     Calendar#JANUARY}. Months outside of the year roll over to the previous or next years.
+   * @return A new Month object
    */
   @NonNull
   static Month create(int year, @Months int month) {
-    Calendar calendar = UtcDates.getUtcCalendar();
-    calendar.set(Calendar.YEAR, year);
-    calendar.set(Calendar.MONTH, month);
-    return new Month(calendar);
+    int yearOffset = month / 12;
+    month %= 12;
+    if (month < 0) {
+      month += 12;
+      yearOffset--;
+    }
+    return new Month(year + yearOffset, month);
   }
 
   /**
@@ -99,13 +105,17 @@ final class Month implements Comparable<Month>, Parcelable {
    */
   @NonNull
   static Month current() {
-    return new Month(UtcDates.getTodayCalendar());
+    return create(UtcDates.getTodayTimeInMillis());
   }
 
   int daysFromStartOfWeekToFirstOfMonth(int firstDayOfWeek) {
-    int difference =
-        firstOfMonth.get(Calendar.DAY_OF_WEEK)
-            - (firstDayOfWeek > 0 ? firstDayOfWeek : firstOfMonth.getFirstDayOfWeek());
+    if (firstDayOfWeek <= 0) {
+      if (defaultFirstDayOfWeek == 0) {
+        defaultFirstDayOfWeek = UtcDates.getUtcCalendar().getFirstDayOfWeek();
+      }
+      firstDayOfWeek = defaultFirstDayOfWeek;
+    }
+    int difference = this.firstDayOfWeek - firstDayOfWeek;
     if (difference < 0) {
       difference = difference + daysInWeek;
     }
@@ -132,7 +142,7 @@ final class Month implements Comparable<Month>, Parcelable {
 
   @Override
   public int compareTo(@NonNull Month other) {
-    return firstOfMonth.compareTo(other.firstOfMonth);
+    return timeInMillis < other.timeInMillis ? -1 : (timeInMillis == other.timeInMillis ? 0 : 1);
   }
 
   /**
@@ -140,41 +150,37 @@ final class Month implements Comparable<Month>, Parcelable {
    *
    * <p>0 when {@code this.compareTo(other)} is 0. Negative when {@code this.compareTo(other)} is
    * negative.
-   *
-   * @throws IllegalArgumentException when {@link Calendar#getInstance()} is not an instance of
-   *     {@link GregorianCalendar}
    */
   int monthsUntil(@NonNull Month other) {
-    if (firstOfMonth instanceof GregorianCalendar) {
-      return (other.year - year) * 12 + (other.month - month);
-    } else {
-      throw new IllegalArgumentException("Only Gregorian calendars are supported.");
-    }
+    return (other.year - year) * 12 + (other.month - month);
   }
 
   long getStableId() {
-    return firstOfMonth.getTimeInMillis();
+    return timeInMillis;
   }
 
   /**
    * Gets a long for the specific day within the instance's month and year.
    *
-   * <p>This method only guarantees validity with respect to {@link Calendar#isLenient()}.
+   * <p>Days outside of the month roll over to the previous or next months, like a lenient {@link
+   * Calendar}.
    *
    * @param day The desired day within this month and year
    * @return A long representing a time in milliseconds for the given day within the specified month
    *     and year
    */
   long getDay(int day) {
-    Calendar dayCalendar = UtcDates.getDayCopy(firstOfMonth);
-    dayCalendar.set(Calendar.DAY_OF_MONTH, day);
-    return dayCalendar.getTimeInMillis();
+    return EpochDays.toMillis(firstEpochDay + day - 1);
   }
 
   int getDayOfMonth(long date) {
-    Calendar dayCalendar = UtcDates.getDayCopy(firstOfMonth);
-    dayCalendar.setTimeInMillis(date);
-    return dayCalendar.get(Calendar.DAY_OF_MONTH);
+    return EpochDays.getDayOfMonth(EpochDays.fromMillis(date));
+  }
+
+  /** Returns whether {@code date}, in UTC milliseconds, is a moment within this month. */
+  boolean contains(long date) {
+    long epochDay = EpochDays.fromMillis(date);
+    return epochDay >= firstEpochDay && epochDay < firstEpochDay + daysInMonth;
   }
 
   /**
@@ -183,16 +189,14 @@ final class Month implements Comparable<Month>, Parcelable {
    */
   @NonNull
   Month monthsLater(int months) {
-    Calendar laterMonth = UtcDates.getDayCopy(firstOfMonth);
-    laterMonth.add(Calendar.MONTH, months);
-    return new Month(laterMonth);
+    return create(year, month + months);
   }
 
   /** Returns a localized String representation of the month name and year. */
   @NonNull
   String getLongName() {
     if (longName == null) {
-      longName = DateStrings.getYearMonth(firstOfMonth.getTimeInMillis());
+      longName = DateStrings.getYearMonth(timeInMillis);
     }
     return longName;
   }
@@ -25,8 +25,8 @@ import android.widget.BaseAdapter;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.collection.LruCache;
 import java.util.Calendar;
-import java.util.Collection;
 import java.util.Locale;
 
 /**
@@ -48,13 +48,26 @@ class MonthAdapter extends BaseAdapter {
           + UtcDates.getUtcCalendar().getMaximum(Calendar.DAY_OF_WEEK)
           - 1;
 
+  /**
+   * The number of months whose day content descriptions are kept, enough for the months around the
+   * visible one while paging back and forth.
+   */
+  private static final int MAXIMUM_CACHED_MONTHS = 8;
+
+  // Only used from the UI thread.
+  private static final LruCache<Month, DayContentDescriptions> dayContentDescriptionsCache =
+      new LruCache<>(MAXIMUM_CACHED_MONTHS);
+
   final Month month;
   /**
    * The {@link DateSelector} dictating the draw behavior of {@link #getView(int, View, ViewGroup)}.
    */
   final DateSelector<?> dateSelector;
 
-  private Collection<Long> previouslySelectedDates;
+  // The selected days of the month as of the last update, bit n is set when day n + 1 is selected.
+  private int previousSelectionInMonth;
+
+  @Nullable private DayContentDescriptions dayContentDescriptions;
 
   CalendarStyle calendarStyle;
   final CalendarConstraints calendarConstraints;
@@ -63,7 +76,7 @@ class MonthAdapter extends BaseAdapter {
     this.month = month;
     this.dateSelector = dateSelector;
     this.calendarConstraints = calendarConstraints;
-    this.previouslySelectedDates = dateSelector.getSelectedDays();
+    this.previousSelectionInMonth = dateSelector.getSelectionInMonth(month.year, month.month);
   }
 
   @Override
@@ -110,6 +123,7 @@ class MonthAdapter extends BaseAdapter {
   @Override
   public TextView getView(int position, @Nullable View convertView, @NonNull ViewGroup parent) {
     initializeStyles(parent.getContext());
+    long todayInMillis = UtcDates.getTodayTimeInMillis();
     TextView day = (TextView) convertView;
     if (convertView == null) {
       LayoutInflater layoutInflater = LayoutInflater.from(parent.getContext());
@@ -124,13 +138,9 @@ class MonthAdapter extends BaseAdapter {
       // The tag and text uniquely identify the view within the MaterialCalendar for testing
       day.setTag(month);
       Locale locale = day.getResources().getConfiguration().locale;
-      day.setText(String.format(locale, "%d", dayNumber));
-      long dayInMillis = month.getDay(dayNumber);
-      if (month.year == Month.current().year) {
-        day.setContentDescription(DateStrings.getMonthDayOfWeekDay(dayInMillis));
-      } else {
-        day.setContentDescription(DateStrings.getYearMonthDayOfWeekDay(dayInMillis));
-      }
+      day.setText(DateStrings.getDayNumber(dayNumber, locale));
+      boolean showYear = month.year != EpochDays.getYear(EpochDays.fromMillis(todayInMillis));
+      day.setContentDescription(getDayContentDescription(dayNumber, showYear));
       day.setVisibility(View.VISIBLE);
       day.setEnabled(true);
     }
@@ -139,48 +149,43 @@ class MonthAdapter extends BaseAdapter {
     if (date == null) {
       return day;
     }
-    updateSelectedState(day, date);
+    updateSelectedState(day, date, todayInMillis);
     return day;
   }
 
   public void updateSelectedStates(MaterialCalendarGridView monthGrid) {
-    // Update previously selected dates.
-    for (Long date : previouslySelectedDates) {
-      updateSelectedStateForDate(monthGrid, date);
+    if (dateSelector == null) {
+      return;
     }
-
-    // Update currently selected dates.
-    if (dateSelector != null) {
-      for (Long date : dateSelector.getSelectedDays()) {
-        updateSelectedStateForDate(monthGrid, date);
-      }
-      // Update the list of previously selected dates.
-      previouslySelectedDates = dateSelector.getSelectedDays();
+    int selectionInMonth = dateSelector.getSelectionInMonth(month.year, month.month);
+    // Update both the previously and the currently selected days.
+    int daysToUpdate = previousSelectionInMonth | selectionInMonth;
+    previousSelectionInMonth = selectionInMonth;
+    if (daysToUpdate == 0) {
+      return;
     }
-  }
-
-  private void updateSelectedStateForDate(MaterialCalendarGridView monthGrid, long date) {
-    if (Month.create(date).equals(month)) {
-      // Validate that the day is in the right month.
-      int day = month.getDayOfMonth(date);
-      updateSelectedState(
-          (TextView)
-              monthGrid.getChildAt(
-                  monthGrid.getAdapter().dayToPosition(day) - monthGrid.getFirstVisiblePosition()),
-          date);
+    long todayInMillis = UtcDates.getTodayTimeInMillis();
+    for (int day = 1; day <= month.daysInMonth; day++) {
+      if ((daysToUpdate & (1 << (day - 1))) != 0) {
+        int position = monthGrid.getAdapter().dayToPosition(day);
+        updateSelectedState(
+            (TextView) monthGrid.getChildAt(position - monthGrid.getFirstVisiblePosition()),
+            month.getDay(day),
+            todayInMillis);
+      }
     }
   }
 
-  private void updateSelectedState(@Nullable TextView day, long date) {
+  private void updateSelectedState(@Nullable TextView day, long date, long todayInMillis) {
     if (day == null) {
       return;
     }
     final CalendarItemStyle style;
-    if (calendarConstraints.getDateValidator().isValid(date)) {
+    if (calendarConstraints.isValidDay(date)) {
       day.setEnabled(true);
-      if (isSelected(date)) {
+      if (dateSelector.isDaySelected(date)) {
         style = calendarStyle.selectedDay;
-      } else if (UtcDates.getTodayCalendar().getTimeInMillis() == date) {
+      } else if (todayInMillis == date) {
         style = calendarStyle.todayDay;
       } else {
         style = calendarStyle.day;
@@ -192,13 +197,21 @@ class MonthAdapter extends BaseAdapter {
     style.styleItem(day);
   }
 
-  private boolean isSelected(long date) {
-    for (long selectedDay : dateSelector.getSelectedDays()) {
-      if (UtcDates.canonicalYearMonthDay(date) == UtcDates.canonicalYearMonthDay(selectedDay)) {
-        return true;
+  /**
+   * Returns the content description of a day of the month, formatting it the first time it's
+   * requested for the month and keeping it for the adapters of the same month.
+   */
+  @NonNull
+  private String getDayContentDescription(int dayNumber, boolean showYear) {
+    Locale locale = Locale.getDefault();
+    if (dayContentDescriptions == null || !dayContentDescriptions.matches(locale, showYear)) {
+      dayContentDescriptions = dayContentDescriptionsCache.get(month);
+      if (dayContentDescriptions == null || !dayContentDescriptions.matches(locale, showYear)) {
+        dayContentDescriptions = new DayContentDescriptions(month, locale, showYear);
+        dayContentDescriptionsCache.put(month, dayContentDescriptions);
       }
     }
-    return false;
+    return dayContentDescriptions.get(dayNumber);
   }
 
   private void initializeStyles(Context context) {
@@ -266,4 +279,37 @@ class MonthAdapter extends BaseAdapter {
   boolean isLastInRow(int position) {
     return (position + 1) % month.daysInWeek == 0;
   }
+
+  /** The content descriptions of the days of a month, formatted as they're requested. */
+  private static final class DayContentDescriptions {
+    @NonNull private final Month month;
+    @NonNull private final Locale locale;
+    private final boolean showYear;
+    @NonNull private final String[] descriptions;
+
+    DayContentDescriptions(@NonNull Month month, @NonNull Locale locale, boolean showYear) {
+      this.month = month;
+      this.locale = locale;
+      this.showYear = showYear;
+      descriptions = new String[month.daysInMonth];
+    }
+
+    boolean matches(@NonNull Locale locale, boolean showYear) {
+      return this.locale.equals(locale) && this.showYear == showYear;
+    }
+
+    @NonNull
+    String get(int dayNumber) {
+      String description = descriptions[dayNumber - 1];
+      if (description == null) {
+        long dayInMillis = month.getDay(dayNumber);
+        description =
+            showYear
+                ? DateStrings.getYearMonthDayOfWeekDay(dayInMillis, locale)
+                : DateStrings.getMonthDayOfWeekDay(dayInMillis, locale);
+        descriptions[dayNumber - 1] = description;
+      }
+      return description;
+    }
+  }
 }
@@ -0,0 +1,356 @@
+/*
+ * Copyright (C) 2022 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bottombar.navigation.material.datepicker;
+
+import com.ssos.support.R;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.os.Bundle;
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.text.InputType;
+import android.util.DisplayMetrics;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.EditText;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+import androidx.annotation.RestrictTo.Scope;
+import androidx.core.util.Pair;
+import androidx.core.util.Preconditions;
+import com.bottombar.navigation.material.internal.ManufacturerUtils;
+import com.bottombar.navigation.material.resources.MaterialAttributes;
+import com.bottombar.navigation.material.textfield.TextInputLayout;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A {@link DateSelector} that uses a {@link List} of {@link Pair}s of {@link Long} objects to
+ * represent any number of selected ranges.
+ *
+ * <p>The ranges are kept in a {@link DateSelectionIndex}, sorted and with overlapping ranges
+ * merged, so that adding a range and looking up the ranges of a month don't depend on the number of
+ * ranges. Selecting a day starts a range which the next selected day ends, selecting the same day
+ * twice selects that single day. Selecting a day within a range while no range is started removes
+ * that range.
+ *
+ * @hide
+ */
+@RestrictTo(Scope.LIBRARY_GROUP)
+public class MultiRangeDateSelector implements DateSelector<List<Pair<Long, Long>>> {
+
+  private String invalidRangeStartError;
+  // "" is not considered an error
+  private final String invalidRangeEndError = " ";
+  @Nullable private Long pendingStartItem = null;
+  @Nullable private Long proposedTextStart = null;
+  @Nullable private Long proposedTextEnd = null;
+  private final DateSelectionIndex selectionIndex = new DateSelectionIndex();
+  // The ranges selected before the text input view was created, which the text input adds to.
+  private final DateSelectionIndex textInputBaseIndex = new DateSelectionIndex();
+
+  @Override
+  public void select(long selection) {
+    if (pendingStartItem != null) {
+      selectionIndex.addRange(pendingStartItem, selection);
+      pendingStartItem = null;
+    } else if (!selectionIndex.removeRangeContaining(selection)) {
+      pendingStartItem = selection;
+    }
+    updateSelectedDays();
+  }
+
+  @Override
+  public boolean isSelectionComplete() {
+    return pendingStartItem == null && selectionIndex.getRangeCount() > 0;
+  }
+
+  @Override
+  public void setSelection(@NonNull List<Pair<Long, Long>> selection) {
+    selectionIndex.clear();
+    pendingStartItem = null;
+    for (Pair<Long, Long> range : selection) {
+      Preconditions.checkArgument(range.first != null && range.second != null);
+      Preconditions.checkArgument(range.first <= range.second);
+      selectionIndex.addRange(
+          UtcDates.canonicalYearMonthDay(range.first),
+          UtcDates.canonicalYearMonthDay(range.second));
+    }
+    updateSelectedDays();
+  }
+
+  @Override
+  @NonNull
+  public List<Pair<Long, Long>> getSelection() {
+    int rangeCount = selectionIndex.getRangeCount();
+    List<Pair<Long, Long>> ranges = new ArrayList<>(rangeCount);
+    for (int i = 0; i < rangeCount; i++) {
+      ranges.add(new Pair<>(selectionIndex.getRangeStart(i), selectionIndex.getRangeEnd(i)));
+    }
+    return ranges;
+  }
+
+  @NonNull
+  @Override
+  public Collection<Pair<Long, Long>> getSelectedRanges() {
+    return getSelection();
+  }
+
+  @NonNull
+  @Override
+  public Collection<Long> getSelectedDays() {
+    int rangeCount = selectionIndex.getRangeCount();
+    ArrayList<Long> selections = new ArrayList<>(rangeCount * 2 + 1);
+    for (int i = 0; i < rangeCount; i++) {
+      selections.add(selectionIndex.getRangeStart(i));
+      if (selectionIndex.getRangeEnd(i) != selectionIndex.getRangeStart(i)) {
+        selections.add(selectionIndex.getRangeEnd(i));
+      }
+    }
+    if (pendingStartItem != null) {
+      selections.add(pendingStartItem);
+    }
+    return selections;
+  }
+
+  @Override
+  public boolean isDaySelected(long day) {
+    return selectionIndex.containsDay(day);
+  }
+
+  @Override
+  public int getSelectionInMonth(int year, int month) {
+    return selectionIndex.getSelectedDaysInMonth(year, month);
+  }
+
+  @NonNull
+  @Override
+  public Collection<Pair<Long, Long>> getSelectedRangesBetween(long start, long end) {
+    ArrayList<Pair<Long, Long>> ranges = new ArrayList<>();
+    selectionIndex.getRangesBetween(start, end, ranges);
+    return ranges;
+  }
+
+  /** Marks the first and last days of each range and the pending start as the selected days. */
+  private void updateSelectedDays() {
+    selectionIndex.clearDays();
+    for (int i = 0; i < selectionIndex.getRangeCount(); i++) {
+      selectionIndex.addDay(selectionIndex.getRangeStart(i));
+      selectionIndex.addDay(selectionIndex.getRangeEnd(i));
+    }
+    if (pendingStartItem != null) {
+      selectionIndex.addDay(pendingStartItem);
+    }
+  }
+
+  @Override
+  public int getDefaultThemeResId(@NonNull Context context) {
+    Resources res = context.getResources();
+    DisplayMetrics display = res.getDisplayMetrics();
+    int maximumDefaultFullscreenMinorAxis =
+        res.getDimensionPixelSize(R.dimen.mtrl_calendar_maximum_default_fullscreen_minor_axis);
+    int minorAxisPx = Math.min(display.widthPixels, display.heightPixels);
+    int defaultThemeAttr =
+        minorAxisPx > maximumDefaultFullscreenMinorAxis
+            ? R.attr.materialCalendarTheme
+            : R.attr.materialCalendarFullscreenTheme;
+    return MaterialAttributes.resolveOrThrow(
+        context, defaultThemeAttr, MaterialDatePicker.class.getCanonicalName());
+  }
+
+  @NonNull
+  @Override
+  public String getSelectionDisplayString(@NonNull Context context) {
+    Resources res = context.getResources();
+    int rangeCount = selectionIndex.getRangeCount();
+    if (rangeCount == 0) {
+      if (pendingStartItem == null) {
+        return res.getString(R.string.mtrl_picker_range_header_unselected);
+      }
+      return res.getString(
+          R.string.mtrl_picker_range_header_only_start_selected,
+          DateStrings.getDateString(pendingStartItem));
+    }
+    if (rangeCount == 1 && pendingStartItem == null) {
+      Pair<String, String> dateRangeStrings =
+          DateStrings.getDateRangeString(
+              selectionIndex.getRangeStart(0), selectionIndex.getRangeEnd(0));
+      return res.getString(
+          R.string.mtrl_picker_range_header_selected,
+          dateRangeStrings.first,
+          dateRangeStrings.second);
+    }
+    return res.getQuantityString(
+        R.plurals.mtrl_picker_multi_range_header_selected, rangeCount, rangeCount);
+  }
+
+  @Override
+  public int getDefaultTitleResId() {
+    return R.string.mtrl_picker_range_header_title;
+  }
+
+  @Override
+  public View onCreateTextInputView(
+      @NonNull LayoutInflater layoutInflater,
+      @Nullable ViewGroup viewGroup,
+      @Nullable Bundle bundle,
+      CalendarConstraints constraints,
+      final @NonNull OnSelectionChangedListener<List<Pair<Long, Long>>> listener) {
+    View root =
+        layoutInflater.inflate(R.layout.mtrl_picker_text_input_date_range, viewGroup, false);
+
+    final TextInputLayout startTextInput =
+        root.findViewById(R.id.mtrl_picker_text_input_range_start);
+    final TextInputLayout endTextInput = root.findViewById(R.id.mtrl_picker_text_input_range_end);
+    EditText startEditText = startTextInput.getEditText();
+    EditText endEditText = endTextInput.getEditText();
+    if (ManufacturerUtils.isDateInputKeyboardMissingSeparatorCharacters()) {
+      // Using the URI variation places the '/' and '.' in more prominent positions
+      startEditText.setInputType(InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_VARIATION_URI);
+      endEditText.setInputType(InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_VARIATION_URI);
+    }
+
+    invalidRangeStartError = root.getResources().getString(R.string.mtrl_picker_invalid_range);
+
+    // The text input proposes one more range, added to the ranges which are already selected.
+    pendingStartItem = null;
+    updateSelectedDays();
+    textInputBaseIndex.set(selectionIndex);
+    proposedTextStart = null;
+    proposedTextEnd = null;
+
+    SimpleDateFormat format = UtcDates.getTextInputFormat();
+    String formatHint = UtcDates.getTextInputHint(root.getResources(), format);
+    startTextInput.setPlaceholderText(formatHint);
+    endTextInput.setPlaceholderText(formatHint);
+
+    startEditText.addTextChangedListener(
+        new DateFormatTextWatcher(formatHint, format, startTextInput, constraints) {
+
+          @Override
+          void onValidDate(@Nullable Long day) {
+            proposedTextStart = day;
+            updateIfValidTextProposal(startTextInput, endTextInput, listener);
+          }
+
+          @Override
+          void onInvalidDate() {
+            proposedTextStart = null;
+            updateIfValidTextProposal(startTextInput, endTextInput, listener);
+          }
+        });
+
+    endEditText.addTextChangedListener(
+        new DateFormatTextWatcher(formatHint, format, endTextInput, constraints) {
+          void onValidDate(@Nullable Long day) {
+            proposedTextEnd = day;
+            updateIfValidTextProposal(startTextInput, endTextInput, listener);
+          }
+
+          void onInvalidDate() {
+            proposedTextEnd = null;
+            updateIfValidTextProposal(startTextInput, endTextInput, listener);
+          }
+        });
+
+    DateSelector.showKeyboardWithAutoHideBehavior(startEditText, endEditText);
+
+    return root;
+  }
+
+  private void updateIfValidTextProposal(
+      @NonNull TextInputLayout startTextInput,
+      @NonNull TextInputLayout endTextInput,
+      @NonNull OnSelectionChangedListener<List<Pair<Long, Long>>> listener) {
+    if (proposedTextStart == null || proposedTextEnd == null) {
+      clearInvalidRange(startTextInput, endTextInput);
+      listener.onIncompleteSelectionChanged();
+      return;
+    }
+    if (proposedTextStart <= proposedTextEnd) {
+      selectionIndex.set(textInputBaseIndex);
+      selectionIndex.addRange(proposedTextStart, proposedTextEnd);
+      updateSelectedDays();
+      listener.onSelectionChanged(getSelection());
+    } else {
+      setInvalidRange(startTextInput, endTextInput);
+      listener.onIncompleteSelectionChanged();
+    }
+  }
+
+  private void clearInvalidRange(@NonNull TextInputLayout start, @NonNull TextInputLayout end) {
+    if (start.getError() != null && invalidRangeStartError.contentEquals(start.getError())) {
+      start.setError(null);
+    }
+    if (end.getError() != null && invalidRangeEndError.contentEquals(end.getError())) {
+      end.setError(null);
+    }
+  }
+
+  private void setInvalidRange(@NonNull TextInputLayout start, @NonNull TextInputLayout end) {
+    start.setError(invalidRangeStartError);
+    end.setError(invalidRangeEndError);
+  }
+
+  /* Parcelable interface */
+
+  /** {@link Parcelable.Creator} */
+  public static final Parcelable.Creator<MultiRangeDateSelector> CREATOR =
+      new Parcelable.Creator<MultiRangeDateSelector>() {
+        @NonNull
+        @Override
+        public MultiRangeDateSelector createFromParcel(@NonNull Parcel source) {
+          MultiRangeDateSelector multiRangeDateSelector = new MultiRangeDateSelector();
+          multiRangeDateSelector.pendingStartItem =
+              (Long) source.readValue(Long.class.getClassLoader());
+          // Ranges are written as one array of alternating first and last days.
+          long[] rangeBounds = source.createLongArray();
+          for (int i = 0; i + 1 < rangeBounds.length; i += 2) {
+            multiRangeDateSelector.selectionIndex.addRange(rangeBounds[i], rangeBounds[i + 1]);
+          }
+          multiRangeDateSelector.updateSelectedDays();
+          return multiRangeDateSelector;
+        }
+
+        @NonNull
+        @Override
+        public MultiRangeDateSelector[] newArray(int size) {
+          return new MultiRangeDateSelector[size];
+        }
+      };
+
+  @Override
+  public int describeContents() {
+    return 0;
+  }
+
+  @Override
+  public void writeToParcel(@NonNull Parcel dest, int flags) {
+    dest.writeValue(pendingStartItem);
+    int rangeCount = selectionIndex.getRangeCount();
+    long[] rangeBounds = new long[rangeCount * 2];
+    for (int i = 0; i < rangeCount; i++) {
+      rangeBounds[i * 2] = selectionIndex.getRangeStart(i);
+      rangeBounds[i * 2 + 1] = selectionIndex.getRangeEnd(i);
+    }
+    dest.writeLongArray(rangeBounds);
+  }
+}
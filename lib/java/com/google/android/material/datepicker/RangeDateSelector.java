@@ -57,6 +57,7 @@ public class RangeDateSelector implements DateSelector<Pair<Long, Long>> {
   @Nullable private Long selectedEndItem = null;
   @Nullable private Long proposedTextStart = null;
   @Nullable private Long proposedTextEnd = null;
+  private final DateSelectionIndex selectionIndex = new DateSelectionIndex();
 
   @Override
   public void select(long selection) {
@@ -68,6 +69,7 @@ public class RangeDateSelector implements DateSelector<Pair<Long, Long>> {
       selectedEndItem = null;
       selectedStartItem = selection;
     }
+    updateSelectionIndex();
   }
 
   @Override
@@ -86,6 +88,7 @@ public class RangeDateSelector implements DateSelector<Pair<Long, Long>> {
         selection.first == null ? null : UtcDates.canonicalYearMonthDay(selection.first);
     selectedEndItem =
         selection.second == null ? null : UtcDates.canonicalYearMonthDay(selection.second);
+    updateSelectionIndex();
   }
 
   @Override
@@ -119,6 +122,37 @@ public class RangeDateSelector implements DateSelector<Pair<Long, Long>> {
     return selections;
   }
 
+  @Override
+  public boolean isDaySelected(long day) {
+    return selectionIndex.containsDay(day);
+  }
+
+  @Override
+  public int getSelectionInMonth(int year, int month) {
+    return selectionIndex.getSelectedDaysInMonth(year, month);
+  }
+
+  @NonNull
+  @Override
+  public Collection<Pair<Long, Long>> getSelectedRangesBetween(long start, long end) {
+    ArrayList<Pair<Long, Long>> ranges = new ArrayList<>();
+    selectionIndex.getRangesBetween(start, end, ranges);
+    return ranges;
+  }
+
+  private void updateSelectionIndex() {
+    selectionIndex.clear();
+    if (selectedStartItem != null) {
+      selectionIndex.addDay(selectedStartItem);
+    }
+    if (selectedEndItem != null) {
+      selectionIndex.addDay(selectedEndItem);
+    }
+    if (selectedStartItem != null && selectedEndItem != null) {
+      selectionIndex.addRange(selectedStartItem, selectedEndItem);
+    }
+  }
+
   @Override
   public int getDefaultThemeResId(@NonNull Context context) {
     Resources res = context.getResources();
@@ -252,6 +286,7 @@ public class RangeDateSelector implements DateSelector<Pair<Long, Long>> {
     if (isValidRange(proposedTextStart, proposedTextEnd)) {
       selectedStartItem = proposedTextStart;
       selectedEndItem = proposedTextEnd;
+      updateSelectionIndex();
       listener.onSelectionChanged(getSelection());
     } else {
       setInvalidRange(startTextInput, endTextInput);
@@ -285,6 +320,7 @@ public class RangeDateSelector implements DateSelector<Pair<Long, Long>> {
           rangeDateSelector.selectedStartItem =
               (Long) source.readValue(Long.class.getClassLoader());
           rangeDateSelector.selectedEndItem = (Long) source.readValue(Long.class.getClassLoader());
+          rangeDateSelector.updateSelectionIndex();
           return rangeDateSelector;
         }
 
@@ -84,6 +84,29 @@ public class SingleDateSelector implements DateSelector<Long> {
     return selections;
   }
 
+  @Override
+  public boolean isDaySelected(long day) {
+    return selectedItem != null && EpochDays.fromMillis(selectedItem) == EpochDays.fromMillis(day);
+  }
+
+  @Override
+  public int getSelectionInMonth(int year, int month) {
+    if (selectedItem == null) {
+      return 0;
+    }
+    long epochDay = EpochDays.fromMillis(selectedItem);
+    if (EpochDays.getYear(epochDay) != year || EpochDays.getMonth(epochDay) != month) {
+      return 0;
+    }
+    return 1 << (EpochDays.getDayOfMonth(epochDay) - 1);
+  }
+
+  @NonNull
+  @Override
+  public Collection<Pair<Long, Long>> getSelectedRangesBetween(long start, long end) {
+    return new ArrayList<>();
+  }
+
   @Override
   @Nullable
   public Long getSelection() {
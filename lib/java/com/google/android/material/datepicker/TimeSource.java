@@ -15,6 +15,7 @@
  */
 package com.bottombar.navigation.material.datepicker;
 
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import java.util.Calendar;
 import java.util.TimeZone;
@@ -75,6 +76,17 @@ class TimeSource {
     return new TimeSource(epochMs, null);
   }
 
+  /** Returns the current time in UTC milliseconds from the epoch according to this time source. */
+  long nowInMillis() {
+    return fixedTimeMs != null ? fixedTimeMs : System.currentTimeMillis();
+  }
+
+  /** Returns the timezone used by {@link #now()}. */
+  @NonNull
+  TimeZone getTimeZone() {
+    return fixedTimeZone != null ? fixedTimeZone : TimeZone.getDefault();
+  }
+
   /** Returns a {@code Calendar} according to this time source. */
   Calendar now() {
     return now(fixedTimeZone);
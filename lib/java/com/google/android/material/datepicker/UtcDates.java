@@ -72,6 +72,17 @@ class UtcDates {
     return today;
   }
 
+  /**
+   * Returns the UTC milliseconds of the first moment of the current date, like {@link
+   * #getTodayCalendar()}, without creating a Calendar.
+   */
+  static long getTodayTimeInMillis() {
+    TimeSource timeSource = getTimeSource();
+    long now = timeSource.nowInMillis();
+    long localNow = now + timeSource.getTimeZone().getOffset(now);
+    return canonicalYearMonthDay(localNow);
+  }
+
   /**
    * Returns an empty Calendar in UTC time zone.
    *
@@ -101,24 +112,6 @@ class UtcDates {
     return utc;
   }
 
-  /**
-   * Returns a Calendar object in UTC time zone representing the start of day in UTC represented in
-   * the input Calendar object, i.e., the time (fields smaller than a day) is stripped based on the
-   * UTC time zone.
-   *
-   * @param rawCalendar the Calendar object representing the moment to process.
-   * @return A Calendar object representing the start of day in UTC time zone.
-   */
-  static Calendar getDayCopy(Calendar rawCalendar) {
-    Calendar rawCalendarInUtc = getUtcCalendarOf(rawCalendar);
-    Calendar utcCalendar = getUtcCalendar();
-    utcCalendar.set(
-        rawCalendarInUtc.get(Calendar.YEAR),
-        rawCalendarInUtc.get(Calendar.MONTH),
-        rawCalendarInUtc.get(Calendar.DAY_OF_MONTH));
-    return utcCalendar;
-  }
-
   /**
    * Strips all information from the time in milliseconds at granularities more specific than day of
    * the month.
@@ -127,10 +120,7 @@ class UtcDates {
    * @return A canonical long representing the time as UTC milliseconds for the represented day.
    */
   static long canonicalYearMonthDay(long rawDate) {
-    Calendar rawCalendar = getUtcCalendar();
-    rawCalendar.setTimeInMillis(rawDate);
-    Calendar sanitizedStartItem = getDayCopy(rawCalendar);
-    return sanitizedStartItem.getTimeInMillis();
+    return EpochDays.toMillis(EpochDays.fromMillis(rawDate));
   }
 
   @TargetApi(VERSION_CODES.N)
@@ -25,7 +25,6 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
 import com.bottombar.navigation.material.datepicker.MaterialCalendar.CalendarSelector;
-import java.util.Calendar;
 import java.util.Locale;
 
 class YearGridAdapter extends RecyclerView.Adapter<YearGridAdapter.ViewHolder> {
@@ -67,11 +66,10 @@ class YearGridAdapter extends RecyclerView.Adapter<YearGridAdapter.ViewHolder> {
     viewHolder.textView.setText(String.format(Locale.getDefault(), "%d", year));
     viewHolder.textView.setContentDescription(String.format(navigateYear, year));
     CalendarStyle styles = materialCalendar.getCalendarStyle();
-    Calendar calendar = UtcDates.getTodayCalendar();
-    CalendarItemStyle style = calendar.get(Calendar.YEAR) == year ? styles.todayYear : styles.year;
+    int todayYear = EpochDays.getYear(EpochDays.fromMillis(UtcDates.getTodayTimeInMillis()));
+    CalendarItemStyle style = todayYear == year ? styles.todayYear : styles.year;
     for (Long day : materialCalendar.getDateSelector().getSelectedDays()) {
-      calendar.setTimeInMillis(day);
-      if (calendar.get(Calendar.YEAR) == year) {
+      if (EpochDays.getYear(EpochDays.fromMillis(day)) == year) {
         style = styles.selectedYear;
       }
     }
@@ -168,6 +168,11 @@ public final class CollapsingTextHelper {
   private float currentLetterSpacing;
 
   private StaticLayout textLayout;
+  // The layouts last built for the expanded and collapsed text, reused while animating between
+  // them as long as the text and its style don't change.
+  private final CachedTextLayout expandedTextLayout = new CachedTextLayout();
+  private final CachedTextLayout collapsedTextLayout = new CachedTextLayout();
+  private int textLayoutBuildCount;
   private float collapsedTextWidth;
   private float collapsedTextBlend;
   private float expandedTextBlend;
@@ -351,6 +356,7 @@ public final class CollapsingTextHelper {
   public void setExpandedTextGravity(int gravity) {
     if (expandedTextGravity != gravity) {
       expandedTextGravity = gravity;
+      clearTextLayoutCache();
       recalculate();
     }
   }
@@ -441,6 +447,7 @@ public final class CollapsingTextHelper {
 
   public void setTitleTextEllipsize(@NonNull TruncateAt ellipsize) {
     titleTextEllipsize = ellipsize;
+    clearTextLayoutCache();
     recalculate();
   }
 
@@ -979,12 +986,13 @@ public final class CollapsingTextHelper {
     float collapsedWidth = collapsedBounds.width();
     float expandedWidth = expandedBounds.width();
 
+    boolean isCollapsed = isClose(fraction, /* targetValue= */ 1);
     float availableWidth;
     float newTextSize;
     float newLetterSpacing;
     Typeface newTypeface;
 
-    if (isClose(fraction, /* targetValue= */ 1)) {
+    if (isCollapsed) {
       newTextSize = collapsedTextSize;
       newLetterSpacing = collapsedLetterSpacing;
       scale = 1f;
@@ -1056,13 +1064,34 @@ public final class CollapsingTextHelper {
       }
 
       isRtl = calculateIsRtl(text);
-      textLayout = createStaticLayout(shouldDrawMultiline() ? maxLines : 1, availableWidth, isRtl);
+      int layoutMaxLines = shouldDrawMultiline() ? maxLines : 1;
+      CachedTextLayout cachedTextLayout = isCollapsed ? collapsedTextLayout : expandedTextLayout;
+      if (!cachedTextLayout.matches(
+          text,
+          currentTextSize,
+          currentLetterSpacing,
+          (int) availableWidth,
+          currentTypeface,
+          layoutMaxLines,
+          isRtl)) {
+        cachedTextLayout.set(
+            text,
+            currentTextSize,
+            currentLetterSpacing,
+            (int) availableWidth,
+            currentTypeface,
+            layoutMaxLines,
+            isRtl,
+            createStaticLayout(layoutMaxLines, availableWidth, isRtl));
+      }
+      textLayout = cachedTextLayout.layout;
       textToDraw = textLayout.getText();
     }
   }
 
   private StaticLayout createStaticLayout(int maxLines, float availableWidth, boolean isRtl) {
     StaticLayout textLayout = null;
+    textLayoutBuildCount++;
     try {
       // In multiline mode, the text alignment should be controlled by the static layout.
       Alignment textAlignment = maxLines == 1 ? ALIGN_NORMAL : getMultilineTextLayoutAlignment();
@@ -1143,6 +1172,7 @@ public final class CollapsingTextHelper {
     if (text == null || !TextUtils.equals(this.text, text)) {
       this.text = text;
       textToDraw = null;
+      clearTextLayoutCache();
       clearTexture();
       recalculate();
     }
@@ -1153,6 +1183,20 @@ public final class CollapsingTextHelper {
     return text;
   }
 
+  /**
+   * Clears the cached text layouts after a change to a text style which isn't compared by {@link
+   * CachedTextLayout#matches}.
+   */
+  private void clearTextLayoutCache() {
+    expandedTextLayout.clear();
+    collapsedTextLayout.clear();
+  }
+
+  /** Returns the number of {@link StaticLayout}s built, used to check the layout cache. */
+  int getTextLayoutBuildCount() {
+    return textLayoutBuildCount;
+  }
+
   private void clearTexture() {
     if (expandedTitleTexture != null) {
       expandedTitleTexture.recycle();
@@ -1163,6 +1207,7 @@ public final class CollapsingTextHelper {
   public void setMaxLines(int maxLines) {
     if (maxLines != this.maxLines) {
       this.maxLines = maxLines;
+      clearTextLayoutCache();
       clearTexture();
       recalculate();
     }
@@ -1193,6 +1238,7 @@ public final class CollapsingTextHelper {
   @RequiresApi(VERSION_CODES.M)
   public void setLineSpacingAdd(float spacingAdd) {
     this.lineSpacingAdd = spacingAdd;
+    clearTextLayoutCache();
   }
 
   @RequiresApi(VERSION_CODES.M)
@@ -1203,6 +1249,7 @@ public final class CollapsingTextHelper {
   @RequiresApi(VERSION_CODES.M)
   public void setLineSpacingMultiplier(@FloatRange(from = 0.0) float spacingMultiplier) {
     this.lineSpacingMultiplier = spacingMultiplier;
+    clearTextLayoutCache();
   }
 
   @RequiresApi(VERSION_CODES.M)
@@ -1213,6 +1260,7 @@ public final class CollapsingTextHelper {
   @RequiresApi(VERSION_CODES.M)
   public void setHyphenationFrequency(int hyphenationFrequency) {
     this.hyphenationFrequency = hyphenationFrequency;
+    clearTextLayoutCache();
   }
 
   @RequiresApi(VERSION_CODES.M)
@@ -1271,4 +1319,60 @@ public final class CollapsingTextHelper {
   private static boolean rectEquals(@NonNull Rect r, int left, int top, int right, int bottom) {
     return !(r.left != left || r.top != top || r.right != right || r.bottom != bottom);
   }
+
+  /** A {@link StaticLayout} along with the text and style it was built for. */
+  private static final class CachedTextLayout {
+    @Nullable private CharSequence text;
+    private float textSize;
+    private float letterSpacing;
+    private int width;
+    @Nullable private Typeface typeface;
+    private int maxLines;
+    private boolean isRtl;
+    @Nullable private StaticLayout layout;
+
+    @SuppressWarnings("ReferenceEquality") // Matches the Typeface comparison in TextView
+    boolean matches(
+        @NonNull CharSequence text,
+        float textSize,
+        float letterSpacing,
+        int width,
+        @Nullable Typeface typeface,
+        int maxLines,
+        boolean isRtl) {
+      return layout != null
+          && this.text == text
+          && this.textSize == textSize
+          && this.letterSpacing == letterSpacing
+          && this.width == width
+          && this.typeface == typeface
+          && this.maxLines == maxLines
+          && this.isRtl == isRtl;
+    }
+
+    void set(
+        @NonNull CharSequence text,
+        float textSize,
+        float letterSpacing,
+        int width,
+        @Nullable Typeface typeface,
+        int maxLines,
+        boolean isRtl,
+        @NonNull StaticLayout layout) {
+      this.text = text;
+      this.textSize = textSize;
+      this.letterSpacing = letterSpacing;
+      this.width = width;
+      this.typeface = typeface;
+      this.maxLines = maxLines;
+      this.isRtl = isRtl;
+      this.layout = layout;
+    }
+
+    void clear() {
+      text = null;
+      typeface = null;
+      layout = null;
+    }
+  }
 }
@@ -27,6 +27,7 @@ import android.graphics.drawable.Drawable;
 import android.graphics.drawable.RippleDrawable;
 import android.os.Bundle;
 import android.os.Parcelable;
+import android.text.TextUtils;
 import androidx.appcompat.view.menu.MenuBuilder;
 import androidx.appcompat.view.menu.MenuItemImpl;
 import androidx.appcompat.view.menu.MenuPresenter;
@@ -55,7 +56,10 @@ import androidx.core.view.accessibility.AccessibilityNodeInfoCompat;
 import androidx.core.view.accessibility.AccessibilityNodeInfoCompat.CollectionInfoCompat;
 import androidx.core.view.accessibility.AccessibilityNodeInfoCompat.CollectionItemInfoCompat;
 import androidx.core.widget.TextViewCompat;
+import androidx.recyclerview.widget.DiffUtil;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
 
 /** @hide */
 @RestrictTo(LIBRARY_GROUP)
@@ -143,6 +147,13 @@ public class NavigationMenuPresenter implements MenuPresenter {
     }
   }
 
+  /** Rebinds all menu item views, for changes to their appearance rather than to the menu. */
+  private void updateMenuItemViews() {
+    if (adapter != null) {
+      adapter.updateAll();
+    }
+  }
+
   @Override
   public void setCallback(Callback cb) {
     callback = cb;
@@ -261,12 +272,12 @@ public class NavigationMenuPresenter implements MenuPresenter {
 
   public void setSubheaderColor(@Nullable ColorStateList subheaderColor) {
     this.subheaderColor = subheaderColor;
-    updateMenuView(false);
+    updateMenuItemViews();
   }
 
   public void setSubheaderTextAppearance(@StyleRes int resId) {
     subheaderTextAppearance = resId;
-    updateMenuView(false);
+    updateMenuItemViews();
   }
 
   @Nullable
@@ -276,7 +287,7 @@ public class NavigationMenuPresenter implements MenuPresenter {
 
   public void setItemIconTintList(@Nullable ColorStateList tint) {
     iconTintList = tint;
-    updateMenuView(false);
+    updateMenuItemViews();
   }
 
   @Nullable
@@ -286,12 +297,12 @@ public class NavigationMenuPresenter implements MenuPresenter {
 
   public void setItemTextColor(@Nullable ColorStateList textColor) {
     this.textColor = textColor;
-    updateMenuView(false);
+    updateMenuItemViews();
   }
 
   public void setItemTextAppearance(@StyleRes int resId) {
     textAppearance = resId;
-    updateMenuView(false);
+    updateMenuItemViews();
   }
 
   @Nullable
@@ -301,12 +312,12 @@ public class NavigationMenuPresenter implements MenuPresenter {
 
   public void setItemBackground(@Nullable Drawable itemBackground) {
     this.itemBackground = itemBackground;
-    updateMenuView(false);
+    updateMenuItemViews();
   }
 
   public void setItemForeground(@Nullable RippleDrawable itemForeground) {
     this.itemForeground = itemForeground;
-    updateMenuView(false);
+    updateMenuItemViews();
   }
 
   public int getItemHorizontalPadding() {
@@ -315,7 +326,7 @@ public class NavigationMenuPresenter implements MenuPresenter {
 
   public void setItemHorizontalPadding(int itemHorizontalPadding) {
     this.itemHorizontalPadding = itemHorizontalPadding;
-    updateMenuView(false);
+    updateMenuItemViews();
   }
 
   @Px
@@ -325,7 +336,7 @@ public class NavigationMenuPresenter implements MenuPresenter {
 
   public void setItemVerticalPadding(@Px int itemVerticalPadding) {
     this.itemVerticalPadding = itemVerticalPadding;
-    updateMenuView(false);
+    updateMenuItemViews();
   }
 
   @Px
@@ -335,7 +346,7 @@ public class NavigationMenuPresenter implements MenuPresenter {
 
   public void setDividerInsetStart(@Px int dividerInsetStart) {
     this.dividerInsetStart = dividerInsetStart;
-    updateMenuView(false);
+    updateMenuItemViews();
   }
 
   @Px
@@ -345,7 +356,7 @@ public class NavigationMenuPresenter implements MenuPresenter {
 
   public void setDividerInsetEnd(@Px int dividerInsetEnd) {
     this.dividerInsetEnd = dividerInsetEnd;
-    updateMenuView(false);
+    updateMenuItemViews();
   }
 
   @Px
@@ -355,7 +366,7 @@ public class NavigationMenuPresenter implements MenuPresenter {
 
   public void setSubheaderInsetStart(@Px int subheaderInsetStart) {
     this.subheaderInsetStart = subheaderInsetStart;
-    updateMenuView(false);
+    updateMenuItemViews();
   }
 
   @Px
@@ -365,7 +376,7 @@ public class NavigationMenuPresenter implements MenuPresenter {
 
   public void setSubheaderInsetEnd(@Px int subheaderInsetEnd)  {
     this.subheaderInsetEnd = subheaderInsetEnd;
-    updateMenuView(false);
+    updateMenuItemViews();
   }
 
   public int getItemIconPadding() {
@@ -374,12 +385,12 @@ public class NavigationMenuPresenter implements MenuPresenter {
 
   public void setItemIconPadding(int itemIconPadding) {
     this.itemIconPadding = itemIconPadding;
-    updateMenuView(false);
+    updateMenuItemViews();
   }
 
   public void setItemMaxLines(int itemMaxLines) {
     this.itemMaxLines = itemMaxLines;
-    updateMenuView(false);
+    updateMenuItemViews();
   }
 
   public int getItemMaxLines() {
@@ -390,7 +401,7 @@ public class NavigationMenuPresenter implements MenuPresenter {
     if (this.itemIconSize != itemIconSize) {
       this.itemIconSize = itemIconSize;
       hasCustomItemIconSize = true;
-      updateMenuView(false);
+      updateMenuItemViews();
     }
   }
 
@@ -514,17 +525,23 @@ public class NavigationMenuPresenter implements MenuPresenter {
     private static final int VIEW_TYPE_SEPARATOR = 2;
     private static final int VIEW_TYPE_HEADER = 3;
 
+    private static final long HEADER_ITEM_ID = 0;
+
     private final ArrayList<NavigationMenuItem> items = new ArrayList<>();
+    // The ids of the text items, kept for their menu items while they are visible.
+    private final IdentityHashMap<MenuItemImpl, Long> textItemIds = new IdentityHashMap<>();
+    private long nextTextItemId = HEADER_ITEM_ID + 1;
     private MenuItemImpl checkedItem;
     private boolean updateSuspended;
 
     NavigationMenuAdapter() {
+      setHasStableIds(true);
       prepareMenuItems();
     }
 
     @Override
     public long getItemId(int position) {
-      return position;
+      return items.get(position).getId();
     }
 
     @Override
@@ -598,7 +615,7 @@ public class NavigationMenuPresenter implements MenuPresenter {
             }
             itemView.setMaxLines(itemMaxLines);
             itemView.initialize(item.getMenuItem(), 0);
-            setAccessibilityDelegate(itemView, position, false);
+            setAccessibilityDelegate(holder, false);
             break;
           }
         case VIEW_TYPE_SUBHEADER:
@@ -618,7 +635,7 @@ public class NavigationMenuPresenter implements MenuPresenter {
             if (subheaderColor != null) {
               subHeader.setTextColor(subheaderColor);
             }
-            setAccessibilityDelegate(subHeader, position, true);
+            setAccessibilityDelegate(holder, true);
             break;
           }
         case VIEW_TYPE_SEPARATOR:
@@ -633,20 +650,25 @@ public class NavigationMenuPresenter implements MenuPresenter {
           }
         case VIEW_TYPE_HEADER:
           {
-            setAccessibilityDelegate(holder.itemView, position, true);
+            setAccessibilityDelegate(holder, true);
             break;
           }
       }
     }
 
-    private void setAccessibilityDelegate(View view, int position, boolean isHeader) {
+    private void setAccessibilityDelegate(@NonNull ViewHolder holder, boolean isHeader) {
       ViewCompat.setAccessibilityDelegate(
-          view,
+          holder.itemView,
           new AccessibilityDelegateCompat() {
             @Override
             public void onInitializeAccessibilityNodeInfo(
                 @NonNull View host, @NonNull AccessibilityNodeInfoCompat info) {
               super.onInitializeAccessibilityNodeInfo(host, info);
+              // Rows aren't rebound when only their position changes, so use the current one
+              int position = holder.getAdapterPosition();
+              if (position == RecyclerView.NO_POSITION) {
+                return;
+              }
               info.setCollectionItemInfo(
                   CollectionItemInfoCompat.obtain(
                       /* rowIndex= */ adjustItemPositionForA11yDelegate(position),
@@ -680,7 +702,24 @@ public class NavigationMenuPresenter implements MenuPresenter {
       }
     }
 
+    /**
+     * Updates the items from {@link #menu}, notifying only the rows which were inserted, removed or
+     * whose menu item changed.
+     */
     public void update() {
+      if (updateSuspended) {
+        // The items can't be prepared while updates are suspended, so just rebind the rows.
+        notifyDataSetChanged();
+        return;
+      }
+      List<NavigationMenuItem> oldItems = new ArrayList<>(items);
+      prepareMenuItems();
+      DiffUtil.calculateDiff(new NavigationMenuItemDiffCallback(oldItems, items), false)
+          .dispatchUpdatesTo(this);
+    }
+
+    /** Updates the items from {@link #menu} and rebinds all rows. */
+    void updateAll() {
       prepareMenuItems();
       notifyDataSetChanged();
     }
@@ -696,6 +735,8 @@ public class NavigationMenuPresenter implements MenuPresenter {
       updateSuspended = true;
       items.clear();
       items.add(new NavigationMenuHeaderItem());
+      IdentityHashMap<MenuItemImpl, Long> oldTextItemIds = new IdentityHashMap<>(textItemIds);
+      textItemIds.clear();
 
       int currentGroupId = -1;
       int currentGroupStart = 0;
@@ -714,7 +755,7 @@ public class NavigationMenuPresenter implements MenuPresenter {
             if (i != 0) {
               items.add(new NavigationMenuSeparatorItem(paddingSeparator, 0));
             }
-            items.add(new NavigationMenuTextItem(item));
+            items.add(createTextItem(item, oldTextItemIds));
             boolean subMenuHasIcon = false;
             int subMenuStart = items.size();
             for (int j = 0, size = subMenu.size(); j < size; j++) {
@@ -729,7 +770,7 @@ public class NavigationMenuPresenter implements MenuPresenter {
                 if (item.isChecked()) {
                   setCheckedItem(item);
                 }
-                items.add(new NavigationMenuTextItem(subMenuItem));
+                items.add(createTextItem(subMenuItem, oldTextItemIds));
               }
             }
             if (subMenuHasIcon) {
@@ -749,15 +790,37 @@ public class NavigationMenuPresenter implements MenuPresenter {
             currentGroupHasIcon = true;
             appendTransparentIconIfMissing(currentGroupStart, items.size());
           }
-          NavigationMenuTextItem textItem = new NavigationMenuTextItem(item);
+          NavigationMenuTextItem textItem = createTextItem(item, oldTextItemIds);
           textItem.needsEmptyIcon = currentGroupHasIcon;
           items.add(textItem);
           currentGroupId = groupId;
         }
       }
+      // Separators are identified by the text item which follows them
+      for (int i = 1, size = items.size(); i < size - 1; i++) {
+        NavigationMenuItem item = items.get(i);
+        if (item instanceof NavigationMenuSeparatorItem) {
+          ((NavigationMenuSeparatorItem) item).id = ~items.get(i + 1).getId();
+        }
+      }
       updateSuspended = false;
     }
 
+    /**
+     * Creates the text item of {@code menuItem}, with the id it had in the previous items if any,
+     * so that ids are stable across updates.
+     */
+    @NonNull
+    private NavigationMenuTextItem createTextItem(
+        @NonNull MenuItemImpl menuItem, @NonNull IdentityHashMap<MenuItemImpl, Long> oldIds) {
+      Long id = oldIds.get(menuItem);
+      if (id == null) {
+        id = nextTextItemId++;
+      }
+      textItemIds.put(menuItem, id);
+      return new NavigationMenuTextItem(menuItem, id);
+    }
+
     private void appendTransparentIconIfMissing(int startIndex, int endIndex) {
       for (int i = startIndex; i < endIndex; i++) {
         NavigationMenuTextItem textItem = (NavigationMenuTextItem) items.get(i);
@@ -865,22 +928,71 @@ public class NavigationMenuPresenter implements MenuPresenter {
   }
 
   /** Unified data model for all sorts of navigation menu items. */
-  private interface NavigationMenuItem {}
+  private interface NavigationMenuItem {
+
+    /** Returns the stable id of the item, which identifies it across updates. */
+    long getId();
+  }
 
   /** Normal or subheader items. */
   private static class NavigationMenuTextItem implements NavigationMenuItem {
 
     private final MenuItemImpl menuItem;
+    private final long id;
+
+    // The state of the menu item when this item was created, which its row is bound to.
+    @Nullable private final CharSequence title;
+    @Nullable private final Drawable icon;
+    @Nullable private final View actionView;
+    @Nullable private final CharSequence contentDescription;
+    @Nullable private final CharSequence tooltipText;
+    private final boolean visible;
+    private final boolean checkable;
+    private final boolean checked;
+    private final boolean enabled;
+    private final boolean hasSubMenu;
 
     boolean needsEmptyIcon;
 
-    NavigationMenuTextItem(MenuItemImpl item) {
+    NavigationMenuTextItem(MenuItemImpl item, long id) {
       menuItem = item;
+      this.id = id;
+      title = item.getTitle();
+      icon = item.getIcon();
+      actionView = item.getActionView();
+      contentDescription = item.getContentDescription();
+      tooltipText = item.getTooltipText();
+      visible = item.isVisible();
+      checkable = item.isCheckable();
+      checked = item.isChecked();
+      enabled = item.isEnabled();
+      hasSubMenu = item.hasSubMenu();
     }
 
     public MenuItemImpl getMenuItem() {
       return menuItem;
     }
+
+    @Override
+    public long getId() {
+      return id;
+    }
+
+    /** Returns whether the rows of this item and {@code other} would be bound the same way. */
+    boolean hasSameContents(@NonNull NavigationMenuTextItem other) {
+      return menuItem == other.menuItem
+          && TextUtils.equals(title, other.title)
+          && icon == other.icon
+          && actionView == other.actionView
+          && TextUtils.equals(contentDescription, other.contentDescription)
+          && TextUtils.equals(tooltipText, other.tooltipText)
+          && visible == other.visible
+          && checkable == other.checkable
+          && checked == other.checked
+          && enabled == other.enabled
+          && hasSubMenu == other.hasSubMenu
+          && needsEmptyIcon == other.needsEmptyIcon;
+    }
   }
 
   /** Separator items. */
@@ -890,11 +1002,18 @@ public class NavigationMenuPresenter implements MenuPresenter {
 
     private final int paddingBottom;
 
+    long id;
+
     public NavigationMenuSeparatorItem(int paddingTop, int paddingBottom) {
       this.paddingTop = paddingTop;
       this.paddingBottom = paddingBottom;
     }
 
+    @Override
+    public long getId() {
+      return id;
+    }
+
     public int getPaddingTop() {
       return paddingTop;
     }
@@ -908,6 +1027,56 @@ public class NavigationMenuPresenter implements MenuPresenter {
   private static class NavigationMenuHeaderItem implements NavigationMenuItem {
     NavigationMenuHeaderItem() {}
     // The actual content is hold by NavigationMenuPresenter#mHeaderLayout.
+
+    @Override
+    public long getId() {
+      return NavigationMenuAdapter.HEADER_ITEM_ID;
+    }
+  }
+
+  /** Compares the items before and after an update by their ids and bound state. */
+  private static class NavigationMenuItemDiffCallback extends DiffUtil.Callback {
+
+    @NonNull private final List<NavigationMenuItem> oldItems;
+    @NonNull private final List<NavigationMenuItem> newItems;
+
+    NavigationMenuItemDiffCallback(
+        @NonNull List<NavigationMenuItem> oldItems, @NonNull List<NavigationMenuItem> newItems) {
+      this.oldItems = oldItems;
+      this.newItems = newItems;
+    }
+
+    @Override
+    public int getOldListSize() {
+      return oldItems.size();
+    }
+
+    @Override
+    public int getNewListSize() {
+      return newItems.size();
+    }
+
+    @Override
+    public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+      NavigationMenuItem oldItem = oldItems.get(oldItemPosition);
+      NavigationMenuItem newItem = newItems.get(newItemPosition);
+      return oldItem.getClass() == newItem.getClass() && oldItem.getId() == newItem.getId();
+    }
+
+    @Override
+    public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+      NavigationMenuItem oldItem = oldItems.get(oldItemPosition);
+      NavigationMenuItem newItem = newItems.get(newItemPosition);
+      if (oldItem instanceof NavigationMenuTextItem) {
+        return ((NavigationMenuTextItem) oldItem).hasSameContents((NavigationMenuTextItem) newItem);
+      } else if (oldItem instanceof NavigationMenuSeparatorItem) {
+        NavigationMenuSeparatorItem oldSeparator = (NavigationMenuSeparatorItem) oldItem;
+        NavigationMenuSeparatorItem newSeparator = (NavigationMenuSeparatorItem) newItem;
+        return oldSeparator.getPaddingTop() == newSeparator.getPaddingTop()
+            && oldSeparator.getPaddingBottom() == newSeparator.getPaddingBottom();
+      }
+      return true;
+    }
   }
 
   private class NavigationMenuViewAccessibilityDelegate extends RecyclerViewAccessibilityDelegate {
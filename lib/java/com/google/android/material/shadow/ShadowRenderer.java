@@ -18,6 +18,7 @@ package com.bottombar.navigation.material.shadow;
 
 import static androidx.annotation.RestrictTo.Scope.LIBRARY_GROUP;
 
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.LinearGradient;
@@ -32,6 +33,7 @@ import android.graphics.Shader.TileMode;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
+import androidx.collection.LruCache;
 import androidx.core.graphics.ColorUtils;
 
 /**
@@ -65,9 +67,38 @@ public class ShadowRenderer {
   /** Start, beginning of corner, middle of shadow, and end of shadow positions */
   private static final float[] cornerPositions = new float[] {0f, 0f, .5f, 1f};
 
+  /** Maximum number of bytes of pre-rendered edge and corner shadows shared by all renderers. */
+  private static final int ATLAS_MAX_SIZE_BYTES = 1024 * 1024;
+
+  /**
+   * Maximum number of bytes of a single pre-rendered shadow, so that a large corner doesn't evict
+   * most of the atlas. Larger shadows are drawn with a shader.
+   */
+  private static final int ATLAS_MAX_ENTRY_SIZE_BYTES = ATLAS_MAX_SIZE_BYTES / 8;
+
+  /** Number of shadows requested once which are remembered until they are requested again. */
+  private static final int ATLAS_CANDIDATE_COUNT = 64;
+
+  private static final LruCache<AtlasKey, Bitmap> atlas =
+      new LruCache<AtlasKey, Bitmap>(ATLAS_MAX_SIZE_BYTES) {
+        @Override
+        protected int sizeOf(@NonNull AtlasKey key, @NonNull Bitmap value) {
+          return value.getRowBytes() * value.getHeight();
+        }
+      };
+
+  // Shadows are only pre-rendered the second time they are requested, so that the corner radii and
+  // elevations of an animation, each drawn once, are drawn with a shader and don't churn the atlas.
+  private static final LruCache<AtlasKey, Boolean> atlasCandidates =
+      new LruCache<>(ATLAS_CANDIDATE_COUNT);
+
   private final Path scratch = new Path();
   private Paint transparentPaint = new Paint();
 
+  private boolean shadowAtlasEnabled;
+  @NonNull private final Paint atlasPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+  @NonNull private final RectF atlasBounds = new RectF();
+
   public ShadowRenderer() {
     this(Color.BLACK);
   }
@@ -90,12 +121,42 @@ public class ShadowRenderer {
     shadowPaint.setColor(shadowStartColor);
   }
 
+  /**
+   * Sets whether edge and corner shadows are stamped from pre-rendered bitmaps instead of being
+   * drawn with a new gradient shader each time.
+   *
+   * <p>Each edge and corner gradient is rendered once per elevation, color and corner size into a
+   * small bitmap shared by all renderers, so drawing the shadow of a rounded rectangle takes a few
+   * {@link Canvas#drawBitmap(Bitmap, android.graphics.Rect, RectF, Paint)} calls. Corners that are
+   * not a circular quarter aligned to the axes are still drawn with a shader.
+   */
+  public void setShadowAtlasEnabled(boolean shadowAtlasEnabled) {
+    this.shadowAtlasEnabled = shadowAtlasEnabled;
+  }
+
+  /** Returns whether edge and corner shadows are stamped from pre-rendered bitmaps. */
+  public boolean isShadowAtlasEnabled() {
+    return shadowAtlasEnabled;
+  }
+
   /** Draws an edge shadow on the canvas in the current bounds with the matrix transform applied. */
   public void drawEdgeShadow(
       @NonNull Canvas canvas, @Nullable Matrix transform, @NonNull RectF bounds, int elevation) {
     bounds.bottom += elevation;
     bounds.offset(0, -elevation);
 
+    canvas.save();
+    canvas.concat(transform);
+    Bitmap edge = shadowAtlasEnabled && elevation > 0 ? getEdgeShadow(elevation) : null;
+    if (edge != null) {
+      canvas.drawBitmap(edge, null, bounds, atlasPaint);
+    } else if (!shadowAtlasEnabled || elevation > 0) {
+      drawEdgeShadowWithShader(canvas, bounds);
+    }
+    canvas.restore();
+  }
+
+  private void drawEdgeShadowWithShader(@NonNull Canvas canvas, @NonNull RectF bounds) {
     edgeColors[0] = shadowEndColor;
     edgeColors[1] = shadowMiddleColor;
     edgeColors[2] = shadowStartColor;
@@ -109,11 +170,7 @@ public class ShadowRenderer {
             edgeColors,
             edgePositions,
             Shader.TileMode.CLAMP));
-
-    canvas.save();
-    canvas.concat(transform);
     canvas.drawRect(bounds, edgeShadowPaint);
-    canvas.restore();
   }
 
   /**
@@ -126,7 +183,20 @@ public class ShadowRenderer {
       int elevation,
       float startAngle,
       float sweepAngle) {
+    if (shadowAtlasEnabled
+        && drawCornerShadowFromAtlas(canvas, matrix, bounds, elevation, startAngle, sweepAngle)) {
+      return;
+    }
+    drawCornerShadowWithShader(canvas, matrix, bounds, elevation, startAngle, sweepAngle);
+  }
 
+  private void drawCornerShadowWithShader(
+      @NonNull Canvas canvas,
+      @Nullable Matrix matrix,
+      @NonNull RectF bounds,
+      int elevation,
+      float startAngle,
+      float sweepAngle) {
     boolean drawShadowInsideBounds = sweepAngle < 0;
 
     Path arcBounds = scratch;
@@ -186,4 +256,146 @@ public class ShadowRenderer {
   public Paint getShadowPaint() {
     return shadowPaint;
   }
+
+  /**
+   * Stamps a corner shadow from the atlas if it is a circular quarter whose start is aligned to the
+   * axes, which covers the corners of rounded rectangles, and the atlas has or admits it.
+   *
+   * @return whether the shadow was drawn, or doesn't need to be drawn.
+   */
+  private boolean drawCornerShadowFromAtlas(
+      @NonNull Canvas canvas,
+      @Nullable Matrix matrix,
+      @NonNull RectF bounds,
+      int elevation,
+      float startAngle,
+      float sweepAngle) {
+    if (Math.abs(sweepAngle) != 90 || bounds.width() != bounds.height()) {
+      return false;
+    }
+    // A negative sweep covers the same quarter as a positive sweep ending at the start angle.
+    float quarterStartAngle = sweepAngle < 0 ? startAngle + sweepAngle : startAngle;
+    quarterStartAngle = ((quarterStartAngle % 360) + 360) % 360;
+    if (quarterStartAngle % 90 != 0) {
+      return false;
+    }
+
+    boolean drawShadowInsideBounds = sweepAngle < 0;
+    float cornerRadius = bounds.width() / 2f;
+    float radius = drawShadowInsideBounds ? cornerRadius : cornerRadius + elevation;
+    // The shadow is not big enough to draw.
+    if (radius <= 0 || elevation <= 0) {
+      return true;
+    }
+
+    // The atlas holds the top left quarter, which starts at 180 degrees, with the center of the
+    // corner at the bottom right of the bitmap.
+    Bitmap corner = getCornerShadow(cornerRadius, elevation, drawShadowInsideBounds);
+    if (corner == null) {
+      return false;
+    }
+    float centerX = bounds.centerX();
+    float centerY = bounds.centerY();
+    atlasBounds.set(centerX - corner.getWidth(), centerY - corner.getHeight(), centerX, centerY);
+    canvas.save();
+    canvas.concat(matrix);
+    canvas.rotate(quarterStartAngle - 180, centerX, centerY);
+    canvas.drawBitmap(corner, null, atlasBounds, atlasPaint);
+    canvas.restore();
+    return true;
+  }
+
+  /** Returns the pre-rendered edge shadow, or null if it should be drawn with a shader. */
+  @Nullable
+  private Bitmap getEdgeShadow(int elevation) {
+    AtlasKey key = new AtlasKey(shadowStartColor, elevation, /* cornerRadius= */ -1, false);
+    Bitmap edge = atlas.get(key);
+    if (edge == null) {
+      if (elevation * 4 > ATLAS_MAX_ENTRY_SIZE_BYTES || !admitToAtlas(key)) {
+        return null;
+      }
+      // The gradient only changes along the height of the edge, so a single column is enough.
+      edge = Bitmap.createBitmap(1, elevation, Bitmap.Config.ARGB_8888);
+      drawEdgeShadowWithShader(new Canvas(edge), new RectF(0, 0, 1, elevation));
+      atlas.put(key, edge);
+    }
+    return edge;
+  }
+
+  /** Returns the pre-rendered corner shadow, or null if it should be drawn with a shader. */
+  @Nullable
+  private Bitmap getCornerShadow(float cornerRadius, int elevation, boolean insideBounds) {
+    AtlasKey key = new AtlasKey(shadowStartColor, elevation, cornerRadius, insideBounds);
+    Bitmap corner = atlas.get(key);
+    if (corner == null) {
+      float radius = insideBounds ? cornerRadius : cornerRadius + elevation;
+      int size = (int) Math.ceil(radius);
+      // ARGB_8888 uses 4 bytes per pixel.
+      if ((long) size * size * 4 > ATLAS_MAX_ENTRY_SIZE_BYTES || !admitToAtlas(key)) {
+        return null;
+      }
+      corner = Bitmap.createBitmap(size, size, Bitmap.Config.ARGB_8888);
+      RectF cornerBounds =
+          new RectF(
+              size - cornerRadius, size - cornerRadius, size + cornerRadius, size + cornerRadius);
+      if (insideBounds) {
+        drawCornerShadowWithShader(new Canvas(corner), null, cornerBounds, elevation, 270, -90);
+      } else {
+        drawCornerShadowWithShader(new Canvas(corner), null, cornerBounds, elevation, 180, 90);
+      }
+      atlas.put(key, corner);
+    }
+    return corner;
+  }
+
+  /**
+   * Returns whether a shadow missing from the atlas should be pre-rendered, which is the case when
+   * it was requested before.
+   */
+  private static boolean admitToAtlas(@NonNull AtlasKey key) {
+    if (atlasCandidates.remove(key) != null) {
+      return true;
+    }
+    atlasCandidates.put(key, Boolean.TRUE);
+    return false;
+  }
+
+  /** Identifies a pre-rendered edge or corner shadow in the atlas. */
+  private static final class AtlasKey {
+    private final int color;
+    private final int elevation;
+    private final float cornerRadius;
+    private final boolean insideBounds;
+
+    AtlasKey(int color, int elevation, float cornerRadius, boolean insideBounds) {
+      this.color = color;
+      this.elevation = elevation;
+      this.cornerRadius = cornerRadius;
+      this.insideBounds = insideBounds;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof AtlasKey)) {
+        return false;
+      }
+      AtlasKey that = (AtlasKey) o;
+      return color == that.color
+          && elevation == that.elevation
+          && Float.compare(cornerRadius, that.cornerRadius) == 0
+          && insideBounds == that.insideBounds;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = color;
+      result = 31 * result + elevation;
+      result = 31 * result + Float.floatToIntBits(cornerRadius);
+      result = 31 * result + (insideBounds ? 1 : 0);
+      return result;
+    }
+  }
 }
@@ -67,4 +67,15 @@ public final class AdjustedCornerSize implements CornerSize {
     Object[] hashedFields = {other, adjustment};
     return Arrays.hashCode(hashedFields);
   }
+
+  /** Returns the corner size that is adjusted. */
+  @NonNull
+  CornerSize getOther() {
+    return other;
+  }
+
+  /** Returns the amount the corner size is adjusted by. */
+  float getAdjustment() {
+    return adjustment;
+  }
 }
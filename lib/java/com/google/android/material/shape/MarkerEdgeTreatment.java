@@ -33,6 +33,11 @@ public final class MarkerEdgeTreatment extends EdgeTreatment {
     this.radius = radius - 0.001f;
   }
 
+  /** Returns the radius the marker is drawn with. */
+  float getRadius() {
+    return radius;
+  }
+
   @Override
   public void getEdgePath(
       float length, float center, float interpolation, @NonNull ShapePath shapePath) {
@@ -63,7 +63,7 @@ import com.bottombar.navigation.material.elevation.ElevationOverlayProvider;
 import com.bottombar.navigation.material.shadow.ShadowRenderer;
 import com.bottombar.navigation.material.shape.ShapeAppearanceModel.CornerSizeUnaryOperator;
 import com.bottombar.navigation.material.shape.ShapeAppearancePathProvider.PathListener;
-import com.bottombar.navigation.material.shape.ShapePath.ShadowCompatOperation;
+import com.bottombar.navigation.material.shape.ShapePath.RecordedShadowCompatOperation;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.util.BitSet;
@@ -115,9 +115,18 @@ public class MaterialShapeDrawable extends Drawable implements TintAwareDrawable
   private MaterialShapeDrawableState drawableState;
 
   // Inter-method state.
-  private final ShadowCompatOperation[] cornerShadowOperation = new ShadowCompatOperation[4];
-  private final ShadowCompatOperation[] edgeShadowOperation = new ShadowCompatOperation[4];
+  private final RecordedShadowCompatOperation[] cornerShadowOperation =
+      RecordedShadowCompatOperation.createArray(4);
+  private final RecordedShadowCompatOperation[] edgeShadowOperation =
+      RecordedShadowCompatOperation.createArray(4);
   private final BitSet containsIncompatibleShadowOp = new BitSet(8);
+  // Shadow operations from the ShapePathCache are calculated at the origin, this is where they
+  // have to be drawn.
+  private float shadowOperationsOffsetX;
+  private float shadowOperationsOffsetY;
+  // Whether the shadow operations were calculated along with the path, which is only done when
+  // there is a compat shadow to draw.
+  private boolean shadowOperationsCalculated;
   private boolean pathDirty;
 
   // Pre-allocated objects that are re-used several times during path computation and rendering.
@@ -151,6 +160,15 @@ public class MaterialShapeDrawable extends Drawable implements TintAwareDrawable
 
   private boolean shadowBitmapDrawingEnable = true;
 
+  // The compat shadow rendered into a bitmap, and the values it was rendered with. The layer is
+  // re-rendered when the path is recalculated or any of these values change.
+  @Nullable private Bitmap shadowLayer;
+  private boolean shadowLayerDirty = true;
+  private int shadowLayerRadius;
+  private int shadowLayerOffsetX;
+  private int shadowLayerOffsetY;
+  private int shadowLayerColor;
+
   /**
    * Returns a {@code MaterialShapeDrawable} with the elevation overlay functionality initialized, a
    * fill color of {@code colorSurface}, and an elevation of 0.
@@ -213,6 +231,11 @@ public class MaterialShapeDrawable extends Drawable implements TintAwareDrawable
     fillPaint.setStyle(Style.FILL);
     updateTintFilter();
     updateColorsForState(getState());
+    // Stamp the compat shadow edges and corners from pre-rendered gradients rather than creating
+    // a shader for each of them on every draw. The renderer still uses a shader for the shadows it
+    // can't pre-render, see setShadowAtlasEnable().
+    shadowRenderer.setShadowAtlasEnabled(true);
+
     // Listens to additions of corners and edges, to create the shadow operations.
     pathShadowListener =
         new PathListener() {
@@ -220,13 +243,13 @@ public class MaterialShapeDrawable extends Drawable implements TintAwareDrawable
           public void onCornerPathCreated(
               @NonNull ShapePath cornerPath, Matrix transform, int count) {
             containsIncompatibleShadowOp.set(count, cornerPath.containsIncompatibleShadowOp());
-            cornerShadowOperation[count] = cornerPath.createShadowCompatOperation(transform);
+            cornerPath.recordShadowCompatOperation(transform, cornerShadowOperation[count]);
           }
 
           @Override
           public void onEdgePathCreated(@NonNull ShapePath edgePath, Matrix transform, int count) {
             containsIncompatibleShadowOp.set(count + 4, edgePath.containsIncompatibleShadowOp());
-            edgeShadowOperation[count] = edgePath.createShadowCompatOperation(transform);
+            edgePath.recordShadowCompatOperation(transform, edgeShadowOperation[count]);
           }
         };
   }
@@ -770,6 +793,21 @@ public class MaterialShapeDrawable extends Drawable implements TintAwareDrawable
     shadowBitmapDrawingEnable = enable;
   }
 
+  /**
+   * Sets whether the compat shadow's edges and corners are stamped from pre-rendered gradients,
+   * which is the default, or drawn with a new shader each time.
+   *
+   * @hide
+   */
+  @RestrictTo(LIBRARY_GROUP)
+  public void setShadowAtlasEnable(boolean enable) {
+    if (shadowRenderer.isShadowAtlasEnabled() != enable) {
+      shadowRenderer.setShadowAtlasEnabled(enable);
+      shadowLayerDirty = true;
+      invalidateSelfIgnoreShape();
+    }
+  }
+
   @RestrictTo(LIBRARY_GROUP)
   public void setEdgeIntersectionCheckEnable(boolean enable) {
     pathProvider.setEdgeIntersectionCheckEnable(enable);
@@ -953,6 +991,17 @@ public class MaterialShapeDrawable extends Drawable implements TintAwareDrawable
     super.onBoundsChange(bounds);
   }
 
+  @Override
+  public boolean setVisible(boolean visible, boolean restart) {
+    boolean changed = super.setVisible(visible, restart);
+    if (!visible) {
+      // Views hide their drawables when they are detached or hidden, so the shadow layer isn't
+      // needed until the next draw.
+      releaseShadowLayer();
+    }
+    return changed;
+  }
+
   @Override
   public void draw(@NonNull Canvas canvas) {
     fillPaint.setColorFilter(tintFilter);
@@ -965,10 +1014,11 @@ public class MaterialShapeDrawable extends Drawable implements TintAwareDrawable
     final int prevStrokeAlpha = strokePaint.getAlpha();
     strokePaint.setAlpha(modulateAlpha(prevStrokeAlpha, drawableState.alpha));
 
-    if (pathDirty) {
+    if (pathDirty || (hasCompatShadow() && !shadowOperationsCalculated)) {
       calculateStrokePath();
       calculatePath(getBoundsAsRectF(), path);
       pathDirty = false;
+      shadowLayerDirty = true;
     }
 
     maybeDrawCompatShadow(canvas);
@@ -985,12 +1035,14 @@ public class MaterialShapeDrawable extends Drawable implements TintAwareDrawable
 
   private void maybeDrawCompatShadow(@NonNull Canvas canvas) {
     if (!hasCompatShadow()) {
+      releaseShadowLayer();
       return;
     }
     // Save the canvas before changing the clip bounds.
     canvas.save();
     prepareCanvasForShadow(canvas);
     if (!shadowBitmapDrawingEnable) {
+      releaseShadowLayer();
       drawCompatShadow(canvas);
       canvas.restore();
       return;
@@ -1006,30 +1058,71 @@ public class MaterialShapeDrawable extends Drawable implements TintAwareDrawable
           "Invalid shadow bounds. Check that the treatments result in a valid path.");
     }
 
-    // Drawing the shadow in a bitmap lets us use the clear paint rather than using clipPath to
-    // prevent drawing shadow under the shape. clipPath has problems :-/
-    Bitmap shadowLayer =
-        Bitmap.createBitmap(
-            (int) pathBounds.width() + drawableState.shadowCompatRadius * 2 + pathExtraWidth,
-            (int) pathBounds.height() + drawableState.shadowCompatRadius * 2 + pathExtraHeight,
-            Bitmap.Config.ARGB_8888);
-    Canvas shadowCanvas = new Canvas(shadowLayer);
-
     // Top Left of shadow (left - shadowCompatRadius, top - shadowCompatRadius) should be drawn at
     // (0, 0) on shadowCanvas. Offset is handled by prepareCanvasForShadow and drawCompatShadow.
     float shadowLeft = getBounds().left - drawableState.shadowCompatRadius - pathExtraWidth;
     float shadowTop = getBounds().top - drawableState.shadowCompatRadius - pathExtraHeight;
-    shadowCanvas.translate(-shadowLeft, -shadowTop);
-    drawCompatShadow(shadowCanvas);
+
+    ShadowBitmapPool shadowBitmapPool = ShadowBitmapPool.getInstance();
+    if (isShadowLayerValid()) {
+      shadowBitmapPool.recordCacheHit();
+    } else {
+      int shadowWidth =
+          (int) pathBounds.width() + drawableState.shadowCompatRadius * 2 + pathExtraWidth;
+      int shadowHeight =
+          (int) pathBounds.height() + drawableState.shadowCompatRadius * 2 + pathExtraHeight;
+      if (shadowLayer != null
+          && shadowLayer.getWidth() == shadowWidth
+          && shadowLayer.getHeight() == shadowHeight) {
+        shadowLayer.eraseColor(Color.TRANSPARENT);
+      } else {
+        releaseShadowLayer();
+        shadowLayer = shadowBitmapPool.acquire(this, shadowWidth, shadowHeight);
+      }
+
+      // Drawing the shadow in a bitmap lets us use the clear paint rather than using clipPath to
+      // prevent drawing shadow under the shape. clipPath has problems :-/
+      Canvas shadowCanvas = new Canvas(shadowLayer);
+      shadowCanvas.translate(-shadowLeft, -shadowTop);
+      drawCompatShadow(shadowCanvas);
+
+      shadowLayerDirty = false;
+      shadowLayerRadius = drawableState.shadowCompatRadius;
+      shadowLayerOffsetX = getShadowOffsetX();
+      shadowLayerOffsetY = getShadowOffsetY();
+      shadowLayerColor = shadowRenderer.getShadowPaint().getColor();
+    }
     canvas.drawBitmap(shadowLayer, shadowLeft, shadowTop, null);
-    // Because we create the bitmap every time, we can recycle it. We may need to stop doing this
-    // if we end up keeping the bitmap in memory for performance.
-    shadowLayer.recycle();
+    if (shadowBitmapPool.isOverBudget()) {
+      // Too many shadow layers are held, render this one again on the next draw instead.
+      releaseShadowLayer();
+    }
 
     // Restore the canvas to the same size it was before drawing any shadows.
     canvas.restore();
   }
 
+  /**
+   * Returns whether {@link #shadowLayer} still holds the shadow for the current path, shadow
+   * radius, offset and color.
+   */
+  private boolean isShadowLayerValid() {
+    return shadowLayer != null
+        && !shadowLayerDirty
+        && shadowLayerRadius == drawableState.shadowCompatRadius
+        && shadowLayerOffsetX == getShadowOffsetX()
+        && shadowLayerOffsetY == getShadowOffsetY()
+        && shadowLayerColor == shadowRenderer.getShadowPaint().getColor();
+  }
+
+  /** Returns the cached shadow layer, if any, to the shared {@link ShadowBitmapPool}. */
+  private void releaseShadowLayer() {
+    if (shadowLayer != null) {
+      ShadowBitmapPool.getInstance().release(shadowLayer);
+      shadowLayer = null;
+    }
+  }
+
   /**
    * Draw the path or try to draw a round rect if possible.
    *
@@ -1120,10 +1213,12 @@ public class MaterialShapeDrawable extends Drawable implements TintAwareDrawable
     }
 
     // Draw the fake shadow for each of the corners and edges.
+    canvas.translate(shadowOperationsOffsetX, shadowOperationsOffsetY);
     for (int index = 0; index < 4; index++) {
       cornerShadowOperation[index].draw(shadowRenderer, drawableState.shadowCompatRadius, canvas);
       edgeShadowOperation[index].draw(shadowRenderer, drawableState.shadowCompatRadius, canvas);
     }
+    canvas.translate(-shadowOperationsOffsetX, -shadowOperationsOffsetY);
 
     if (shadowBitmapDrawingEnable) {
       int shadowOffsetX = getShadowOffsetX();
@@ -1162,12 +1257,53 @@ public class MaterialShapeDrawable extends Drawable implements TintAwareDrawable
    */
   @RestrictTo(LIBRARY_GROUP)
   protected final void calculatePathForSize(@NonNull RectF bounds, @NonNull Path path) {
-    pathProvider.calculatePath(
-        drawableState.shapeAppearanceModel,
-        drawableState.interpolation,
-        bounds,
-        pathShadowListener,
-        path);
+    shadowOperationsCalculated = hasCompatShadow();
+    if (!isPathCacheable(drawableState.shapeAppearanceModel)) {
+      pathProvider.calculatePath(
+          drawableState.shapeAppearanceModel,
+          drawableState.interpolation,
+          bounds,
+          shadowOperationsCalculated ? pathShadowListener : null,
+          path);
+      shadowOperationsOffsetX = 0;
+      shadowOperationsOffsetY = 0;
+      return;
+    }
+
+    ShapePathCache.Entry entry =
+        ShapePathCache.getInstance()
+            .get(
+                pathProvider,
+                drawableState.shapeAppearanceModel,
+                drawableState.interpolation,
+                bounds.width(),
+                bounds.height(),
+                shadowOperationsCalculated);
+    path.set(entry.path);
+    path.offset(bounds.left, bounds.top);
+    if (!shadowOperationsCalculated) {
+      return;
+    }
+    for (int index = 0; index < 4; index++) {
+      cornerShadowOperation[index].set(entry.cornerShadowOperations[index]);
+      edgeShadowOperation[index].set(entry.edgeShadowOperations[index]);
+    }
+    containsIncompatibleShadowOp.clear();
+    containsIncompatibleShadowOp.or(entry.containsIncompatibleShadowOp);
+    shadowOperationsOffsetX = bounds.left;
+    shadowOperationsOffsetY = bounds.top;
+  }
+
+  /**
+   * Returns whether the path of the model can come from the {@link ShapePathCache}, which is only
+   * shared by drawables that use the UI thread's path provider. Paths of a shape being interpolated
+   * are not cached, each frame of the animation would add an entry that is never used again.
+   */
+  private boolean isPathCacheable(@NonNull ShapeAppearanceModel shapeAppearanceModel) {
+    float interpolation = drawableState.interpolation;
+    return pathProvider == ShapeAppearancePathProvider.getInstance()
+        && (interpolation == 0 || interpolation == 1)
+        && ShapePathCache.isCacheable(shapeAppearanceModel);
   }
 
   /** Calculates the path that can be used to draw the stroke entirely inside the shape */
@@ -1190,11 +1326,27 @@ public class MaterialShapeDrawable extends Drawable implements TintAwareDrawable
                   }
                 });
 
-    pathProvider.calculatePath(
-        strokeShapeAppearance,
-        drawableState.interpolation,
-        getBoundsInsetByStroke(),
-        pathInsetByStroke);
+    RectF boundsInsetByStroke = getBoundsInsetByStroke();
+    if (!isPathCacheable(strokeShapeAppearance)) {
+      pathProvider.calculatePath(
+          strokeShapeAppearance,
+          drawableState.interpolation,
+          boundsInsetByStroke,
+          pathInsetByStroke);
+      return;
+    }
+
+    ShapePathCache.Entry entry =
+        ShapePathCache.getInstance()
+            .get(
+                pathProvider,
+                strokeShapeAppearance,
+                drawableState.interpolation,
+                boundsInsetByStroke.width(),
+                boundsInsetByStroke.height(),
+                /* withShadowOperations= */ false);
+    pathInsetByStroke.set(entry.path);
+    pathInsetByStroke.offset(boundsInsetByStroke.left, boundsInsetByStroke.top);
   }
 
   @TargetApi(VERSION_CODES.LOLLIPOP)
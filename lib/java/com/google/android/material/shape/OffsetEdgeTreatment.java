@@ -29,6 +29,17 @@ public final class OffsetEdgeTreatment extends EdgeTreatment {
     this.offset = offset;
   }
 
+  /** Returns the edge treatment that is offset. */
+  @NonNull
+  EdgeTreatment getOther() {
+    return other;
+  }
+
+  /** Returns the amount the edge treatment is offset by. */
+  float getOffset() {
+    return offset;
+  }
+
   @Override
   public void getEdgePath(
       float length, float center, float interpolation, @NonNull ShapePath shapePath) {
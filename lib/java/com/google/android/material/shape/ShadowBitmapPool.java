@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2022 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bottombar.navigation.material.shape;
+
+import android.graphics.Bitmap;
+import android.graphics.Color;
+import androidx.annotation.NonNull;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+
+/**
+ * A size bounded pool of the bitmaps {@link MaterialShapeDrawable} renders its compat shadow into,
+ * shared by all drawables so that a shadow layer released by one drawable can be reused by another
+ * drawable of the same size instead of allocating a new bitmap.
+ *
+ * <p>The bitmaps drawables hold on to count against the pool's size bound too, so that the shadow
+ * layers and pooled bitmaps together stay within it. Drawables check {@link #isOverBudget()} and
+ * release their shadow layer right after drawing while the bound is exceeded. Drawables aren't
+ * always hidden before they go away, e.g. when they are replaced on a view, so the pool only keeps
+ * a weak reference to the owner of each acquired bitmap, and takes the bitmap back once its owner
+ * is garbage collected.
+ *
+ * <p>Also keeps counts of bitmap allocations and of shadow layer cache hits, which can be used to
+ * check how often compat shadows are re-rendered.
+ */
+final class ShadowBitmapPool {
+
+  /**
+   * Maximum number of bytes held by the pool and by acquired bitmaps, before the least recently
+   * released bitmaps go.
+   */
+  private static final int DEFAULT_MAX_SIZE_BYTES = 4 * 1024 * 1024;
+
+  private static final ShadowBitmapPool INSTANCE = new ShadowBitmapPool(DEFAULT_MAX_SIZE_BYTES);
+
+  private final int maxSizeBytes;
+  // Ordered from the least to the most recently released bitmap.
+  private final ArrayDeque<Bitmap> bitmaps = new ArrayDeque<>();
+  private int sizeBytes;
+  // Bytes of the bitmaps acquired and not released yet.
+  private int liveSizeBytes;
+  // The acquired bitmaps, with weak references to their owners which are enqueued in
+  // collectedOwners once the owner is garbage collected.
+  private final IdentityHashMap<Bitmap, HeldBitmap> heldBitmaps = new IdentityHashMap<>();
+  private final ReferenceQueue<Object> collectedOwners = new ReferenceQueue<>();
+
+  private int allocationCount;
+  private int reuseCount;
+  private int cacheHitCount;
+
+  ShadowBitmapPool(int maxSizeBytes) {
+    this.maxSizeBytes = maxSizeBytes;
+  }
+
+  @NonNull
+  static ShadowBitmapPool getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Returns a transparent {@link Bitmap.Config#ARGB_8888} bitmap of the given size, reusing a
+   * pooled bitmap if there is one of the same size.
+   *
+   * @param owner the object holding on to the bitmap, which is released if {@code owner} is
+   *     garbage collected before it releases the bitmap.
+   */
+  @NonNull
+  synchronized Bitmap acquire(@NonNull Object owner, int width, int height) {
+    releaseBitmapsOfCollectedOwners();
+    Bitmap bitmap = null;
+    Iterator<Bitmap> iterator = bitmaps.descendingIterator();
+    while (iterator.hasNext()) {
+      Bitmap pooledBitmap = iterator.next();
+      if (pooledBitmap.getWidth() == width && pooledBitmap.getHeight() == height) {
+        iterator.remove();
+        sizeBytes -= getSizeBytes(pooledBitmap);
+        reuseCount++;
+        pooledBitmap.eraseColor(Color.TRANSPARENT);
+        bitmap = pooledBitmap;
+        break;
+      }
+    }
+    if (bitmap == null) {
+      allocationCount++;
+      bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+    }
+    liveSizeBytes += getSizeBytes(bitmap);
+    heldBitmaps.put(bitmap, new HeldBitmap(owner, bitmap, collectedOwners));
+    return bitmap;
+  }
+
+  /**
+   * Returns a bitmap obtained from {@link #acquire(Object, int, int)} to the pool. The caller must
+   * not use the bitmap afterwards.
+   */
+  synchronized void release(@NonNull Bitmap bitmap) {
+    releaseBitmapsOfCollectedOwners();
+    releaseHeldBitmap(bitmap);
+  }
+
+  private void releaseHeldBitmap(@NonNull Bitmap bitmap) {
+    HeldBitmap heldBitmap = heldBitmaps.remove(bitmap);
+    if (heldBitmap == null) {
+      // Not acquired from this pool, or already released.
+      return;
+    }
+    heldBitmap.clear();
+    int bitmapSizeBytes = getSizeBytes(bitmap);
+    liveSizeBytes -= bitmapSizeBytes;
+    if (bitmap.isRecycled()) {
+      return;
+    }
+    if (liveSizeBytes + bitmapSizeBytes > maxSizeBytes) {
+      bitmap.recycle();
+      return;
+    }
+    bitmaps.addLast(bitmap);
+    sizeBytes += bitmapSizeBytes;
+    while (liveSizeBytes + sizeBytes > maxSizeBytes) {
+      Bitmap evicted = bitmaps.removeFirst();
+      sizeBytes -= getSizeBytes(evicted);
+      evicted.recycle();
+    }
+  }
+
+  /**
+   * Returns whether the acquired bitmaps alone exceed the pool's size bound, in which case a
+   * drawable should release its shadow layer once drawn.
+   */
+  synchronized boolean isOverBudget() {
+    releaseBitmapsOfCollectedOwners();
+    return liveSizeBytes > maxSizeBytes;
+  }
+
+  /** Records that a drawable drew its shadow from its cached shadow layer without re-rendering. */
+  synchronized void recordCacheHit() {
+    cacheHitCount++;
+  }
+
+  /** Returns the number of bitmaps allocated because no pooled bitmap could be reused. */
+  synchronized int getAllocationCount() {
+    return allocationCount;
+  }
+
+  /** Returns the number of times a pooled bitmap was reused instead of allocating a new one. */
+  synchronized int getReuseCount() {
+    return reuseCount;
+  }
+
+  /** Returns the number of shadow draws served from a drawable's cached shadow layer. */
+  synchronized int getCacheHitCount() {
+    return cacheHitCount;
+  }
+
+  /** Returns the number of bytes currently held by the pool. */
+  synchronized int getSizeBytes() {
+    return sizeBytes;
+  }
+
+  /** Returns the number of bytes of the bitmaps acquired and not released yet. */
+  synchronized int getLiveSizeBytes() {
+    releaseBitmapsOfCollectedOwners();
+    return liveSizeBytes;
+  }
+
+  /** Takes back the bitmaps whose owners were garbage collected without releasing them. */
+  private void releaseBitmapsOfCollectedOwners() {
+    Reference<?> reference;
+    while ((reference = collectedOwners.poll()) != null) {
+      Bitmap bitmap = ((HeldBitmap) reference).bitmap;
+      if (heldBitmaps.get(bitmap) == reference) {
+        releaseHeldBitmap(bitmap);
+      }
+    }
+  }
+
+  private static int getSizeBytes(@NonNull Bitmap bitmap) {
+    return bitmap.getRowBytes() * bitmap.getHeight();
+  }
+
+  /** An acquired bitmap, with a weak reference to the object holding on to it. */
+  private static final class HeldBitmap extends WeakReference<Object> {
+    @NonNull final Bitmap bitmap;
+
+    HeldBitmap(
+        @NonNull Object owner, @NonNull Bitmap bitmap, @NonNull ReferenceQueue<Object> queue) {
+      super(owner, queue);
+      this.bitmap = bitmap;
+    }
+  }
+}
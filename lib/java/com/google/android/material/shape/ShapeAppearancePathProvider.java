@@ -65,9 +65,16 @@ public class ShapeAppearancePathProvider {
   private final float[] scratch2 = new float[2];
   private final Path edgePath = new Path();
   private final Path cornerPath = new Path();
+  private final RectF intersectionBounds = new RectF();
+  private final RectF cornerOval = new RectF();
 
   private boolean edgeIntersectionCheckEnabled = true;
 
+  // Counts of the shapes and edges that took each path, to see how often the fast paths apply.
+  private int roundRectPathCount;
+  private int edgeIntersectionCheckCount;
+  private int skippedEdgeIntersectionCheckCount;
+
   public ShapeAppearancePathProvider() {
     for (int i = 0; i < 4; i++) {
       cornerPaths[i] = new ShapePath();
@@ -116,13 +123,19 @@ public class ShapeAppearancePathProvider {
       PathListener pathListener,
       @NonNull Path path) {
     path.rewind();
-    overlappedEdgePath.rewind();
-    boundsPath.rewind();
-    boundsPath.addRect(bounds, Direction.CW);
     ShapeAppearancePathSpec spec =
         new ShapeAppearancePathSpec(
             shapeAppearanceModel, interpolation, bounds, pathListener, path);
 
+    if (hasDefaultRoundRectTreatments(shapeAppearanceModel, bounds)) {
+      calculateRoundRectPath(spec);
+      return;
+    }
+
+    overlappedEdgePath.rewind();
+    boundsPath.rewind();
+    boundsPath.addRect(bounds, Direction.CW);
+
     // Calculate the transformations (rotations and translations) necessary for each edge and
     // corner treatment.
     for (int index = 0; index < 4; index++) {
@@ -144,6 +157,61 @@ public class ShapeAppearancePathProvider {
     }
   }
 
+  /**
+   * Writes a model with rounded corners of the same size and default edges as a round rect, which
+   * can't have overlapping edges. The path starts at the end of the top edge and goes clockwise,
+   * like the path of any other model. The corner and edge paths are only calculated when there is
+   * a listener to notify of them.
+   */
+  private void calculateRoundRectPath(@NonNull ShapeAppearancePathSpec spec) {
+    roundRectPathCount++;
+    RectF bounds = spec.bounds;
+    float radius =
+        spec.shapeAppearanceModel.getTopLeftCornerSize().getCornerSize(bounds)
+            * spec.interpolation;
+    float diameter = radius * 2;
+    Path path = spec.path;
+    path.moveTo(bounds.right - radius, bounds.top);
+    // Each arc adds the edge leading to it.
+    cornerOval.set(bounds.right - diameter, bounds.top, bounds.right, bounds.top + diameter);
+    path.arcTo(cornerOval, 270, 90, false);
+    cornerOval.set(bounds.right - diameter, bounds.bottom - diameter, bounds.right, bounds.bottom);
+    path.arcTo(cornerOval, 0, 90, false);
+    cornerOval.set(bounds.left, bounds.bottom - diameter, bounds.left + diameter, bounds.bottom);
+    path.arcTo(cornerOval, 90, 90, false);
+    cornerOval.set(bounds.left, bounds.top, bounds.left + diameter, bounds.top + diameter);
+    path.arcTo(cornerOval, 180, 90, false);
+    path.close();
+
+    if (spec.pathListener == null) {
+      return;
+    }
+    for (int index = 0; index < 4; index++) {
+      setCornerPathAndTransform(spec, index);
+      setEdgePathAndTransform(index);
+    }
+    for (int index = 0; index < 4; index++) {
+      spec.pathListener.onCornerPathCreated(cornerPaths[index], cornerTransforms[index], index);
+      setEdgeShapePath(spec, index);
+      spec.pathListener.onEdgePathCreated(shapePath, edgeTransforms[index], index);
+    }
+  }
+
+  /**
+   * Returns whether the model is a round rect made of the default treatments. {@link
+   * ShapeAppearanceModel#isRoundRect(RectF)} also accepts subclasses of {@link
+   * RoundedCornerTreatment}, which may draw different corners than {@link
+   * #calculateRoundRectPath(ShapeAppearancePathSpec)}.
+   */
+  private static boolean hasDefaultRoundRectTreatments(
+      @NonNull ShapeAppearanceModel shapeAppearanceModel, @NonNull RectF bounds) {
+    return shapeAppearanceModel.isRoundRect(bounds)
+        && shapeAppearanceModel.getTopLeftCorner().getClass() == RoundedCornerTreatment.class
+        && shapeAppearanceModel.getTopRightCorner().getClass() == RoundedCornerTreatment.class
+        && shapeAppearanceModel.getBottomRightCorner().getClass() == RoundedCornerTreatment.class
+        && shapeAppearanceModel.getBottomLeftCorner().getClass() == RoundedCornerTreatment.class;
+  }
+
   private void setCornerPathAndTransform(@NonNull ShapeAppearancePathSpec spec, int index) {
     CornerSize size = getCornerSizeForIndex(index, spec.shapeAppearanceModel);
     getCornerTreatmentForIndex(index, spec.shapeAppearanceModel)
@@ -183,29 +251,16 @@ public class ShapeAppearancePathProvider {
 
   private void appendEdgePath(@NonNull ShapeAppearancePathSpec spec, int index) {
     int nextIndex = (index + 1) % 4;
-    scratch[0] = cornerPaths[index].getEndX();
-    scratch[1] = cornerPaths[index].getEndY();
-    cornerTransforms[index].mapPoints(scratch);
-
-    scratch2[0] = cornerPaths[nextIndex].getStartX();
-    scratch2[1] = cornerPaths[nextIndex].getStartY();
-    cornerTransforms[nextIndex].mapPoints(scratch2);
-
-    float edgeLength = (float) Math.hypot(scratch[0] - scratch2[0], scratch[1] - scratch2[1]);
-    // TODO(b/121352029): Remove this -.001f that is currently needed to handle rounding errors
-    edgeLength = Math.max(edgeLength - .001f, 0);
-    float center = getEdgeCenterForIndex(spec.bounds, index);
-    shapePath.reset(0, 0);
-    EdgeTreatment edgeTreatment = getEdgeTreatmentForIndex(index, spec.shapeAppearanceModel);
-    edgeTreatment.getEdgePath(edgeLength, center, spec.interpolation, shapePath);
+    EdgeTreatment edgeTreatment = setEdgeShapePath(spec, index);
     edgePath.reset();
     shapePath.applyToPath(edgeTransforms[index], edgePath);
 
     if (edgeIntersectionCheckEnabled
         && VERSION.SDK_INT >= VERSION_CODES.KITKAT
         && (edgeTreatment.forceIntersection()
-            || pathOverlapsCorner(edgePath, index)
-            || pathOverlapsCorner(edgePath, nextIndex))) {
+            || (canOverlapCorners(edgeTreatment)
+                && (pathOverlapsCorner(edgePath, index)
+                    || pathOverlapsCorner(edgePath, nextIndex))))) {
 
       // Calculate the difference between the edge and the bounds to calculate the part of the edge
       // outside of the bounds of the shape.
@@ -229,12 +284,48 @@ public class ShapeAppearancePathProvider {
     }
   }
 
+  /** Writes the edge treatment's path for the edge at {@code index} to {@link #shapePath}. */
+  @NonNull
+  private EdgeTreatment setEdgeShapePath(@NonNull ShapeAppearancePathSpec spec, int index) {
+    int nextIndex = (index + 1) % 4;
+    scratch[0] = cornerPaths[index].getEndX();
+    scratch[1] = cornerPaths[index].getEndY();
+    cornerTransforms[index].mapPoints(scratch);
+
+    scratch2[0] = cornerPaths[nextIndex].getStartX();
+    scratch2[1] = cornerPaths[nextIndex].getStartY();
+    cornerTransforms[nextIndex].mapPoints(scratch2);
+
+    float edgeLength = (float) Math.hypot(scratch[0] - scratch2[0], scratch[1] - scratch2[1]);
+    // TODO(b/121352029): Remove this -.001f that is currently needed to handle rounding errors
+    edgeLength = Math.max(edgeLength - .001f, 0);
+    float center = getEdgeCenterForIndex(spec.bounds, index);
+    shapePath.reset(0, 0);
+    EdgeTreatment edgeTreatment = getEdgeTreatmentForIndex(index, spec.shapeAppearanceModel);
+    edgeTreatment.getEdgePath(edgeLength, center, spec.interpolation, shapePath);
+    return edgeTreatment;
+  }
+
+  /**
+   * Returns whether the edge treatment may draw outside of the straight line between its corners.
+   * The default edge is that straight line, which has no area to intersect a corner with, so the
+   * {@link Path#op(Path, Op)} in {@link #pathOverlapsCorner(Path, int)} can be skipped.
+   */
+  private boolean canOverlapCorners(@NonNull EdgeTreatment edgeTreatment) {
+    if (edgeTreatment.getClass() == EdgeTreatment.class) {
+      skippedEdgeIntersectionCheckCount++;
+      return false;
+    }
+    edgeIntersectionCheckCount++;
+    return true;
+  }
+
   @RequiresApi(VERSION_CODES.KITKAT)
   private boolean pathOverlapsCorner(Path edgePath, int index) {
     cornerPath.reset();
     cornerPaths[index].applyToPath(cornerTransforms[index], cornerPath);
 
-    RectF bounds = new RectF();
+    RectF bounds = intersectionBounds;
     edgePath.computeBounds(bounds, /* exact = */ true);
     cornerPath.computeBounds(bounds, /* exact = */ true);
     edgePath.op(cornerPath, Op.INTERSECT);
@@ -329,6 +420,25 @@ public class ShapeAppearancePathProvider {
     edgeIntersectionCheckEnabled = enable;
   }
 
+  boolean isEdgeIntersectionCheckEnabled() {
+    return edgeIntersectionCheckEnabled;
+  }
+
+  /** Returns the number of paths written as a round rect. */
+  int getRoundRectPathCount() {
+    return roundRectPathCount;
+  }
+
+  /** Returns the number of edges checked for an intersection with their corners. */
+  int getEdgeIntersectionCheckCount() {
+    return edgeIntersectionCheckCount;
+  }
+
+  /** Returns the number of edges that skipped the intersection check as they can't overlap. */
+  int getSkippedEdgeIntersectionCheckCount() {
+    return skippedEdgeIntersectionCheckCount;
+  }
+
   /** Necessary information to map a {@link ShapeAppearanceModel} into a Path. */
   static final class ShapeAppearancePathSpec {
 
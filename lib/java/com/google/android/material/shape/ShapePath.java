@@ -24,8 +24,7 @@ import android.os.Build.VERSION_CODES;
 import androidx.annotation.NonNull;
 import androidx.annotation.RequiresApi;
 import com.bottombar.navigation.material.shadow.ShadowRenderer;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * Represents the descriptive path of a shape. Path segments are stored in sequence so that
@@ -42,6 +41,20 @@ public class ShapePath {
    */
   protected static final float ANGLE_LEFT = 180;
 
+  // Types of the recorded operations, followed by their arguments in an OperationBuffer.
+  /** Line to (x, y). */
+  private static final int OPERATION_LINE = 0;
+  /** Quad through (controlX, controlY) to (endX, endY). */
+  private static final int OPERATION_QUAD = 1;
+  /** Cubic through (controlX1, controlY1), (controlX2, controlY2) to (endX, endY). */
+  private static final int OPERATION_CUBIC = 2;
+  /** Arc in (left, top, right, bottom) from startAngle for sweepAngle. */
+  private static final int OPERATION_ARC = 3;
+  /** Shadow of a line from (startX, startY) to (endX, endY). */
+  private static final int SHADOW_LINE = 4;
+  /** Shadow of an arc in (left, top, right, bottom) from startAngle for sweepAngle. */
+  private static final int SHADOW_ARC = 5;
+
   /**
    * The x coordinate for the start of the path. Does not change. Do not change.
    *
@@ -87,10 +100,17 @@ public class ShapePath {
    */
   @Deprecated public float endShadowAngle;
 
-  private final List<PathOperation> operations = new ArrayList<>();
-  private final List<ShadowCompatOperation> shadowCompatOperations = new ArrayList<>();
+  // Operations are recorded in packed buffers which are reused after a reset, rather than as an
+  // object per operation.
+  private final OperationBuffer operations = new OperationBuffer();
+  private final OperationBuffer shadowCompatOperations = new OperationBuffer();
   private boolean containsIncompatibleShadowOp;
 
+  // Pre-allocated objects that are re-used when applying the operations to a path.
+  private final Matrix inverse = new Matrix();
+  private final RectF arcBounds = new RectF();
+  private final float[] points = new float[6];
+
   public ShapePath() {
     reset(0, 0);
   }
@@ -127,18 +147,13 @@ public class ShapePath {
    * @param y the y to which the line should be drawn.
    */
   public void lineTo(float x, float y) {
-    PathLineOperation operation = new PathLineOperation();
-    operation.x = x;
-    operation.y = y;
-    operations.add(operation);
-
-    LineShadowOperation shadowOperation = new LineShadowOperation(operation, getEndX(), getEndY());
+    operations.add(OPERATION_LINE, x, y);
 
     // The previous endX and endY is the starting point for this shadow operation.
-    addShadowCompatOperation(
-        shadowOperation,
-        ANGLE_UP + shadowOperation.getAngle(),
-        ANGLE_UP + shadowOperation.getAngle());
+    float shadowAngle = ANGLE_UP + getLineAngle(getEndX(), getEndY(), x, y);
+    addConnectingShadowIfNecessary(shadowAngle);
+    shadowCompatOperations.add(SHADOW_LINE, getEndX(), getEndY(), x, y);
+    setCurrentShadowAngle(shadowAngle);
 
     setEndX(x);
     setEndY(y);
@@ -157,12 +172,7 @@ public class ShapePath {
    */
   @RequiresApi(VERSION_CODES.LOLLIPOP)
   public void quadToPoint(float controlX, float controlY, float toX, float toY) {
-    PathQuadOperation operation = new PathQuadOperation();
-    operation.setControlX(controlX);
-    operation.setControlY(controlY);
-    operation.setEndX(toX);
-    operation.setEndY(toY);
-    operations.add(operation);
+    operations.add(OPERATION_QUAD, controlX, controlY, toX, toY);
 
     containsIncompatibleShadowOp = true;
 
@@ -186,9 +196,7 @@ public class ShapePath {
   @RequiresApi(VERSION_CODES.LOLLIPOP)
   public void cubicToPoint(
       float controlX1, float controlY1, float controlX2, float controlY2, float toX, float toY) {
-    PathCubicOperation operation =
-        new PathCubicOperation(controlX1, controlY1, controlX2, controlY2, toX, toY);
-    operations.add(operation);
+    operations.add(OPERATION_CUBIC, controlX1, controlY1, controlX2, controlY2, toX, toY);
 
     containsIncompatibleShadowOp = true;
 
@@ -208,21 +216,17 @@ public class ShapePath {
    */
   public void addArc(
       float left, float top, float right, float bottom, float startAngle, float sweepAngle) {
-    PathArcOperation operation = new PathArcOperation(left, top, right, bottom);
-    operation.setStartAngle(startAngle);
-    operation.setSweepAngle(sweepAngle);
-    operations.add(operation);
+    operations.add(OPERATION_ARC, left, top, right, bottom, startAngle, sweepAngle);
 
-    ArcShadowOperation arcShadowOperation = new ArcShadowOperation(operation);
     float endAngle = startAngle + sweepAngle;
     // Flip the startAngle and endAngle when drawing the shadow inside the bounds. They represent
     // the angles from the center of the circle to the start or end of the arc, respectively. When
     // the shadow is drawn inside the arc, it is going the opposite direction.
     boolean drawShadowInsideBounds = sweepAngle < 0;
-    addShadowCompatOperation(
-        arcShadowOperation,
-        drawShadowInsideBounds ? (180 + startAngle) % 360 : startAngle,
-        drawShadowInsideBounds ? (180 + endAngle) % 360 : endAngle);
+    addConnectingShadowIfNecessary(
+        drawShadowInsideBounds ? (180 + startAngle) % 360 : startAngle);
+    shadowCompatOperations.add(SHADOW_ARC, left, top, right, bottom, startAngle, sweepAngle);
+    setCurrentShadowAngle(drawShadowInsideBounds ? (180 + endAngle) % 360 : endAngle);
 
     setEndX(
         (left + right) * 0.5f
@@ -239,9 +243,35 @@ public class ShapePath {
    * @param path the path to which this ShapePath is applied
    */
   public void applyToPath(Matrix transform, Path path) {
-    for (int i = 0, size = operations.size(); i < size; i++) {
-      PathOperation operation = operations.get(i);
-      operation.applyToPath(transform, path);
+    float[] args = operations.args;
+    int argIndex = 0;
+    for (int i = 0; i < operations.size; i++) {
+      int type = operations.types[i];
+      switch (type) {
+        case OPERATION_LINE:
+          transform.mapPoints(points, 0, args, argIndex, 1);
+          path.lineTo(points[0], points[1]);
+          break;
+        case OPERATION_QUAD:
+          transform.mapPoints(points, 0, args, argIndex, 2);
+          path.quadTo(points[0], points[1], points[2], points[3]);
+          break;
+        case OPERATION_CUBIC:
+          transform.mapPoints(points, 0, args, argIndex, 3);
+          path.cubicTo(points[0], points[1], points[2], points[3], points[4], points[5]);
+          break;
+        case OPERATION_ARC:
+        default:
+          // An arc can't be transformed point by point, so add it in the coordinates of this
+          // ShapePath instead.
+          transform.invert(inverse);
+          path.transform(inverse);
+          arcBounds.set(args[argIndex], args[argIndex + 1], args[argIndex + 2], args[argIndex + 3]);
+          path.arcTo(arcBounds, args[argIndex + 4], args[argIndex + 5], false);
+          path.transform(transform);
+          break;
+      }
+      argIndex += getArgCount(type);
     }
   }
 
@@ -251,30 +281,21 @@ public class ShapePath {
    */
   @NonNull
   ShadowCompatOperation createShadowCompatOperation(final Matrix transform) {
-    // If the shadowCompatOperations don't end on the desired endShadowAngle, add an arc to do so.
-    addConnectingShadowIfNecessary(getEndShadowAngle());
-    final Matrix transformCopy = new Matrix(transform);
-    final List<ShadowCompatOperation> operations = new ArrayList<>(shadowCompatOperations);
-    return new ShadowCompatOperation() {
-      @Override
-      public void draw(
-          Matrix matrix, ShadowRenderer shadowRenderer, int shadowElevation, Canvas canvas) {
-        for (ShadowCompatOperation op : operations) {
-          op.draw(transformCopy, shadowRenderer, shadowElevation, canvas);
-        }
-      }
-    };
+    RecordedShadowCompatOperation operation = new RecordedShadowCompatOperation();
+    recordShadowCompatOperation(transform, operation);
+    return operation;
   }
 
   /**
-   * Adds a {@link ShadowCompatOperation}, adding an {@link ArcShadowOperation} if needed in order
-   * to connect the previous shadow end to the new shadow operation's beginning.
+   * Records the compatibility shadow for the whole path defined by this ShapePath under the matrix
+   * transform into {@code operation}, like {@link #createShadowCompatOperation(Matrix)} but reusing
+   * the buffers of the operation.
    */
-  private void addShadowCompatOperation(
-      ShadowCompatOperation shadowOperation, float startShadowAngle, float endShadowAngle) {
-    addConnectingShadowIfNecessary(startShadowAngle);
-    shadowCompatOperations.add(shadowOperation);
-    setCurrentShadowAngle(endShadowAngle);
+  void recordShadowCompatOperation(
+      @NonNull Matrix transform, @NonNull RecordedShadowCompatOperation operation) {
+    // If the shadowCompatOperations don't end on the desired endShadowAngle, add an arc to do so.
+    addConnectingShadowIfNecessary(getEndShadowAngle());
+    operation.set(shadowCompatOperations, transform);
   }
 
   /**
@@ -286,8 +307,8 @@ public class ShapePath {
   }
 
   /**
-   * Create an {@link ArcShadowOperation} to fill in a shadow between the currently drawn shadow and
-   * the next shadow angle, if there would be a gap.
+   * Adds the shadow of an arc to fill in a shadow between the currently drawn shadow and the next
+   * shadow angle, if there would be a gap.
    */
   private void addConnectingShadowIfNecessary(float nextShadowAngle) {
     if (getCurrentShadowAngle() == nextShadowAngle) {
@@ -299,11 +320,14 @@ public class ShapePath {
       // Shadows are actually overlapping, so don't draw anything.
       return;
     }
-    PathArcOperation pathArcOperation =
-        new PathArcOperation(getEndX(), getEndY(), getEndX(), getEndY());
-    pathArcOperation.setStartAngle(getCurrentShadowAngle());
-    pathArcOperation.setSweepAngle(shadowSweep);
-    shadowCompatOperations.add(new ArcShadowOperation(pathArcOperation));
+    shadowCompatOperations.add(
+        SHADOW_ARC,
+        getEndX(),
+        getEndY(),
+        getEndX(),
+        getEndY(),
+        getCurrentShadowAngle(),
+        shadowSweep);
     setCurrentShadowAngle(nextShadowAngle);
   }
 
@@ -355,6 +379,94 @@ public class ShapePath {
     this.endShadowAngle = endShadowAngle;
   }
 
+  /** Returns the angle, in degrees, of the line between the start and end points. */
+  private static float getLineAngle(float startX, float startY, float endX, float endY) {
+    return (float) Math.toDegrees(Math.atan((endY - startY) / (endX - startX)));
+  }
+
+  private static int getArgCount(int type) {
+    switch (type) {
+      case OPERATION_LINE:
+        return 2;
+      case OPERATION_QUAD:
+      case SHADOW_LINE:
+        return 4;
+      case OPERATION_CUBIC:
+      case OPERATION_ARC:
+      case SHADOW_ARC:
+      default:
+        return 6;
+    }
+  }
+
+  /**
+   * A growable buffer of operations, each recorded as a type and the float arguments that follow
+   * it. Clearing the buffer keeps its arrays to be reused.
+   */
+  static final class OperationBuffer {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    int[] types = new int[INITIAL_CAPACITY];
+    float[] args = new float[INITIAL_CAPACITY * 4];
+    int size;
+    private int argSize;
+
+    void clear() {
+      size = 0;
+      argSize = 0;
+    }
+
+    void add(int type, float arg0, float arg1) {
+      ensureCapacity(2);
+      types[size++] = type;
+      args[argSize++] = arg0;
+      args[argSize++] = arg1;
+    }
+
+    void add(int type, float arg0, float arg1, float arg2, float arg3) {
+      ensureCapacity(4);
+      types[size++] = type;
+      args[argSize++] = arg0;
+      args[argSize++] = arg1;
+      args[argSize++] = arg2;
+      args[argSize++] = arg3;
+    }
+
+    void add(int type, float arg0, float arg1, float arg2, float arg3, float arg4, float arg5) {
+      ensureCapacity(6);
+      types[size++] = type;
+      args[argSize++] = arg0;
+      args[argSize++] = arg1;
+      args[argSize++] = arg2;
+      args[argSize++] = arg3;
+      args[argSize++] = arg4;
+      args[argSize++] = arg5;
+    }
+
+    void set(@NonNull OperationBuffer other) {
+      if (types.length < other.size) {
+        types = new int[other.types.length];
+      }
+      if (args.length < other.argSize) {
+        args = new float[other.args.length];
+      }
+      System.arraycopy(other.types, 0, types, 0, other.size);
+      System.arraycopy(other.args, 0, args, 0, other.argSize);
+      size = other.size;
+      argSize = other.argSize;
+    }
+
+    private void ensureCapacity(int argCount) {
+      if (size == types.length) {
+        types = Arrays.copyOf(types, size * 2);
+      }
+      if (argSize + argCount > args.length) {
+        args = Arrays.copyOf(args, args.length * 2);
+      }
+    }
+  }
+
   /**
    * Interface to hold operations that will draw a compatible shadow in the case that native shadows
    * can't be rendered.
@@ -373,62 +485,80 @@ public class ShapePath {
         Matrix transform, ShadowRenderer shadowRenderer, int shadowElevation, Canvas canvas);
   }
 
-  /** Sets up the correct shadow to be drawn for a line. */
-  static class LineShadowOperation extends ShadowCompatOperation {
+  /**
+   * Draws the shadows of the lines and arcs of a ShapePath under the transform they were recorded
+   * with, ignoring the transform given when drawing. Can be recorded again without allocating.
+   */
+  static final class RecordedShadowCompatOperation extends ShadowCompatOperation {
+
+    private final OperationBuffer operations = new OperationBuffer();
+    private final Matrix transform = new Matrix();
+    // Re-used on every draw, the renderer offsets and insets the rect it is given.
+    private final RectF rect = new RectF();
+    private final Matrix edgeTransform = new Matrix();
+
+    @NonNull
+    static RecordedShadowCompatOperation[] createArray(int size) {
+      RecordedShadowCompatOperation[] operations = new RecordedShadowCompatOperation[size];
+      for (int i = 0; i < size; i++) {
+        operations[i] = new RecordedShadowCompatOperation();
+      }
+      return operations;
+    }
 
-    private final PathLineOperation operation;
-    private final float startX;
-    private final float startY;
+    void set(@NonNull OperationBuffer operations, @NonNull Matrix transform) {
+      this.operations.set(operations);
+      this.transform.set(transform);
+    }
 
-    public LineShadowOperation(PathLineOperation operation, float startX, float startY) {
-      this.operation = operation;
-      this.startX = startX;
-      this.startY = startY;
+    void set(@NonNull RecordedShadowCompatOperation other) {
+      set(other.operations, other.transform);
     }
 
     @Override
     public void draw(
-        Matrix transform,
+        Matrix matrix,
         @NonNull ShadowRenderer shadowRenderer,
         int shadowElevation,
         @NonNull Canvas canvas) {
-      final float height = operation.y - startY;
-      final float width = operation.x - startX;
-      final RectF rect = new RectF(0, 0, (float) Math.hypot(height, width), 0);
-      final Matrix edgeTransform = new Matrix(transform);
-      // transform & rotate the canvas so that the rect passed to drawEdgeShadow is horizontal.
-      edgeTransform.preTranslate(startX, startY);
-      edgeTransform.preRotate(getAngle());
-      shadowRenderer.drawEdgeShadow(canvas, edgeTransform, rect, shadowElevation);
-    }
-
-    float getAngle() {
-      return (float) Math.toDegrees(Math.atan((operation.y - startY) / (operation.x - startX)));
-    }
-  }
-
-  /** Sets up the shadow to be drawn for an arc. */
-  static class ArcShadowOperation extends ShadowCompatOperation {
-
-    private final PathArcOperation operation;
-
-    public ArcShadowOperation(PathArcOperation operation) {
-      this.operation = operation;
+      float[] args = operations.args;
+      int argIndex = 0;
+      for (int i = 0; i < operations.size; i++) {
+        int type = operations.types[i];
+        if (type == SHADOW_LINE) {
+          drawLineShadow(
+              shadowRenderer,
+              shadowElevation,
+              canvas,
+              args[argIndex],
+              args[argIndex + 1],
+              args[argIndex + 2],
+              args[argIndex + 3]);
+        } else {
+          rect.set(args[argIndex], args[argIndex + 1], args[argIndex + 2], args[argIndex + 3]);
+          shadowRenderer.drawCornerShadow(
+              canvas, transform, rect, shadowElevation, args[argIndex + 4], args[argIndex + 5]);
+        }
+        argIndex += getArgCount(type);
+      }
     }
 
-    @Override
-    public void draw(
-        Matrix transform,
+    private void drawLineShadow(
         @NonNull ShadowRenderer shadowRenderer,
         int shadowElevation,
-        @NonNull Canvas canvas) {
-      float startAngle = operation.getStartAngle();
-      float sweepAngle = operation.getSweepAngle();
-      RectF rect =
-          new RectF(
-              operation.getLeft(), operation.getTop(), operation.getRight(), operation.getBottom());
-      shadowRenderer.drawCornerShadow(
-          canvas, transform, rect, shadowElevation, startAngle, sweepAngle);
+        @NonNull Canvas canvas,
+        float startX,
+        float startY,
+        float endX,
+        float endY) {
+      final float height = endY - startY;
+      final float width = endX - startX;
+      rect.set(0, 0, (float) Math.hypot(height, width), 0);
+      edgeTransform.set(transform);
+      // transform & rotate the canvas so that the rect passed to drawEdgeShadow is horizontal.
+      edgeTransform.preTranslate(startX, startY);
+      edgeTransform.preRotate(getLineAngle(startX, startY, endX, endY));
+      shadowRenderer.drawEdgeShadow(canvas, edgeTransform, rect, shadowElevation);
     }
   }
 
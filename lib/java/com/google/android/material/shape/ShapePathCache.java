@@ -0,0 +1,350 @@
+/*
+ * Copyright (C) 2022 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bottombar.navigation.material.shape;
+
+import android.graphics.Matrix;
+import android.graphics.Path;
+import android.graphics.RectF;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.UiThread;
+import androidx.collection.LruCache;
+import com.bottombar.navigation.material.shape.ShapeAppearancePathProvider.PathListener;
+import com.bottombar.navigation.material.shape.ShapePath.RecordedShadowCompatOperation;
+import java.util.BitSet;
+
+/**
+ * A cache of the paths calculated by {@link ShapeAppearancePathProvider}, shared by all {@link
+ * MaterialShapeDrawable}s, so that drawables with equal {@link ShapeAppearanceModel}s and sizes
+ * calculate their outline once.
+ *
+ * <p>Paths are calculated for bounds at the origin, callers offset them to their own bounds.
+ */
+final class ShapePathCache {
+
+  private static final int MAX_SIZE = 64;
+
+  private static class Lazy {
+    static final ShapePathCache INSTANCE = new ShapePathCache(MAX_SIZE);
+  }
+
+  private final LruCache<Key, Entry> entries;
+
+  ShapePathCache(int maxSize) {
+    entries = new LruCache<>(maxSize);
+  }
+
+  /**
+   * Returns the cache shared by the drawables which use {@link
+   * ShapeAppearancePathProvider#getInstance()}, which is only used on the UI thread.
+   */
+  @UiThread
+  @NonNull
+  static ShapePathCache getInstance() {
+    return Lazy.INSTANCE;
+  }
+
+  /**
+   * Returns whether paths for the model can be cached. Only models built from the treatments and
+   * corner sizes of this package, and not from subclasses of them, can be compared by value and
+   * can't change once built. Other treatments may change the shape they produce at any time.
+   */
+  static boolean isCacheable(@NonNull ShapeAppearanceModel shapeAppearanceModel) {
+    return shapeAppearanceModel.getClass() == ShapeAppearanceModel.class
+        && isCacheable(shapeAppearanceModel.getTopLeftCorner())
+        && isCacheable(shapeAppearanceModel.getTopRightCorner())
+        && isCacheable(shapeAppearanceModel.getBottomRightCorner())
+        && isCacheable(shapeAppearanceModel.getBottomLeftCorner())
+        && isCacheable(shapeAppearanceModel.getTopLeftCornerSize())
+        && isCacheable(shapeAppearanceModel.getTopRightCornerSize())
+        && isCacheable(shapeAppearanceModel.getBottomRightCornerSize())
+        && isCacheable(shapeAppearanceModel.getBottomLeftCornerSize())
+        && isCacheable(shapeAppearanceModel.getTopEdge())
+        && isCacheable(shapeAppearanceModel.getRightEdge())
+        && isCacheable(shapeAppearanceModel.getBottomEdge())
+        && isCacheable(shapeAppearanceModel.getLeftEdge());
+  }
+
+  private static boolean isCacheable(@NonNull CornerTreatment cornerTreatment) {
+    Class<?> type = cornerTreatment.getClass();
+    return type == CornerTreatment.class
+        || type == RoundedCornerTreatment.class
+        || type == CutCornerTreatment.class;
+  }
+
+  private static boolean isCacheable(@NonNull CornerSize cornerSize) {
+    if (cornerSize instanceof AdjustedCornerSize) {
+      return isCacheable(((AdjustedCornerSize) cornerSize).getOther());
+    }
+    return cornerSize instanceof AbsoluteCornerSize || cornerSize instanceof RelativeCornerSize;
+  }
+
+  private static boolean isCacheable(@NonNull EdgeTreatment edgeTreatment) {
+    if (edgeTreatment instanceof OffsetEdgeTreatment) {
+      return isCacheable(((OffsetEdgeTreatment) edgeTreatment).getOther());
+    }
+    Class<?> type = edgeTreatment.getClass();
+    return type == EdgeTreatment.class
+        || type == TriangleEdgeTreatment.class
+        || type == MarkerEdgeTreatment.class;
+  }
+
+  /**
+   * Returns the path of the model for bounds of the given size at the origin, calculating it with
+   * {@code pathProvider} if it isn't cached. The model must be {@link
+   * #isCacheable(ShapeAppearanceModel) cacheable}. The compat shadow operations of the entry are
+   * only calculated once they are requested with {@code withShadowOperations}.
+   */
+  @NonNull
+  Entry get(
+      @NonNull ShapeAppearancePathProvider pathProvider,
+      @NonNull ShapeAppearanceModel shapeAppearanceModel,
+      float interpolation,
+      float width,
+      float height,
+      boolean withShadowOperations) {
+    Key key =
+        new Key(
+            shapeAppearanceModel,
+            interpolation,
+            width,
+            height,
+            pathProvider.isEdgeIntersectionCheckEnabled());
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      entry = new Entry();
+      entries.put(key, entry);
+    } else if (entry.hasShadowOperations || !withShadowOperations) {
+      return entry;
+    }
+    pathProvider.calculatePath(
+        shapeAppearanceModel,
+        interpolation,
+        new RectF(0, 0, width, height),
+        withShadowOperations ? entry : null,
+        entry.path);
+    entry.hasShadowOperations = withShadowOperations;
+    return entry;
+  }
+
+  int hitCount() {
+    return entries.hitCount();
+  }
+
+  int missCount() {
+    return entries.missCount();
+  }
+
+  /** A calculated path along with the operations that draw its compat shadow. */
+  static final class Entry implements PathListener {
+
+    // Only recalculated to add the shadow operations, callers copy it.
+    final Path path = new Path();
+    final RecordedShadowCompatOperation[] cornerShadowOperations =
+        RecordedShadowCompatOperation.createArray(4);
+    final RecordedShadowCompatOperation[] edgeShadowOperations =
+        RecordedShadowCompatOperation.createArray(4);
+    final BitSet containsIncompatibleShadowOp = new BitSet(8);
+    boolean hasShadowOperations;
+
+    @Override
+    public void onCornerPathCreated(ShapePath cornerPath, Matrix transform, int count) {
+      containsIncompatibleShadowOp.set(count, cornerPath.containsIncompatibleShadowOp());
+      cornerPath.recordShadowCompatOperation(transform, cornerShadowOperations[count]);
+    }
+
+    @Override
+    public void onEdgePathCreated(ShapePath edgePath, Matrix transform, int count) {
+      containsIncompatibleShadowOp.set(count + 4, edgePath.containsIncompatibleShadowOp());
+      edgePath.recordShadowCompatOperation(transform, edgeShadowOperations[count]);
+    }
+  }
+
+  /**
+   * Identifies a path. Models are compared by the exact types and values of their treatments and
+   * corner sizes, rather than with {@link Object#equals(Object)}, which treatments don't override.
+   */
+  private static final class Key {
+    @NonNull private final ShapeAppearanceModel shapeAppearanceModel;
+    private final float interpolation;
+    private final float width;
+    private final float height;
+    private final boolean edgeIntersectionCheckEnabled;
+    private final int hashCode;
+
+    Key(
+        @NonNull ShapeAppearanceModel shapeAppearanceModel,
+        float interpolation,
+        float width,
+        float height,
+        boolean edgeIntersectionCheckEnabled) {
+      this.shapeAppearanceModel = shapeAppearanceModel;
+      this.interpolation = interpolation;
+      this.width = width;
+      this.height = height;
+      this.edgeIntersectionCheckEnabled = edgeIntersectionCheckEnabled;
+
+      int result = hashShape(shapeAppearanceModel);
+      result = 31 * result + Float.floatToIntBits(interpolation);
+      result = 31 * result + Float.floatToIntBits(width);
+      result = 31 * result + Float.floatToIntBits(height);
+      result = 31 * result + (edgeIntersectionCheckEnabled ? 1 : 0);
+      hashCode = result;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key that = (Key) o;
+      return hashCode == that.hashCode
+          && interpolation == that.interpolation
+          && width == that.width
+          && height == that.height
+          && edgeIntersectionCheckEnabled == that.edgeIntersectionCheckEnabled
+          && isSameShape(shapeAppearanceModel, that.shapeAppearanceModel);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  // The models compared and hashed below are cacheable, so their treatments and corner sizes are
+  // one of the types accepted by isCacheable().
+
+  private static boolean isSameShape(
+      @NonNull ShapeAppearanceModel first, @NonNull ShapeAppearanceModel second) {
+    return first == second
+        || (isSameCorner(first.getTopLeftCorner(), second.getTopLeftCorner())
+            && isSameCorner(first.getTopRightCorner(), second.getTopRightCorner())
+            && isSameCorner(first.getBottomRightCorner(), second.getBottomRightCorner())
+            && isSameCorner(first.getBottomLeftCorner(), second.getBottomLeftCorner())
+            && isSameCornerSize(first.getTopLeftCornerSize(), second.getTopLeftCornerSize())
+            && isSameCornerSize(first.getTopRightCornerSize(), second.getTopRightCornerSize())
+            && isSameCornerSize(
+                first.getBottomRightCornerSize(), second.getBottomRightCornerSize())
+            && isSameCornerSize(first.getBottomLeftCornerSize(), second.getBottomLeftCornerSize())
+            && isSameEdge(first.getTopEdge(), second.getTopEdge())
+            && isSameEdge(first.getRightEdge(), second.getRightEdge())
+            && isSameEdge(first.getBottomEdge(), second.getBottomEdge())
+            && isSameEdge(first.getLeftEdge(), second.getLeftEdge()));
+  }
+
+  private static boolean isSameCorner(
+      @NonNull CornerTreatment first, @NonNull CornerTreatment second) {
+    if (first.getClass() != second.getClass()) {
+      return false;
+    }
+    if (first instanceof RoundedCornerTreatment) {
+      return ((RoundedCornerTreatment) first).radius == ((RoundedCornerTreatment) second).radius;
+    }
+    if (first instanceof CutCornerTreatment) {
+      return ((CutCornerTreatment) first).size == ((CutCornerTreatment) second).size;
+    }
+    return true;
+  }
+
+  private static boolean isSameCornerSize(@NonNull CornerSize first, @NonNull CornerSize second) {
+    // Corner sizes are final classes which are compared by value.
+    return first.equals(second);
+  }
+
+  private static boolean isSameEdge(@NonNull EdgeTreatment first, @NonNull EdgeTreatment second) {
+    if (first.getClass() != second.getClass()) {
+      return false;
+    }
+    if (first instanceof TriangleEdgeTreatment) {
+      TriangleEdgeTreatment firstTriangle = (TriangleEdgeTreatment) first;
+      TriangleEdgeTreatment secondTriangle = (TriangleEdgeTreatment) second;
+      return firstTriangle.getSize() == secondTriangle.getSize()
+          && firstTriangle.isInside() == secondTriangle.isInside();
+    }
+    if (first instanceof MarkerEdgeTreatment) {
+      return ((MarkerEdgeTreatment) first).getRadius()
+          == ((MarkerEdgeTreatment) second).getRadius();
+    }
+    if (first instanceof OffsetEdgeTreatment) {
+      OffsetEdgeTreatment firstOffset = (OffsetEdgeTreatment) first;
+      OffsetEdgeTreatment secondOffset = (OffsetEdgeTreatment) second;
+      return firstOffset.getOffset() == secondOffset.getOffset()
+          && isSameEdge(firstOffset.getOther(), secondOffset.getOther());
+    }
+    return true;
+  }
+
+  private static int hashShape(@NonNull ShapeAppearanceModel shapeAppearanceModel) {
+    int result = hashCorner(shapeAppearanceModel.getTopLeftCorner());
+    result = 31 * result + hashCorner(shapeAppearanceModel.getTopRightCorner());
+    result = 31 * result + hashCorner(shapeAppearanceModel.getBottomRightCorner());
+    result = 31 * result + hashCorner(shapeAppearanceModel.getBottomLeftCorner());
+    result = 31 * result + hashCornerSize(shapeAppearanceModel.getTopLeftCornerSize());
+    result = 31 * result + hashCornerSize(shapeAppearanceModel.getTopRightCornerSize());
+    result = 31 * result + hashCornerSize(shapeAppearanceModel.getBottomRightCornerSize());
+    result = 31 * result + hashCornerSize(shapeAppearanceModel.getBottomLeftCornerSize());
+    result = 31 * result + hashEdge(shapeAppearanceModel.getTopEdge());
+    result = 31 * result + hashEdge(shapeAppearanceModel.getRightEdge());
+    result = 31 * result + hashEdge(shapeAppearanceModel.getBottomEdge());
+    result = 31 * result + hashEdge(shapeAppearanceModel.getLeftEdge());
+    return result;
+  }
+
+  private static int hashCorner(@NonNull CornerTreatment cornerTreatment) {
+    int result = cornerTreatment.getClass().hashCode();
+    if (cornerTreatment instanceof RoundedCornerTreatment) {
+      float radius = ((RoundedCornerTreatment) cornerTreatment).radius;
+      result = 31 * result + Float.floatToIntBits(radius);
+    } else if (cornerTreatment instanceof CutCornerTreatment) {
+      result = 31 * result + Float.floatToIntBits(((CutCornerTreatment) cornerTreatment).size);
+    }
+    return result;
+  }
+
+  private static int hashCornerSize(@NonNull CornerSize cornerSize) {
+    if (cornerSize instanceof AbsoluteCornerSize) {
+      return Float.floatToIntBits(((AbsoluteCornerSize) cornerSize).getCornerSize());
+    }
+    if (cornerSize instanceof RelativeCornerSize) {
+      return 31 + Float.floatToIntBits(((RelativeCornerSize) cornerSize).getRelativePercent());
+    }
+    AdjustedCornerSize adjustedCornerSize = (AdjustedCornerSize) cornerSize;
+    return 31 * hashCornerSize(adjustedCornerSize.getOther())
+        + Float.floatToIntBits(adjustedCornerSize.getAdjustment());
+  }
+
+  private static int hashEdge(@NonNull EdgeTreatment edgeTreatment) {
+    int result = edgeTreatment.getClass().hashCode();
+    if (edgeTreatment instanceof TriangleEdgeTreatment) {
+      TriangleEdgeTreatment triangle = (TriangleEdgeTreatment) edgeTreatment;
+      result = 31 * result + Float.floatToIntBits(triangle.getSize());
+      result = 31 * result + (triangle.isInside() ? 1 : 0);
+    } else if (edgeTreatment instanceof MarkerEdgeTreatment) {
+      float radius = ((MarkerEdgeTreatment) edgeTreatment).getRadius();
+      result = 31 * result + Float.floatToIntBits(radius);
+    } else if (edgeTreatment instanceof OffsetEdgeTreatment) {
+      OffsetEdgeTreatment offset = (OffsetEdgeTreatment) edgeTreatment;
+      result = 31 * result + Float.floatToIntBits(offset.getOffset());
+      result = 31 * result + hashEdge(offset.getOther());
+    }
+    return result;
+  }
+}
@@ -44,6 +44,16 @@ public class TriangleEdgeTreatment extends EdgeTreatment {
     this.inside = inside;
   }
 
+  /** Returns the length that the triangle extends into or out of the shape. */
+  float getSize() {
+    return size;
+  }
+
+  /** Returns whether the triangle faces into the shape. */
+  boolean isInside() {
+    return inside;
+  }
+
   @Override
   public void getEdgePath(
       float length, float center, float interpolation, @NonNull ShapePath shapePath) {
@@ -29,8 +29,6 @@ import static java.lang.Float.compare;
 import static java.lang.Math.abs;
 import static java.lang.Math.max;
 import static java.lang.Math.min;
-import static java.util.Collections.max;
-import static java.util.Collections.min;
 
 import android.animation.Animator;
 import android.animation.AnimatorListenerAdapter;
@@ -95,9 +93,8 @@ import com.bottombar.navigation.material.shape.ShapeAppearanceModel;
 import com.bottombar.navigation.material.tooltip.TooltipDrawable;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
-import java.math.BigDecimal;
-import java.math.MathContext;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -279,14 +276,26 @@ abstract class BaseSlider<
   private float valueFrom;
   private float valueTo;
   // Holds the values set to this slider. We keep this array sorted in order to check if the value
-  // has been changed when a new value is set and to find the minimum and maximum values.
-  private ArrayList<Float> values = new ArrayList<>();
+  // has been changed when a new value is set, to find the minimum and maximum values, and to find
+  // the thumbs closest to a touch with a binary search.
+  @NonNull private float[] values = new float[0];
   // The index of the currently touched thumb.
   private int activeThumbIdx = -1;
   // The index of the currently focused thumb.
   private int focusedThumbIdx = -1;
   private float stepSize = 0.0f;
   private float[] ticksCoordinates;
+  // The geometry ticksCoordinates were calculated for, they're only recalculated when it changes.
+  private float ticksValueFrom;
+  private float ticksValueTo;
+  private float ticksStepSize;
+  private int ticksTrackWidth = -1;
+  private int ticksTrackHeight;
+  private int ticksTrackSidePadding;
+  private int ticksTrackCenter;
+  private int ticksCoordinatesCalculationCount;
+  // The normalized left and right positions of the active range, updated once per frame.
+  @NonNull private final float[] activeRange = new float[2];
   private boolean tickVisible = true;
   private int trackWidth;
   private boolean forceDrawCompatHalo;
@@ -541,14 +550,11 @@ abstract class BaseSlider<
   }
 
   private boolean isMultipleOfStepSize(float value) {
-    // We're using BigDecimal here to avoid floating point rounding errors.
-    double result =
-        new BigDecimal(Float.toString(value))
-            .divide(new BigDecimal(Float.toString(stepSize)), MathContext.DECIMAL64)
-            .doubleValue();
-
-    // If the result is a whole number, it means the value is a multiple of stepSize.
-    return Math.abs(Math.round(result) - result) < THRESHOLD;
+    double stepCount = Math.rint(value / (double) stepSize);
+    double distance = Math.abs(value - stepCount * stepSize);
+    // The value and the step size are each rounded to the nearest float, which puts a value meant
+    // to land on a multiple of stepSize up to about an ulp of the value away from it.
+    return distance < THRESHOLD * stepSize + 2 * Math.ulp(value);
   }
 
   private void validateStepSize() {
@@ -559,7 +565,7 @@ abstract class BaseSlider<
   }
 
   private void validateValues() {
-    for (Float value : values) {
+    for (float value : values) {
       if (value < valueFrom || value > valueTo) {
         throw new IllegalStateException(
             String.format(EXCEPTION_ILLEGAL_VALUE, value, valueFrom, valueTo));
@@ -676,7 +682,25 @@ abstract class BaseSlider<
 
   @NonNull
   List<Float> getValues() {
-    return new ArrayList<>(values);
+    List<Float> list = new ArrayList<>(values.length);
+    for (float value : values) {
+      list.add(value);
+    }
+    return list;
+  }
+
+  /** Returns the number of thumbs, without copying the values like {@link #getValues()} does. */
+  int getValueCount() {
+    return values.length;
+  }
+
+  /**
+   * Returns the value of the thumb at {@code index}, thumbs being ordered by ascending value.
+   *
+   * @throws IndexOutOfBoundsException If {@code index} is not lower than {@link #getValueCount()}.
+   */
+  float getValueAt(int index) {
+    return values[index];
   }
 
   /**
@@ -695,9 +719,11 @@ abstract class BaseSlider<
    * @see #getValues()
    */
   void setValues(@NonNull Float... values) {
-    ArrayList<Float> list = new ArrayList<>();
-    Collections.addAll(list, values);
-    setValuesInternal(list);
+    float[] array = new float[values.length];
+    for (int i = 0; i < values.length; i++) {
+      array[i] = values[i];
+    }
+    setValuesInternal(array);
   }
 
   /**
@@ -716,24 +742,39 @@ abstract class BaseSlider<
    * @throws IllegalArgumentException If {@code values} is empty.
    */
   void setValues(@NonNull List<Float> values) {
-    setValuesInternal(new ArrayList<>(values));
+    float[] array = new float[values.size()];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = values.get(i);
+    }
+    setValuesInternal(array);
+  }
+
+  /**
+   * Sets multiple values for the slider without boxing them, for sliders with many thumbs. Each
+   * value will represent a different thumb.
+   *
+   * <p>The same requirements as for {@link #setValues(List)} apply to each value.
+   *
+   * @param values An array of values to set, which isn't modified.
+   * @throws IllegalArgumentException If {@code values} is empty.
+   */
+  void setValues(@NonNull float[] values) {
+    setValuesInternal(Arrays.copyOf(values, values.length));
   }
 
   /**
-   * This method assumes the list passed in is a copy. It is split out so we can call it from {@link
-   * #setValues(Float...)} and {@link #setValues(List)}
+   * This method assumes the array passed in is a copy. It is split out so we can call it from
+   * {@link #setValues(Float...)}, {@link #setValues(List)} and {@link #setValues(float[])}.
    */
-  private void setValuesInternal(@NonNull ArrayList<Float> values) {
-    if (values.isEmpty()) {
+  private void setValuesInternal(@NonNull float[] values) {
+    if (values.length == 0) {
       throw new IllegalArgumentException("At least one value must be set");
     }
 
-    Collections.sort(values);
+    Arrays.sort(values);
 
-    if (this.values.size() == values.size()) {
-      if (this.values.equals(values)) {
-        return;
-      }
+    if (Arrays.equals(this.values, values)) {
+      return;
     }
 
     this.values = values;
@@ -748,8 +789,8 @@ abstract class BaseSlider<
 
   private void createLabelPool() {
     // If there are too many labels, remove the extra ones from the end.
-    if (labels.size() > values.size()) {
-      List<TooltipDrawable> tooltipDrawables = labels.subList(values.size(), labels.size());
+    if (labels.size() > values.length) {
+      List<TooltipDrawable> tooltipDrawables = labels.subList(values.length, labels.size());
       for (TooltipDrawable label : tooltipDrawables) {
         if (ViewCompat.isAttachedToWindow(this)) {
           detachLabelFromContentView(label);
@@ -759,7 +800,7 @@ abstract class BaseSlider<
     }
 
     // If there's not enough labels, add more.
-    while (labels.size() < values.size()) {
+    while (labels.size() < values.length) {
       TooltipDrawable tooltipDrawable = labelMaker.createTooltipDrawable();
       labels.add(tooltipDrawable);
       if (ViewCompat.isAttachedToWindow(this)) {
@@ -914,7 +955,7 @@ abstract class BaseSlider<
 
   /** Sets the index of the currently focused thumb */
   public void setFocusedThumbIndex(int index) {
-    if (index < 0 || index >= values.size()) {
+    if (index < 0 || index >= values.length) {
       throw new IllegalArgumentException("index out of range");
     }
     focusedThumbIdx = index;
@@ -1657,6 +1698,26 @@ abstract class BaseSlider<
 
     validateConfigurationIfDirty();
 
+    int trackCenter = calculateTrackCenter();
+    if (ticksCoordinates != null
+        && ticksValueFrom == valueFrom
+        && ticksValueTo == valueTo
+        && ticksStepSize == stepSize
+        && ticksTrackWidth == trackWidth
+        && ticksTrackHeight == trackHeight
+        && ticksTrackSidePadding == trackSidePadding
+        && ticksTrackCenter == trackCenter) {
+      return;
+    }
+    ticksValueFrom = valueFrom;
+    ticksValueTo = valueTo;
+    ticksStepSize = stepSize;
+    ticksTrackWidth = trackWidth;
+    ticksTrackHeight = trackHeight;
+    ticksTrackSidePadding = trackSidePadding;
+    ticksTrackCenter = trackCenter;
+    ticksCoordinatesCalculationCount++;
+
     int tickCount = (int) ((valueTo - valueFrom) / stepSize + 1);
     // Limit the tickCount if they will be too dense.
     tickCount = min(tickCount, trackWidth / (trackHeight * 2) + 1);
@@ -1667,10 +1728,16 @@ abstract class BaseSlider<
     float interval = trackWidth / (float) (tickCount - 1);
     for (int i = 0; i < tickCount * 2; i += 2) {
       ticksCoordinates[i] = trackSidePadding + i / 2 * interval;
-      ticksCoordinates[i + 1] = calculateTrackCenter();
+      ticksCoordinates[i + 1] = trackCenter;
     }
   }
 
+  /** Returns the number of times the tick coordinates were calculated, for testing. */
+  @VisibleForTesting
+  int getTicksCoordinatesCalculationCount() {
+    return ticksCoordinatesCalculationCount;
+  }
+
   private void updateTrackWidth(int width) {
     // Update the visible track width.
     trackWidth = max(width - trackSidePadding * 2, 0);
@@ -1684,7 +1751,7 @@ abstract class BaseSlider<
     if (!shouldDrawCompatHalo() && getMeasuredWidth() > 0) {
       final Drawable background = getBackground();
       if (background instanceof RippleDrawable) {
-        int x = (int) (normalizeValue(values.get(focusedThumbIdx)) * trackWidth + trackSidePadding);
+        int x = (int) (normalizeValue(values[focusedThumbIdx]) * trackWidth + trackSidePadding);
         int y = calculateTrackCenter();
         DrawableCompat.setHotspotBounds(
             background, x - haloRadius, y - haloRadius, x + haloRadius, y + haloRadius);
@@ -1701,19 +1768,18 @@ abstract class BaseSlider<
 
   @Override
   protected void onDraw(@NonNull Canvas canvas) {
-    if (dirtyConfig) {
-      validateConfigurationIfDirty();
+    validateConfigurationIfDirty();
 
-      // Update the visible tick coordinates.
-      maybeCalculateTicksCoordinates();
-    }
+    // Update the visible tick coordinates, if their geometry changed since the last frame.
+    maybeCalculateTicksCoordinates();
 
     super.onDraw(canvas);
 
     int yCenter = calculateTrackCenter();
+    updateActiveRange();
 
     drawInactiveTrack(canvas, trackWidth, yCenter);
-    if (max(getValues()) > valueFrom) {
+    if (values[values.length - 1] > valueFrom) {
       drawActiveTrack(canvas, trackWidth, yCenter);
     }
 
@@ -1735,21 +1801,21 @@ abstract class BaseSlider<
   }
 
   /**
-   * Returns a float array where {@code float[0]} is the normalized left position and {@code
-   * float[1]} is the normalized right position of the range.
+   * Updates {@link #activeRange} so that {@code activeRange[0]} is the normalized left position and
+   * {@code activeRange[1]} is the normalized right position of the range.
    */
-  private float[] getActiveRange() {
-    float max = max(getValues());
-    float min = min(getValues());
-    float left = normalizeValue(values.size() == 1 ? valueFrom : min);
+  private void updateActiveRange() {
+    float max = values[values.length - 1];
+    float min = values[0];
+    float left = normalizeValue(values.length == 1 ? valueFrom : min);
     float right = normalizeValue(max);
 
     // In RTL we draw things in reverse, so swap the left and right range values
-    return isRtl() ? new float[] {right, left} : new float[] {left, right};
+    activeRange[0] = isRtl() ? right : left;
+    activeRange[1] = isRtl() ? left : right;
   }
 
   private void drawInactiveTrack(@NonNull Canvas canvas, int width, int yCenter) {
-    float[] activeRange = getActiveRange();
     float right = trackSidePadding + activeRange[1] * width;
     if (right < trackSidePadding + width) {
       canvas.drawLine(right, yCenter, trackSidePadding + width, yCenter, inactiveTrackPaint);
@@ -1775,7 +1841,6 @@ abstract class BaseSlider<
   }
 
   private void drawActiveTrack(@NonNull Canvas canvas, int width, int yCenter) {
-    float[] activeRange = getActiveRange();
     float right = trackSidePadding + activeRange[1] * width;
     float left = trackSidePadding + activeRange[0] * width;
     canvas.drawLine(left, yCenter, right, yCenter, activeTrackPaint);
@@ -1786,7 +1851,6 @@ abstract class BaseSlider<
       return;
     }
 
-    float[] activeRange = getActiveRange();
     int leftPivotIndex = pivotIndex(ticksCoordinates, activeRange[0]);
     int rightPivotIndex = pivotIndex(ticksCoordinates, activeRange[1]);
 
@@ -1809,8 +1873,8 @@ abstract class BaseSlider<
   }
 
   private void drawThumbs(@NonNull Canvas canvas, int width, int yCenter) {
-    for (int i = 0; i < values.size(); i++) {
-      float value = values.get(i);
+    for (int i = 0; i < values.length; i++) {
+      float value = values[i];
       if (customThumbDrawable != null) {
         drawThumbDrawable(canvas, width, yCenter, value, customThumbDrawable);
       } else if (i < customThumbDrawablesForValues.size()) {
@@ -1842,7 +1906,7 @@ abstract class BaseSlider<
   private void maybeDrawHalo(@NonNull Canvas canvas, int width, int top) {
     // Only draw the halo for devices that aren't using the ripple.
     if (shouldDrawCompatHalo()) {
-      int centerX = (int) (trackSidePadding + normalizeValue(values.get(focusedThumbIdx)) * width);
+      int centerX = (int) (trackSidePadding + normalizeValue(values[focusedThumbIdx]) * width);
       if (VERSION.SDK_INT < VERSION_CODES.P) {
         // In this case we can clip the rect to allow drawing outside the bounds.
         canvas.clipRect(
@@ -1978,14 +2042,23 @@ abstract class BaseSlider<
 
     float touchValue = getValueOfTouchPositionAbsolute();
     float touchX = valueToX(touchValue);
-    activeThumbIdx = 0;
-    float activeThumbDiff = abs(values.get(activeThumbIdx) - touchValue);
-    for (int i = 1; i < values.size(); i++) {
-      float valueDiff = abs(values.get(i) - touchValue);
-      float valueX = valueToX(values.get(i));
-      if (compare(valueDiff, activeThumbDiff) > 1) {
-        break;
-      }
+    // The values are sorted, so the closest thumbs are the ones sharing the values on either side
+    // of the touch value, only those need to be compared.
+    int insertionIdx = findFirstValueAtLeast(touchValue);
+    int firstIdx = max(insertionIdx - 1, 0);
+    while (firstIdx > 0 && values[firstIdx - 1] == values[firstIdx]) {
+      firstIdx--;
+    }
+    int lastIdx = min(insertionIdx, values.length - 1);
+    while (lastIdx < values.length - 1 && values[lastIdx + 1] == values[lastIdx]) {
+      lastIdx++;
+    }
+
+    activeThumbIdx = firstIdx;
+    float activeThumbDiff = abs(values[activeThumbIdx] - touchValue);
+    for (int i = firstIdx + 1; i <= lastIdx; i++) {
+      float valueDiff = abs(values[i] - touchValue);
+      float valueX = valueToX(values[i]);
 
       boolean movingForward = isRtl() ? (valueX - touchX) > 0 : (valueX - touchX) < 0;
       // Keep replacing the activeThumbIdx, while the diff decreases.
@@ -2013,6 +2086,21 @@ abstract class BaseSlider<
     return activeThumbIdx != -1;
   }
 
+  /** Returns the index of the first value greater than or equal to {@code value}. */
+  private int findFirstValueAtLeast(float value) {
+    int low = 0;
+    int high = values.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (values[mid] < value) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
   private float getValueOfTouchPositionAbsolute() {
     float position = touchPosition;
     if (isRtl()) {
@@ -2039,13 +2127,13 @@ abstract class BaseSlider<
     focusedThumbIdx = idx;
 
     // Check if the new value equals a value that was already set.
-    if (abs(value - values.get(idx)) < THRESHOLD) {
+    if (abs(value - values[idx]) < THRESHOLD) {
       return false;
     }
 
     float newValue = getClampedValue(idx, value);
     // Replace the old value with the new value of the touch position.
-    values.set(idx, newValue);
+    values[idx] = newValue;
 
     dispatchOnChangedFromUser(idx);
     return true;
@@ -2059,8 +2147,8 @@ abstract class BaseSlider<
       minSeparation = -minSeparation;
     }
 
-    float upperBound = idx + 1 >= values.size() ? valueTo : values.get(idx + 1) - minSeparation;
-    float lowerBound = idx - 1 < 0 ? valueFrom : values.get(idx - 1) + minSeparation;
+    float upperBound = idx + 1 >= values.length ? valueTo : values[idx + 1] - minSeparation;
+    float lowerBound = idx - 1 < 0 ? valueFrom : values[idx - 1] + minSeparation;
     return clamp(value, lowerBound, upperBound);
   }
 
@@ -2188,23 +2276,23 @@ abstract class BaseSlider<
 
     Iterator<TooltipDrawable> labelItr = labels.iterator();
 
-    for (int i = 0; i < values.size() && labelItr.hasNext(); i++) {
+    for (int i = 0; i < values.length && labelItr.hasNext(); i++) {
       if (i == focusedThumbIdx) {
         // We position the focused thumb last so it's displayed on top, so skip it for now.
         continue;
       }
 
-      setValueForLabel(labelItr.next(), values.get(i));
+      setValueForLabel(labelItr.next(), values[i]);
     }
 
     if (!labelItr.hasNext()) {
       throw new IllegalStateException(
           String.format(
-              "Not enough labels(%d) to display all the values(%d)", labels.size(), values.size()));
+              "Not enough labels(%d) to display all the values(%d)", labels.size(), values.length));
     }
 
     // Now set the label for the focused thumb so it's on top.
-    setValueForLabel(labelItr.next(), values.get(focusedThumbIdx));
+    setValueForLabel(labelItr.next(), values[focusedThumbIdx]);
   }
 
   private String formatValue(float value) {
@@ -2264,7 +2352,7 @@ abstract class BaseSlider<
   @SuppressWarnings("unchecked")
   private void dispatchOnChangedProgrammatically() {
     for (L listener : changeListeners) {
-      for (Float value : values) {
+      for (float value : values) {
         listener.onValueChange((S) this, value, false);
       }
     }
@@ -2273,7 +2361,7 @@ abstract class BaseSlider<
   @SuppressWarnings("unchecked")
   private void dispatchOnChangedFromUser(int idx) {
     for (L listener : changeListeners) {
-      listener.onValueChange((S) this, values.get(idx), true);
+      listener.onValueChange((S) this, values[idx], true);
     }
     if (accessibilityManager != null && accessibilityManager.isEnabled()) {
       scheduleAccessibilityEventSender(idx);
@@ -2331,7 +2419,7 @@ abstract class BaseSlider<
     }
 
     // If there's only one thumb, we can select it right away.
-    if (values.size() == 1) {
+    if (values.length == 1) {
       activeThumbIdx = 0;
     }
 
@@ -2344,7 +2432,7 @@ abstract class BaseSlider<
     isLongPress |= event.isLongPress();
     Float increment = calculateIncrementForKey(keyCode);
     if (increment != null) {
-      if (snapActiveThumbToValue(values.get(activeThumbIdx) + increment)) {
+      if (snapActiveThumbToValue(values[activeThumbIdx] + increment)) {
         updateHaloHotspot();
         postInvalidate();
       }
@@ -2431,7 +2519,7 @@ abstract class BaseSlider<
     int oldFocusedThumbIdx = focusedThumbIdx;
     // Prevent integer overflow.
     final long newFocusedThumbIdx = (long) oldFocusedThumbIdx + direction;
-    focusedThumbIdx = (int) clamp(newFocusedThumbIdx, 0, values.size() - 1);
+    focusedThumbIdx = (int) clamp(newFocusedThumbIdx, 0, values.length - 1);
     if (focusedThumbIdx == oldFocusedThumbIdx) {
       // Move focus to next or previous view.
       return false;
@@ -2591,7 +2679,7 @@ abstract class BaseSlider<
     SliderState sliderState = new SliderState(superState);
     sliderState.valueFrom = valueFrom;
     sliderState.valueTo = valueTo;
-    sliderState.values = new ArrayList<>(values);
+    sliderState.values = values.clone();
     sliderState.stepSize = stepSize;
     sliderState.hasFocus = hasFocus();
     return sliderState;
@@ -2615,7 +2703,7 @@ abstract class BaseSlider<
 
     float valueFrom;
     float valueTo;
-    ArrayList<Float> values;
+    float[] values;
     float stepSize;
     boolean hasFocus;
 
@@ -2643,8 +2731,7 @@ abstract class BaseSlider<
       super(source);
       valueFrom = source.readFloat();
       valueTo = source.readFloat();
-      values = new ArrayList<>();
-      source.readList(values, Float.class.getClassLoader());
+      values = source.createFloatArray();
       stepSize = source.readFloat();
       hasFocus = source.createBooleanArray()[0];
     }
@@ -2654,7 +2741,7 @@ abstract class BaseSlider<
       super.writeToParcel(dest, flags);
       dest.writeFloat(valueFrom);
       dest.writeFloat(valueTo);
-      dest.writeList(values);
+      dest.writeFloatArray(values);
       dest.writeFloat(stepSize);
       boolean[] booleans = new boolean[1];
       booleans[0] = hasFocus;
@@ -2663,7 +2750,7 @@ abstract class BaseSlider<
   }
 
   void updateBoundsForVirtualViewId(int virtualViewId, Rect virtualViewBounds) {
-    int x = trackSidePadding + (int) (normalizeValue(getValues().get(virtualViewId)) * trackWidth);
+    int x = trackSidePadding + (int) (normalizeValue(values[virtualViewId]) * trackWidth);
     int y = calculateTrackCenter();
 
     virtualViewBounds.set(x - thumbRadius, y - thumbRadius, x + thumbRadius, y + thumbRadius);
@@ -2681,7 +2768,7 @@ abstract class BaseSlider<
 
     @Override
     protected int getVirtualViewAt(float x, float y) {
-      for (int i = 0; i < slider.getValues().size(); i++) {
+      for (int i = 0; i < slider.getValueCount(); i++) {
         slider.updateBoundsForVirtualViewId(i, virtualViewBounds);
         if (virtualViewBounds.contains((int) x, (int) y)) {
           return i;
@@ -2693,7 +2780,7 @@ abstract class BaseSlider<
 
     @Override
     protected void getVisibleVirtualViews(List<Integer> virtualViewIds) {
-      for (int i = 0; i < slider.getValues().size(); i++) {
+      for (int i = 0; i < slider.getValueCount(); i++) {
         virtualViewIds.add(i);
       }
     }
@@ -2704,8 +2791,7 @@ abstract class BaseSlider<
 
       info.addAction(AccessibilityNodeInfoCompat.AccessibilityActionCompat.ACTION_SET_PROGRESS);
 
-      List<Float> values = slider.getValues();
-      final float value = values.get(virtualViewId);
+      final float value = slider.getValueAt(virtualViewId);
       float valueFrom = slider.getValueFrom();
       float valueTo = slider.getValueTo();
 
@@ -2726,7 +2812,7 @@ abstract class BaseSlider<
         contentDescription.append(slider.getContentDescription()).append(",");
       }
       // Add the range to the content description.
-      if (values.size() > 1) {
+      if (slider.getValueCount() > 1) {
         contentDescription.append(startOrEndDescription(virtualViewId));
         contentDescription.append(slider.formatValue(value));
       }
@@ -2738,8 +2824,7 @@ abstract class BaseSlider<
 
     @NonNull
     private String startOrEndDescription(int virtualViewId) {
-      List<Float> values = slider.getValues();
-      if (virtualViewId == values.size() - 1) {
+      if (virtualViewId == slider.getValueCount() - 1) {
         return slider.getContext().getString(R.string.material_slider_range_end);
       }
 
@@ -2788,10 +2873,9 @@ abstract class BaseSlider<
               increment = -increment;
             }
 
-            List<Float> values = slider.getValues();
             float clamped =
                 clamp(
-                    values.get(virtualViewId) + increment,
+                    slider.getValueAt(virtualViewId) + increment,
                     slider.getValueFrom(),
                     slider.getValueTo());
             if (slider.snapThumbToValue(virtualViewId, clamped)) {
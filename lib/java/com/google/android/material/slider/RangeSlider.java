@@ -118,6 +118,16 @@ public class RangeSlider extends BaseSlider<RangeSlider, OnChangeListener, OnSli
     super.setValues(values);
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @see #getValueAt(int)
+   */
+  @Override
+  public void setValues(@NonNull float[] values) {
+    super.setValues(values);
+  }
+
   /** Returns current values of the slider thumbs. */
   @NonNull
   @Override
@@ -125,6 +135,21 @@ public class RangeSlider extends BaseSlider<RangeSlider, OnChangeListener, OnSli
     return super.getValues();
   }
 
+  /** Returns the number of thumbs of the slider. */
+  @Override
+  public int getValueCount() {
+    return super.getValueCount();
+  }
+
+  /**
+   * Returns the value of the thumb at {@code index}, with thumbs ordered by ascending value. Unlike
+   * {@link #getValues()}, this doesn't copy the values, for sliders with many thumbs.
+   */
+  @Override
+  public float getValueAt(int index) {
+    return super.getValueAt(index);
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -83,7 +83,7 @@ public class Slider extends BaseSlider<Slider, OnChangeListener, OnSliderTouchLi
    * @attr ref com.ssos.support.R.styleable#Slider_android_value
    */
   public float getValue() {
-    return getValues().get(0);
+    return getValueAt(0);
   }
 
   /**
@@ -103,7 +103,7 @@ public class Slider extends BaseSlider<Slider, OnChangeListener, OnSliderTouchLi
    * @attr ref com.ssos.support.R.styleable#Slider_android_value
    */
   public void setValue(float value) {
-    setValues(value);
+    setValues(new float[] {value});
   }
 
   /**
@@ -265,6 +265,10 @@ public abstract class BaseTransientBottomBar<B extends BaseTransientBottomBar<B>
   private final com.bottombar.navigation.material.snackbar.ContentViewCallback contentViewCallback;
 
   private int duration;
+  private int priority;
+  @Nullable private String coalescingKey;
+  private int minimumDisplayDuration;
+  private long queueingDelay = -1;
   private boolean gestureInsetBottomIgnored;
 
   @Nullable
@@ -493,6 +497,74 @@ public abstract class BaseTransientBottomBar<B extends BaseTransientBottomBar<B>
     return duration;
   }
 
+  /**
+   * Sets the priority used to order this bar among the bars waiting to be shown. A bar replaces the
+   * one currently shown if its priority is at least as high, and otherwise waits for it to be
+   * dismissed. Default is 0.
+   */
+  @NonNull
+  public B setPriority(int priority) {
+    this.priority = priority;
+    return (B) this;
+  }
+
+  /**
+   * Return the priority.
+   *
+   * @see #setPriority(int)
+   */
+  public int getPriority() {
+    return priority;
+  }
+
+  /**
+   * Sets a key which coalesces bars showing the same message, such as connectivity changes. A bar
+   * replaces a waiting bar with the same key in its place in the queue, and replaces a shown bar
+   * with the same key regardless of their priorities. Default is null, which doesn't coalesce.
+   */
+  @NonNull
+  public B setCoalescingKey(@Nullable String coalescingKey) {
+    this.coalescingKey = coalescingKey;
+    return (B) this;
+  }
+
+  /**
+   * Return the coalescing key.
+   *
+   * @see #setCoalescingKey(String)
+   */
+  @Nullable
+  public String getCoalescingKey() {
+    return coalescingKey;
+  }
+
+  /**
+   * Sets the time in milliseconds for which this bar is shown before another bar can replace it,
+   * which limits how often bars are swapped when many are shown in a burst. Default is 0.
+   */
+  @NonNull
+  public B setMinimumDisplayDuration(int minimumDisplayDuration) {
+    this.minimumDisplayDuration = minimumDisplayDuration;
+    return (B) this;
+  }
+
+  /**
+   * Return the minimum display duration.
+   *
+   * @see #setMinimumDisplayDuration(int)
+   */
+  public int getMinimumDisplayDuration() {
+    return minimumDisplayDuration;
+  }
+
+  /**
+   * Returns the time in milliseconds this bar waited for other bars between the last call to
+   * {@link #show()} and being shown, or -1 if it hasn't been shown yet.
+   */
+  public long getQueueingDelay() {
+    return queueingDelay;
+  }
+
   /**
    * Sets whether this bottom bar should adjust it's position based on the system gesture area on
    * Android Q and above.
@@ -624,7 +696,13 @@ public abstract class BaseTransientBottomBar<B extends BaseTransientBottomBar<B>
 
   /** Show the {@link BaseTransientBottomBar}. */
   public void show() {
-    SnackbarManager.getInstance().show(getDuration(), managerCallback);
+    SnackbarManager.getInstance()
+        .show(
+            getDuration(),
+            getPriority(),
+            getCoalescingKey(),
+            getMinimumDisplayDuration(),
+            managerCallback);
   }
 
   /** Dismiss the {@link BaseTransientBottomBar}. */
@@ -693,6 +771,7 @@ public abstract class BaseTransientBottomBar<B extends BaseTransientBottomBar<B>
       new SnackbarManager.Callback() {
         @Override
         public void show() {
+          queueingDelay = SnackbarManager.getInstance().getQueueingDelay(this);
           handler.sendMessage(handler.obtainMessage(MSG_SHOW, BaseTransientBottomBar.this));
         }
 
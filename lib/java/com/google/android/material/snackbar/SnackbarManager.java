@@ -19,18 +19,35 @@ package com.bottombar.navigation.material.snackbar;
 import android.os.Handler;
 import android.os.Looper;
 import android.os.Message;
+import android.os.SystemClock;
+import android.text.TextUtils;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 
-/** Manages {@link Snackbar}s. */
+/**
+ * Manages {@link Snackbar}s.
+ *
+ * <p>Snackbars waiting to be shown are kept in a bounded queue ordered by priority, and shown one
+ * after the other. A queued Snackbar replaces the current one if its priority is at least as
+ * high, or if both share a coalescing key, but only once the current one has been shown for its
+ * minimum display duration. A queued Snackbar is replaced in place by a new one with the same
+ * coalescing key, so that bursts of the same message are shown once. Snackbars with the default
+ * priority and no coalescing key replace each other in the queue, so that only the latest one is
+ * shown next.
+ */
 class SnackbarManager {
 
   static final int MSG_TIMEOUT = 0;
+  static final int MSG_PREEMPT = 1;
 
   private static final int SHORT_DURATION_MS = 1500;
   private static final int LONG_DURATION_MS = 2750;
 
+  /** The maximum number of Snackbars waiting to be shown. */
+  static final int MAX_QUEUED_SNACKBARS = 8;
+
   private static SnackbarManager snackbarManager;
 
   static SnackbarManager getInstance() {
@@ -44,7 +61,9 @@ class SnackbarManager {
   @NonNull private final Handler handler;
 
   @Nullable private SnackbarRecord currentSnackbar;
-  @Nullable private SnackbarRecord nextSnackbar;
+
+  // Ordered by descending priority, and by the time they were queued within a priority.
+  @NonNull private final ArrayList<SnackbarRecord> queuedSnackbars = new ArrayList<>();
 
   private SnackbarManager() {
     lock = new Object();
@@ -58,6 +77,9 @@ class SnackbarManager {
                   case MSG_TIMEOUT:
                     handleTimeout((SnackbarRecord) message.obj);
                     return true;
+                  case MSG_PREEMPT:
+                    handlePreempt((SnackbarRecord) message.obj);
+                    return true;
                   default:
                     return false;
                 }
@@ -71,34 +93,57 @@ class SnackbarManager {
     void dismiss(int event);
   }
 
-  public void show(int duration, Callback callback) {
+  /**
+   * Shows or queues the Snackbar of {@code callback}.
+   *
+   * @param priority Snackbars with a higher priority are shown first.
+   * @param coalescingKey Snackbars with the same non-null key replace each other.
+   * @param minimumDisplayDuration The time in milliseconds for which the Snackbar is shown before
+   *     another Snackbar can replace it.
+   */
+  public void show(
+      int duration,
+      int priority,
+      @Nullable String coalescingKey,
+      int minimumDisplayDuration,
+      Callback callback) {
     synchronized (lock) {
       if (isCurrentSnackbarLocked(callback)) {
         // Means that the callback is already in the queue. We'll just update the duration
         currentSnackbar.duration = duration;
+        currentSnackbar.priority = priority;
+        currentSnackbar.coalescingKey = coalescingKey;
+        currentSnackbar.minimumDisplayDuration = minimumDisplayDuration;
 
         // If this is the Snackbar currently being shown, call re-schedule it's
         // timeout
-        handler.removeCallbacksAndMessages(currentSnackbar);
+        handler.removeMessages(MSG_TIMEOUT, currentSnackbar);
         scheduleTimeoutLocked(currentSnackbar);
         return;
-      } else if (isNextSnackbarLocked(callback)) {
-        // We'll just update the duration
-        nextSnackbar.duration = duration;
-      } else {
-        // Else, we need to create a new record and queue it
-        nextSnackbar = new SnackbarRecord(duration, callback);
       }
 
-      if (currentSnackbar != null
-          && cancelSnackbarLocked(currentSnackbar, Snackbar.Callback.DISMISS_EVENT_CONSECUTIVE)) {
-        // If we currently have a Snackbar, try and cancel it and wait in line
-        return;
+      SnackbarRecord record = findQueuedSnackbarLocked(callback, coalescingKey);
+      if (record != null) {
+        // Either the same Snackbar or one with the same coalescing key is already queued, so it's
+        // replaced while keeping the time it was first queued at.
+        queuedSnackbars.remove(record);
+        record = new SnackbarRecord(duration, callback, record.queuedTime);
       } else {
-        // Clear out the current snackbar
-        currentSnackbar = null;
-        // Otherwise, just show it now
+        record = new SnackbarRecord(duration, callback, SystemClock.uptimeMillis());
+      }
+      record.priority = priority;
+      record.coalescingKey = coalescingKey;
+      record.minimumDisplayDuration = minimumDisplayDuration;
+      if (record.isDefault()) {
+        // Only the latest of the Snackbars without a priority or coalescing key is shown next
+        removeQueuedDefaultSnackbarsLocked();
+      }
+      queueSnackbarLocked(record);
+
+      if (currentSnackbar == null) {
         showNextSnackbarLocked();
+      } else if (queuedSnackbars.contains(record) && shouldPreemptLocked(record)) {
+        preemptCurrentSnackbarLocked();
       }
     }
   }
@@ -107,8 +152,12 @@ class SnackbarManager {
     synchronized (lock) {
       if (isCurrentSnackbarLocked(callback)) {
         cancelSnackbarLocked(currentSnackbar, event);
-      } else if (isNextSnackbarLocked(callback)) {
-        cancelSnackbarLocked(nextSnackbar, event);
+      } else {
+        SnackbarRecord record = findQueuedSnackbarLocked(callback, null);
+        if (record != null) {
+          queuedSnackbars.remove(record);
+          cancelSnackbarLocked(record, event);
+        }
       }
     }
   }
@@ -121,10 +170,9 @@ class SnackbarManager {
     synchronized (lock) {
       if (isCurrentSnackbarLocked(callback)) {
         // If the callback is from a Snackbar currently show, remove it and show a new one
+        handler.removeCallbacksAndMessages(currentSnackbar);
         currentSnackbar = null;
-        if (nextSnackbar != null) {
-          showNextSnackbarLocked();
-        }
+        showNextSnackbarLocked();
       }
     }
   }
@@ -145,7 +193,7 @@ class SnackbarManager {
     synchronized (lock) {
       if (isCurrentSnackbarLocked(callback) && !currentSnackbar.paused) {
         currentSnackbar.paused = true;
-        handler.removeCallbacksAndMessages(currentSnackbar);
+        handler.removeMessages(MSG_TIMEOUT, currentSnackbar);
       }
     }
   }
@@ -167,7 +215,26 @@ class SnackbarManager {
 
   public boolean isCurrentOrNext(Callback callback) {
     synchronized (lock) {
-      return isCurrentSnackbarLocked(callback) || isNextSnackbarLocked(callback);
+      return isCurrentSnackbarLocked(callback) || findQueuedSnackbarLocked(callback, null) != null;
+    }
+  }
+
+  /**
+   * Returns the time in milliseconds the current Snackbar of {@code callback} waited between being
+   * queued and being shown, or -1 if it isn't the current Snackbar.
+   */
+  public long getQueueingDelay(Callback callback) {
+    synchronized (lock) {
+      return isCurrentSnackbarLocked(callback)
+          ? currentSnackbar.shownTime - currentSnackbar.queuedTime
+          : -1;
+    }
+  }
+
+  /** Returns the number of Snackbars waiting to be shown. */
+  int getQueuedSnackbarCount() {
+    synchronized (lock) {
+      return queuedSnackbars.size();
     }
   }
 
@@ -175,29 +242,137 @@ class SnackbarManager {
     @NonNull final WeakReference<Callback> callback;
     int duration;
     boolean paused;
-
-    SnackbarRecord(int duration, Callback callback) {
+    int priority;
+    @Nullable String coalescingKey;
+    int minimumDisplayDuration;
+    boolean cancelled;
+    final long queuedTime;
+    long shownTime;
+
+    SnackbarRecord(int duration, Callback callback, long queuedTime) {
       this.callback = new WeakReference<>(callback);
       this.duration = duration;
+      this.queuedTime = queuedTime;
     }
 
     boolean isSnackbar(@Nullable Callback callback) {
       return callback != null && this.callback.get() == callback;
     }
+
+    boolean isDefault() {
+      return priority == 0 && coalescingKey == null;
+    }
+
+    boolean hasCoalescingKey(@Nullable String coalescingKey) {
+      return coalescingKey != null && TextUtils.equals(this.coalescingKey, coalescingKey);
+    }
   }
 
   private void showNextSnackbarLocked() {
-    if (nextSnackbar != null) {
-      currentSnackbar = nextSnackbar;
-      nextSnackbar = null;
-
-      final Callback callback = currentSnackbar.callback.get();
+    while (!queuedSnackbars.isEmpty()) {
+      SnackbarRecord record = queuedSnackbars.remove(0);
+      final Callback callback = record.callback.get();
       if (callback != null) {
+        currentSnackbar = record;
+        currentSnackbar.shownTime = SystemClock.uptimeMillis();
         callback.show();
-      } else {
-        // The callback doesn't exist any more, clear out the Snackbar
-        currentSnackbar = null;
+        if (hasPreemptingSnackbarLocked()) {
+          // A Snackbar queued behind this one replaces it, e.g. an indefinite one
+          preemptCurrentSnackbarLocked();
+        }
+        return;
       }
+      // The callback doesn't exist any more, skip the Snackbar
+    }
+  }
+
+  /**
+   * Adds {@code record} after the queued Snackbars with the same or a higher priority, then drops
+   * the oldest Snackbar with the lowest priority if the queue is over capacity.
+   */
+  private void queueSnackbarLocked(@NonNull SnackbarRecord record) {
+    int index = queuedSnackbars.size();
+    while (index > 0 && queuedSnackbars.get(index - 1).priority < record.priority) {
+      index--;
+    }
+    queuedSnackbars.add(index, record);
+
+    if (queuedSnackbars.size() > MAX_QUEUED_SNACKBARS) {
+      int lowestPriority = queuedSnackbars.get(queuedSnackbars.size() - 1).priority;
+      int oldest = queuedSnackbars.size() - 1;
+      while (oldest > 0 && queuedSnackbars.get(oldest - 1).priority == lowestPriority) {
+        oldest--;
+      }
+      queuedSnackbars.remove(oldest);
+    }
+  }
+
+  /**
+   * Returns the queued Snackbar of {@code callback}, or else the one with {@code coalescingKey}.
+   */
+  @Nullable
+  private SnackbarRecord findQueuedSnackbarLocked(
+      Callback callback, @Nullable String coalescingKey) {
+    SnackbarRecord coalescedRecord = null;
+    for (int i = 0; i < queuedSnackbars.size(); i++) {
+      SnackbarRecord record = queuedSnackbars.get(i);
+      if (record.isSnackbar(callback)) {
+        return record;
+      }
+      if (coalescedRecord == null && record.hasCoalescingKey(coalescingKey)) {
+        coalescedRecord = record;
+      }
+    }
+    return coalescedRecord;
+  }
+
+  private void removeQueuedDefaultSnackbarsLocked() {
+    for (int i = queuedSnackbars.size() - 1; i >= 0; i--) {
+      if (queuedSnackbars.get(i).isDefault()) {
+        queuedSnackbars.remove(i);
+      }
+    }
+  }
+
+  private boolean hasPreemptingSnackbarLocked() {
+    for (int i = 0; i < queuedSnackbars.size(); i++) {
+      if (shouldPreemptLocked(queuedSnackbars.get(i))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean shouldPreemptLocked(@NonNull SnackbarRecord record) {
+    return currentSnackbar != null
+        && (record.priority >= currentSnackbar.priority
+            || currentSnackbar.hasCoalescingKey(record.coalescingKey));
+  }
+
+  /**
+   * Dismisses the current Snackbar so that the next one is shown, or schedules it for when the
+   * current Snackbar has been shown for its minimum display duration.
+   */
+  private void preemptCurrentSnackbarLocked() {
+    if (currentSnackbar.cancelled) {
+      // The next Snackbar is shown once the current one is dismissed
+      return;
+    }
+    long remainingDisplayDuration =
+        currentSnackbar.shownTime
+            + currentSnackbar.minimumDisplayDuration
+            - SystemClock.uptimeMillis();
+    if (remainingDisplayDuration > 0) {
+      if (!handler.hasMessages(MSG_PREEMPT, currentSnackbar)) {
+        handler.sendMessageDelayed(
+            Message.obtain(handler, MSG_PREEMPT, currentSnackbar), remainingDisplayDuration);
+      }
+      return;
+    }
+    if (!cancelSnackbarLocked(currentSnackbar, Snackbar.Callback.DISMISS_EVENT_CONSECUTIVE)) {
+      // The current Snackbar doesn't exist any more, so show the next one now
+      currentSnackbar = null;
+      showNextSnackbarLocked();
     }
   }
 
@@ -206,6 +381,7 @@ class SnackbarManager {
     if (callback != null) {
       // Make sure we remove any timeouts for the SnackbarRecord
       handler.removeCallbacksAndMessages(record);
+      record.cancelled = true;
       callback.dismiss(event);
       return true;
     }
@@ -216,10 +392,6 @@ class SnackbarManager {
     return currentSnackbar != null && currentSnackbar.isSnackbar(callback);
   }
 
-  private boolean isNextSnackbarLocked(Callback callback) {
-    return nextSnackbar != null && nextSnackbar.isSnackbar(callback);
-  }
-
   private void scheduleTimeoutLocked(@NonNull SnackbarRecord r) {
     if (r.duration == Snackbar.LENGTH_INDEFINITE) {
       // If we're set to indefinite, we don't want to set a timeout
@@ -232,15 +404,23 @@ class SnackbarManager {
     } else if (r.duration == Snackbar.LENGTH_SHORT) {
       durationMs = SHORT_DURATION_MS;
     }
-    handler.removeCallbacksAndMessages(r);
+    handler.removeMessages(MSG_TIMEOUT, r);
     handler.sendMessageDelayed(Message.obtain(handler, MSG_TIMEOUT, r), durationMs);
   }
 
   void handleTimeout(@NonNull SnackbarRecord record) {
     synchronized (lock) {
-      if (currentSnackbar == record || nextSnackbar == record) {
+      if (currentSnackbar == record || queuedSnackbars.contains(record)) {
         cancelSnackbarLocked(record, Snackbar.Callback.DISMISS_EVENT_TIMEOUT);
       }
     }
   }
+
+  void handlePreempt(@NonNull SnackbarRecord record) {
+    synchronized (lock) {
+      if (currentSnackbar == record && hasPreemptingSnackbarLocked()) {
+        preemptCurrentSnackbarLocked();
+      }
+    }
+  }
 }
@@ -124,6 +124,9 @@ import java.util.Iterator;
  * You should add a listener via {@link #addOnTabSelectedListener(OnTabSelectedListener)} to be
  * notified when any tab's selection state has been changed.
  *
+ * <p>TabLayout creates a view for every tab. For scrollable bars with hundreds of text tabs, use
+ * {@link VirtualizedTabLayout}, which only creates views for the tabs on screen.
+ *
  * <p>You can also add items to TabLayout in your layout through the use of {@link TabItem}. An
  * example usage is like so:
  *
@@ -999,6 +1002,43 @@ public class TabLayout extends HorizontalScrollView {
     selectedTab = null;
   }
 
+  /**
+   * Removes {@code count} tabs starting at {@code positionStart}. Unlike {@link #removeTabAt(int)},
+   * no other tab is selected if the selected tab is removed.
+   */
+  void removeTabRange(int positionStart, int count) {
+    for (int i = positionStart + count - 1; i >= positionStart; i--) {
+      removeTabViewAt(i);
+      final Tab removedTab = tabs.remove(i);
+      if (removedTab == selectedTab) {
+        selectedTab = null;
+      }
+      removedTab.reset();
+      releaseFromTabPool(removedTab);
+    }
+
+    for (int i = positionStart, z = tabs.size(); i < z; i++) {
+      tabs.get(i).setPosition(i);
+    }
+  }
+
+  /** Moves the tab at {@code fromPosition} to {@code toPosition}, keeping its view. */
+  void moveTab(int fromPosition, int toPosition) {
+    if (fromPosition == toPosition) {
+      return;
+    }
+    final Tab tab = tabs.remove(fromPosition);
+    tabs.add(toPosition, tab);
+    slidingTabIndicator.removeViewAt(fromPosition);
+    slidingTabIndicator.addView(tab.view, toPosition, createLayoutParamsForTabs());
+
+    for (int i = Math.min(fromPosition, toPosition), z = Math.max(fromPosition, toPosition);
+        i <= z;
+        i++) {
+      tabs.get(i).setPosition(i);
+    }
+  }
+
   /**
    * Set the behavior mode for the Tabs in this layout. The valid input options are:
    *
@@ -3326,7 +3366,7 @@ public class TabLayout extends HorizontalScrollView {
   }
 
   @NonNull
-  private static ColorStateList createColorStateList(int defaultColor, int selectedColor) {
+  static ColorStateList createColorStateList(int defaultColor, int selectedColor) {
     final int[][] states = new int[2][];
     final int[] colors = new int[2];
     int i = 0;
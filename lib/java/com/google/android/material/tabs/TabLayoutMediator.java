@@ -32,7 +32,8 @@ import java.lang.ref.WeakReference;
  * the user drags the ViewPager2. TabLayoutMediator will listen to ViewPager2's OnPageChangeCallback
  * to adjust tab when ViewPager2 moves. TabLayoutMediator listens to TabLayout's
  * OnTabSelectedListener to adjust VP2 when tab moves. TabLayoutMediator listens to RecyclerView's
- * AdapterDataObserver to recreate tab content when dataset changes.
+ * AdapterDataObserver to recreate tab content when dataset changes. Changes to a range of items
+ * only insert, remove, move or replace the affected tabs, keeping the selected tab.
  *
  * <p>Establish the link by creating an instance of this class, make sure the ViewPager2 has an
  * adapter and then call {@link #attach()} on it. Instantiating a TabLayoutMediator will only create
@@ -65,6 +66,9 @@ public final class TabLayoutMediator {
      * Called to configure the tab for the page at the specified position. Typically calls {@link
      * TabLayout.Tab#setText(CharSequence)}, but any form of styling can be applied.
      *
+     * <p>When the adapter notifies a change to the item at a position, this is called for a new tab
+     * which replaces the tab at that position.
+     *
      * @param tab The Tab which should be configured to represent the title of the item at the given
      *     position in the data set.
      * @param position The position of the item within the adapter's data set.
@@ -188,6 +192,56 @@ public final class TabLayoutMediator {
     }
   }
 
+  void insertTabs(int positionStart, int itemCount) {
+    for (int i = positionStart; i < positionStart + itemCount; i++) {
+      TabLayout.Tab tab = tabLayout.newTab();
+      tabConfigurationStrategy.onConfigureTab(tab, i);
+      tabLayout.addTab(tab, i, false);
+    }
+    updateSelectedTab();
+  }
+
+  void removeTabs(int positionStart, int itemCount) {
+    tabLayout.removeTabRange(positionStart, itemCount);
+    updateSelectedTab();
+  }
+
+  void moveTabs(int fromPosition, int toPosition, int itemCount) {
+    for (int i = 0; i < itemCount; i++) {
+      if (fromPosition > toPosition) {
+        tabLayout.moveTab(fromPosition + i, toPosition + i);
+      } else {
+        tabLayout.moveTab(fromPosition, toPosition + itemCount - 1);
+      }
+    }
+    updateSelectedTab();
+  }
+
+  void replaceTabs(int positionStart, int itemCount) {
+    // New tabs are configured for the changed items, so that no icon, custom view, tag or badge of
+    // the previous items is kept.
+    tabLayout.removeTabRange(positionStart, itemCount);
+    insertTabs(positionStart, itemCount);
+  }
+
+  /**
+   * Keeps the indicator on the selected tab after tabs were inserted, removed or moved, or selects
+   * the ViewPager2's current item if the selected tab was removed.
+   */
+  private void updateSelectedTab() {
+    int tabCount = tabLayout.getTabCount();
+    if (tabCount == 0) {
+      return;
+    }
+    int selectedPosition = tabLayout.getSelectedTabPosition();
+    if (selectedPosition == TabLayout.Tab.INVALID_POSITION) {
+      int currItem = Math.min(viewPager.getCurrentItem(), tabCount - 1);
+      tabLayout.selectTab(tabLayout.getTabAt(currItem));
+    } else {
+      tabLayout.setScrollPosition(selectedPosition, 0f, true);
+    }
+  }
+
   /**
    * A {@link ViewPager2.OnPageChangeCallback} class which contains the necessary calls back to the
    * provided {@link TabLayout} so that the tab position is kept in sync.
@@ -289,27 +343,27 @@ public final class TabLayoutMediator {
 
     @Override
     public void onItemRangeChanged(int positionStart, int itemCount) {
-      populateTabsFromPagerAdapter();
+      replaceTabs(positionStart, itemCount);
     }
 
     @Override
     public void onItemRangeChanged(int positionStart, int itemCount, @Nullable Object payload) {
-      populateTabsFromPagerAdapter();
+      replaceTabs(positionStart, itemCount);
     }
 
     @Override
     public void onItemRangeInserted(int positionStart, int itemCount) {
-      populateTabsFromPagerAdapter();
+      insertTabs(positionStart, itemCount);
     }
 
     @Override
     public void onItemRangeRemoved(int positionStart, int itemCount) {
-      populateTabsFromPagerAdapter();
+      removeTabs(positionStart, itemCount);
     }
 
     @Override
     public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
-      populateTabsFromPagerAdapter();
+      moveTabs(fromPosition, toPosition, itemCount);
     }
   }
 }
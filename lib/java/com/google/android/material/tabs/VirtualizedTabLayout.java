@@ -0,0 +1,660 @@
+/*
+ * Copyright (C) 2022 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.bottombar.navigation.material.tabs;
+
+import com.ssos.support.R;
+
+import static com.bottombar.navigation.material.animation.AnimationUtils.FAST_OUT_SLOW_IN_INTERPOLATOR;
+import static com.bottombar.navigation.material.animation.AnimationUtils.lerp;
+import static com.bottombar.navigation.material.theme.overlay.MaterialThemeOverlay.wrap;
+
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.ValueAnimator;
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.drawable.Drawable;
+import android.graphics.drawable.GradientDrawable;
+import android.text.TextUtils;
+import android.util.AttributeSet;
+import android.view.Gravity;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+import androidx.annotation.ColorInt;
+import androidx.annotation.Dimension;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.appcompat.content.res.AppCompatResources;
+import androidx.core.graphics.drawable.DrawableCompat;
+import androidx.core.view.ViewCompat;
+import androidx.core.view.accessibility.AccessibilityNodeInfoCompat;
+import androidx.core.view.accessibility.AccessibilityNodeInfoCompat.AccessibilityActionCompat;
+import androidx.core.view.accessibility.AccessibilityNodeInfoCompat.CollectionInfoCompat;
+import androidx.core.view.accessibility.AccessibilityNodeInfoCompat.CollectionItemInfoCompat;
+import androidx.core.widget.TextViewCompat;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import com.bottombar.navigation.material.internal.ThemeEnforcement;
+import com.bottombar.navigation.material.internal.ViewUtils;
+import com.bottombar.navigation.material.resources.MaterialResources;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A scrollable strip of text tabs which only creates views for the tabs on screen.
+ *
+ * <p>{@link TabLayout} keeps one {@code TabView} per tab and measures and lays out all of them,
+ * which gets slow for bars with hundreds of tabs. This layout is a {@link RecyclerView} instead:
+ * views are only bound for the visible tabs and are recycled as the strip scrolls. Each tab's
+ * width is cached the first time it is measured, and the selected tab indicator and scrolling to a
+ * tab are driven from the offsets of the cached widths. Tabs which weren't measured yet are
+ * estimated with the average measured width.
+ *
+ * <p>Tabs are text only. They are styled with the same {@code TabLayout} attributes as a
+ * scrollable {@link TabLayout}: the indicator drawable, color and height, the tab paddings, text
+ * appearance and colors, min and max width, and background. To follow a {@link
+ * androidx.viewpager2.widget.ViewPager2}, call {@link #setScrollPosition(int, float)} from {@code
+ * onPageScrolled} and {@link #selectTab(int)} from {@code onPageSelected}.
+ *
+ * @attr ref com.ssos.support.R.styleable#TabLayout_tabIndicator
+ * @attr ref com.ssos.support.R.styleable#TabLayout_tabIndicatorColor
+ * @attr ref com.ssos.support.R.styleable#TabLayout_tabIndicatorHeight
+ * @attr ref com.ssos.support.R.styleable#TabLayout_tabIndicatorAnimationDuration
+ * @attr ref com.ssos.support.R.styleable#TabLayout_tabMaxWidth
+ * @attr ref com.ssos.support.R.styleable#TabLayout_tabMinWidth
+ * @attr ref com.ssos.support.R.styleable#TabLayout_tabPadding
+ * @attr ref com.ssos.support.R.styleable#TabLayout_tabBackground
+ * @attr ref com.ssos.support.R.styleable#TabLayout_tabTextAppearance
+ * @attr ref com.ssos.support.R.styleable#TabLayout_tabTextColor
+ * @attr ref com.ssos.support.R.styleable#TabLayout_tabSelectedTextColor
+ */
+public class VirtualizedTabLayout extends RecyclerView {
+
+  private static final int DEF_STYLE_RES = R.style.Widget_Design_TabLayout;
+
+  @Dimension(unit = Dimension.DP)
+  private static final int DEFAULT_HEIGHT = 48;
+
+  private static final int ANIMATION_DURATION = 300;
+
+  /** Callback interface invoked when a tab's selection state changes. */
+  public interface OnTabSelectedListener {
+
+    /**
+     * Called when a tab enters the selected state.
+     *
+     * @param position The position of the selected tab
+     */
+    void onTabSelected(int position);
+
+    /**
+     * Called when a tab that is already selected is chosen again by the user.
+     *
+     * @param position The position of the reselected tab
+     */
+    void onTabReselected(int position);
+  }
+
+  private final List<CharSequence> tabTexts = new ArrayList<>();
+  private final ArrayList<OnTabSelectedListener> selectedListeners = new ArrayList<>();
+
+  // Measured width of each tab, 0 for tabs which haven't been measured yet.
+  private int[] tabWidths = new int[0];
+  private int measuredWidthSum;
+  private int measuredTabCount;
+
+  // Start offset of each tab in the strip, with the strip width at the end. Rebuilt lazily, tabs
+  // which haven't been measured yet count with the average measured width.
+  private int[] tabStarts = new int[1];
+  private boolean tabStartsValid;
+
+  private int selectedPosition = NO_POSITION;
+
+  // The indicator spans the tab at indicatorPosition, moved indicatorOffset toward the next tab.
+  private int indicatorPosition = NO_POSITION;
+  private float indicatorOffset;
+  @Nullable private ValueAnimator indicatorAnimator;
+  private int indicatorAnimationStartLeft;
+  private int indicatorAnimationStartRight;
+  private float indicatorAnimationFraction = 1f;
+
+  @NonNull private Drawable tabSelectedIndicator;
+  private final int tabIndicatorHeight;
+  private final int tabIndicatorAnimationDuration;
+
+  private final int tabPaddingStart;
+  private final int tabPaddingTop;
+  private final int tabPaddingEnd;
+  private final int tabPaddingBottom;
+  private final int tabTextAppearance;
+  @Nullable private final ColorStateList tabTextColors;
+  private final int tabMinWidth;
+  private final int tabMaxWidth;
+  private final int tabBackgroundResId;
+
+  public VirtualizedTabLayout(@NonNull Context context) {
+    this(context, null);
+  }
+
+  public VirtualizedTabLayout(@NonNull Context context, @Nullable AttributeSet attrs) {
+    this(context, attrs, R.attr.tabStyle);
+  }
+
+  public VirtualizedTabLayout(
+      @NonNull Context context, @Nullable AttributeSet attrs, int defStyleAttr) {
+    super(wrap(context, attrs, defStyleAttr, DEF_STYLE_RES), attrs, defStyleAttr);
+    // Ensure we are using the correctly themed context rather than the context that was passed in.
+    context = getContext();
+
+    TypedArray a =
+        ThemeEnforcement.obtainStyledAttributes(
+            context,
+            attrs,
+            R.styleable.TabLayout,
+            defStyleAttr,
+            DEF_STYLE_RES,
+            R.styleable.TabLayout_tabTextAppearance);
+
+    Drawable indicator =
+        MaterialResources.getDrawable(context, a, R.styleable.TabLayout_tabIndicator);
+    tabSelectedIndicator = indicator != null ? indicator : new GradientDrawable();
+    int indicatorColor = a.getColor(R.styleable.TabLayout_tabIndicatorColor, Color.TRANSPARENT);
+    if (indicatorColor != Color.TRANSPARENT) {
+      tabSelectedIndicator = DrawableCompat.wrap(tabSelectedIndicator.mutate());
+      DrawableCompat.setTint(tabSelectedIndicator, indicatorColor);
+    }
+    int indicatorHeight = a.getDimensionPixelSize(R.styleable.TabLayout_tabIndicatorHeight, -1);
+    tabIndicatorHeight =
+        indicatorHeight != -1 ? indicatorHeight : tabSelectedIndicator.getIntrinsicHeight();
+    tabIndicatorAnimationDuration =
+        a.getInt(R.styleable.TabLayout_tabIndicatorAnimationDuration, ANIMATION_DURATION);
+
+    int padding = a.getDimensionPixelSize(R.styleable.TabLayout_tabPadding, 0);
+    tabPaddingStart = a.getDimensionPixelSize(R.styleable.TabLayout_tabPaddingStart, padding);
+    tabPaddingTop = a.getDimensionPixelSize(R.styleable.TabLayout_tabPaddingTop, padding);
+    tabPaddingEnd = a.getDimensionPixelSize(R.styleable.TabLayout_tabPaddingEnd, padding);
+    tabPaddingBottom = a.getDimensionPixelSize(R.styleable.TabLayout_tabPaddingBottom, padding);
+
+    tabTextAppearance =
+        a.getResourceId(R.styleable.TabLayout_tabTextAppearance, R.style.TextAppearance_Design_Tab);
+    ColorStateList textColors;
+    if (a.hasValue(R.styleable.TabLayout_tabTextColor)) {
+      textColors =
+          MaterialResources.getColorStateList(context, a, R.styleable.TabLayout_tabTextColor);
+    } else {
+      final TypedArray ta =
+          context.obtainStyledAttributes(
+              tabTextAppearance, androidx.appcompat.R.styleable.TextAppearance);
+      try {
+        textColors =
+            MaterialResources.getColorStateList(
+                context, ta, androidx.appcompat.R.styleable.TextAppearance_android_textColor);
+      } finally {
+        ta.recycle();
+      }
+    }
+    if (textColors != null && a.hasValue(R.styleable.TabLayout_tabSelectedTextColor)) {
+      final int selected = a.getColor(R.styleable.TabLayout_tabSelectedTextColor, 0);
+      textColors = TabLayout.createColorStateList(textColors.getDefaultColor(), selected);
+    }
+    tabTextColors = textColors;
+
+    int minWidth = a.getDimensionPixelSize(R.styleable.TabLayout_tabMinWidth, -1);
+    tabMinWidth =
+        minWidth != -1
+            ? minWidth
+            : getResources().getDimensionPixelSize(R.dimen.design_tab_scrollable_min_width);
+    int maxWidth = a.getDimensionPixelSize(R.styleable.TabLayout_tabMaxWidth, -1);
+    tabMaxWidth =
+        maxWidth > 0
+            ? maxWidth
+            : getResources().getDimensionPixelSize(R.dimen.design_tab_max_width);
+    tabBackgroundResId = a.getResourceId(R.styleable.TabLayout_tabBackground, 0);
+    a.recycle();
+
+    setMinimumHeight((int) ViewUtils.dpToPx(context, DEFAULT_HEIGHT));
+    setHorizontalScrollBarEnabled(false);
+    setItemAnimator(null);
+    setLayoutManager(new TabLayoutManager(context));
+    setAdapter(new TabAdapter());
+    addItemDecoration(new IndicatorDecoration());
+  }
+
+  /**
+   * Replaces the tabs of this layout. The first tab is selected if there are any tabs.
+   *
+   * @param texts The texts of the new tabs
+   */
+  public void setTabs(@NonNull List<? extends CharSequence> texts) {
+    cancelIndicatorAnimation();
+    tabTexts.clear();
+    tabTexts.addAll(texts);
+    tabWidths = new int[tabTexts.size()];
+    tabStarts = new int[tabTexts.size() + 1];
+    measuredWidthSum = 0;
+    measuredTabCount = 0;
+    tabStartsValid = false;
+    selectedPosition = NO_POSITION;
+    indicatorPosition = NO_POSITION;
+    indicatorOffset = 0f;
+    getAdapter().notifyDataSetChanged();
+    if (!tabTexts.isEmpty()) {
+      selectTab(0);
+    }
+  }
+
+  /** Returns the number of tabs currently registered with this layout. */
+  public int getTabCount() {
+    return tabTexts.size();
+  }
+
+  /** Returns the text of the tab at the given position. */
+  @NonNull
+  public CharSequence getTabText(int position) {
+    return tabTexts.get(position);
+  }
+
+  /**
+   * Returns the position of the current selected tab.
+   *
+   * @return selected tab position, or {@code -1} if there isn't a selected tab.
+   */
+  public int getSelectedTabPosition() {
+    return selectedPosition;
+  }
+
+  /**
+   * Add a {@link OnTabSelectedListener} that will be invoked when tab selection changes.
+   *
+   * @param listener listener to add
+   */
+  public void addOnTabSelectedListener(@NonNull OnTabSelectedListener listener) {
+    if (!selectedListeners.contains(listener)) {
+      selectedListeners.add(listener);
+    }
+  }
+
+  /**
+   * Remove the given {@link OnTabSelectedListener} that was previously added via {@link
+   * #addOnTabSelectedListener(OnTabSelectedListener)}.
+   *
+   * @param listener listener to remove
+   */
+  public void removeOnTabSelectedListener(@NonNull OnTabSelectedListener listener) {
+    selectedListeners.remove(listener);
+  }
+
+  /**
+   * Sets the tab indicator's color.
+   *
+   * @param color color to use for the indicator
+   */
+  public void setSelectedTabIndicatorColor(@ColorInt int color) {
+    tabSelectedIndicator = DrawableCompat.wrap(tabSelectedIndicator.mutate());
+    DrawableCompat.setTint(tabSelectedIndicator, color);
+    invalidate();
+  }
+
+  /**
+   * Selects the tab at the given position, animating the indicator to it and scrolling it to the
+   * center of the strip. If the tab is already selected, the listeners are told it was reselected.
+   *
+   * @param position The position of the tab to select
+   */
+  public void selectTab(int position) {
+    if (position < 0 || position >= tabTexts.size()) {
+      throw new IllegalArgumentException("Tab position " + position + " is out of range");
+    }
+    if (position == selectedPosition) {
+      for (int i = selectedListeners.size() - 1; i >= 0; i--) {
+        selectedListeners.get(i).onTabReselected(position);
+      }
+      return;
+    }
+    selectedPosition = position;
+    updateSelectedViews();
+
+    View tabView = getLayoutManager().findViewByPosition(position);
+    if (tabView != null && ViewCompat.isLaidOut(this) && indicatorPosition != NO_POSITION) {
+      animateIndicatorToPosition(position);
+      smoothScrollBy(getScreenCenter(tabView) - getStripCenter(), 0);
+    } else {
+      // The tab is far away, jump to it instead of scrolling through all the tabs in between.
+      setIndicatorPosition(position, 0f);
+      scrollToCenteredPosition(position);
+    }
+
+    for (int i = selectedListeners.size() - 1; i >= 0; i--) {
+      selectedListeners.get(i).onTabSelected(position);
+    }
+  }
+
+  /**
+   * Sets the visual scroll position of the indicator and the strip, without changing the selected
+   * tab. This is meant to be called from a pager's {@code onPageScrolled}.
+   *
+   * @param position Position of the tab scrolled from
+   * @param positionOffset Value from [0, 1) indicating the offset from {@code position}
+   */
+  public void setScrollPosition(int position, float positionOffset) {
+    if (position < 0 || position >= tabTexts.size()) {
+      return;
+    }
+    cancelIndicatorAnimation();
+    setIndicatorPosition(position, positionOffset);
+
+    View tabView = getLayoutManager().findViewByPosition(position);
+    if (tabView == null || isComputingLayout()) {
+      scrollToCenteredPosition(position);
+      return;
+    }
+    int left = getIndicatorLeft();
+    int right = getIndicatorRight();
+    int center = (toScreenX(tabView, position, left) + toScreenX(tabView, position, right)) / 2;
+    scrollBy(center - getStripCenter(), 0);
+  }
+
+  /** Returns the width of the tab at the given position, or {@code 0} if it wasn't measured yet. */
+  int getCachedTabWidth(int position) {
+    return tabWidths[position];
+  }
+
+  private void setIndicatorPosition(int position, float positionOffset) {
+    indicatorPosition = position;
+    indicatorOffset = positionOffset;
+    invalidate();
+  }
+
+  private void animateIndicatorToPosition(int position) {
+    int startLeft = getIndicatorLeft();
+    int startRight = getIndicatorRight();
+    cancelIndicatorAnimation();
+    indicatorAnimationStartLeft = startLeft;
+    indicatorAnimationStartRight = startRight;
+    setIndicatorPosition(position, 0f);
+
+    indicatorAnimationFraction = 0f;
+    ValueAnimator animator = ValueAnimator.ofFloat(0f, 1f);
+    animator.setInterpolator(FAST_OUT_SLOW_IN_INTERPOLATOR);
+    animator.setDuration(tabIndicatorAnimationDuration);
+    animator.addUpdateListener(
+        valueAnimator -> {
+          indicatorAnimationFraction = valueAnimator.getAnimatedFraction();
+          invalidate();
+        });
+    animator.addListener(
+        new AnimatorListenerAdapter() {
+          @Override
+          public void onAnimationEnd(Animator animation) {
+            indicatorAnimationFraction = 1f;
+            invalidate();
+          }
+        });
+    indicatorAnimator = animator;
+    animator.start();
+  }
+
+  private void cancelIndicatorAnimation() {
+    if (indicatorAnimator != null) {
+      indicatorAnimator.cancel();
+      indicatorAnimator = null;
+    }
+    indicatorAnimationFraction = 1f;
+  }
+
+  private void scrollToCenteredPosition(int position) {
+    int width = getWidth() - getPaddingLeft() - getPaddingRight();
+    int offset = width > 0 ? (width - getTabWidth(position)) / 2 : 0;
+    ((LinearLayoutManager) getLayoutManager()).scrollToPositionWithOffset(position, offset);
+  }
+
+  private void updateSelectedViews() {
+    for (int i = 0; i < getChildCount(); i++) {
+      View child = getChildAt(i);
+      child.setSelected(getChildAdapterPosition(child) == selectedPosition);
+    }
+  }
+
+  private void cacheTabWidth(int position, int width) {
+    if (position < tabWidths.length && tabWidths[position] == 0 && width > 0) {
+      tabWidths[position] = width;
+      measuredWidthSum += width;
+      measuredTabCount++;
+      tabStartsValid = false;
+    }
+  }
+
+  private int getTabWidth(int position) {
+    int width = tabWidths[position];
+    if (width != 0) {
+      return width;
+    }
+    return measuredTabCount > 0 ? measuredWidthSum / measuredTabCount : tabMinWidth;
+  }
+
+  private int getTabStart(int position) {
+    if (!tabStartsValid) {
+      int start = 0;
+      for (int i = 0; i < tabWidths.length; i++) {
+        tabStarts[i] = start;
+        start += getTabWidth(i);
+      }
+      tabStarts[tabWidths.length] = start;
+      tabStartsValid = true;
+    }
+    return tabStarts[position];
+  }
+
+  private int getIndicatorLeft() {
+    if (indicatorPosition == NO_POSITION) {
+      return 0;
+    }
+    int left = getTabStart(indicatorPosition);
+    if (indicatorOffset > 0f && indicatorPosition < tabTexts.size() - 1) {
+      left = lerp(left, getTabStart(indicatorPosition + 1), indicatorOffset);
+    }
+    if (indicatorAnimationFraction < 1f) {
+      left = lerp(indicatorAnimationStartLeft, left, indicatorAnimationFraction);
+    }
+    return left;
+  }
+
+  private int getIndicatorRight() {
+    if (indicatorPosition == NO_POSITION) {
+      return 0;
+    }
+    int right = getTabStart(indicatorPosition) + getTabWidth(indicatorPosition);
+    if (indicatorOffset > 0f && indicatorPosition < tabTexts.size() - 1) {
+      int nextRight = getTabStart(indicatorPosition + 1) + getTabWidth(indicatorPosition + 1);
+      right = lerp(right, nextRight, indicatorOffset);
+    }
+    if (indicatorAnimationFraction < 1f) {
+      right = lerp(indicatorAnimationStartRight, right, indicatorAnimationFraction);
+    }
+    return right;
+  }
+
+  /**
+   * Converts an offset in the strip to an x coordinate in this view, using an attached tab view
+   * and its position as the anchor.
+   */
+  private int toScreenX(@NonNull View anchor, int anchorPosition, int stripX) {
+    int distance = stripX - getTabStart(anchorPosition);
+    return ViewUtils.isLayoutRtl(this) ? anchor.getRight() - distance : anchor.getLeft() + distance;
+  }
+
+  private int getScreenCenter(@NonNull View view) {
+    return (view.getLeft() + view.getRight()) / 2;
+  }
+
+  private int getStripCenter() {
+    return (getPaddingLeft() + getWidth() - getPaddingRight()) / 2;
+  }
+
+  /** Draws the selected tab indicator over the tabs. */
+  private class IndicatorDecoration extends ItemDecoration {
+
+    @Override
+    public void onDrawOver(
+        @NonNull Canvas canvas, @NonNull RecyclerView parent, @NonNull State state) {
+      if (indicatorPosition == NO_POSITION || getChildCount() == 0) {
+        return;
+      }
+      View anchor = getChildAt(0);
+      int anchorPosition = getChildAdapterPosition(anchor);
+      if (anchorPosition == NO_POSITION) {
+        return;
+      }
+      int start = toScreenX(anchor, anchorPosition, getIndicatorLeft());
+      int end = toScreenX(anchor, anchorPosition, getIndicatorRight());
+      int left = Math.min(start, end);
+      int right = Math.max(start, end);
+      if (right <= left || right < 0 || left > getWidth()) {
+        return;
+      }
+      tabSelectedIndicator.setBounds(left, getHeight() - tabIndicatorHeight, right, getHeight());
+      tabSelectedIndicator.draw(canvas);
+    }
+  }
+
+  /** Lays the tabs out horizontally and describes them as a single selection collection. */
+  private class TabLayoutManager extends LinearLayoutManager {
+
+    TabLayoutManager(@NonNull Context context) {
+      super(context, HORIZONTAL, false);
+    }
+
+    @Override
+    public void onInitializeAccessibilityNodeInfo(
+        @NonNull Recycler recycler,
+        @NonNull State state,
+        @NonNull AccessibilityNodeInfoCompat info) {
+      super.onInitializeAccessibilityNodeInfo(recycler, state, info);
+      info.setCollectionInfo(
+          CollectionInfoCompat.obtain(
+              /* rowCount= */ 1,
+              /* columnCount= */ getTabCount(),
+              /* hierarchical= */ false,
+              /* selectionMode = */ CollectionInfoCompat.SELECTION_MODE_SINGLE));
+    }
+
+    @Override
+    public void onInitializeAccessibilityNodeInfoForItem(
+        @NonNull Recycler recycler,
+        @NonNull State state,
+        @NonNull View host,
+        @NonNull AccessibilityNodeInfoCompat info) {
+      int position = getPosition(host);
+      boolean selected = position == selectedPosition;
+      info.setCollectionItemInfo(
+          CollectionItemInfoCompat.obtain(
+              /* rowIndex= */ 0,
+              /* rowSpan= */ 1,
+              /* columnIndex= */ position,
+              /* columnSpan= */ 1,
+              /* heading= */ false,
+              /* selected= */ selected));
+      if (selected) {
+        info.setClickable(false);
+        info.removeAction(AccessibilityActionCompat.ACTION_CLICK);
+      }
+      info.setRoleDescription(getResources().getString(R.string.item_view_role_description));
+    }
+  }
+
+  /** Binds the tab texts to recycled tab views, using the cached width of measured tabs. */
+  private class TabAdapter extends Adapter<TabViewHolder> {
+
+    @NonNull
+    @Override
+    public TabViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+      TabTextView view = new TabTextView(getContext());
+      TextViewCompat.setTextAppearance(view, tabTextAppearance);
+      if (tabTextColors != null) {
+        view.setTextColor(tabTextColors);
+      }
+      view.setGravity(Gravity.CENTER);
+      view.setMaxLines(2);
+      view.setEllipsize(TextUtils.TruncateAt.END);
+      ViewCompat.setPaddingRelative(
+          view, tabPaddingStart, tabPaddingTop, tabPaddingEnd, tabPaddingBottom);
+      view.setMinWidth(tabMinWidth);
+      view.setMaxWidth(tabMaxWidth);
+      if (tabBackgroundResId != 0) {
+        ViewCompat.setBackground(
+            view, AppCompatResources.getDrawable(getContext(), tabBackgroundResId));
+      }
+      view.setFocusable(true);
+      TabViewHolder holder = new TabViewHolder(view);
+      view.setOnClickListener(
+          v -> {
+            int position = holder.getAdapterPosition();
+            if (position != NO_POSITION) {
+              selectTab(position);
+            }
+          });
+      return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull TabViewHolder holder, int position) {
+      TabTextView view = (TabTextView) holder.itemView;
+      view.position = position;
+      view.setText(tabTexts.get(position));
+      view.setSelected(position == selectedPosition);
+      int cachedWidth = tabWidths[position];
+      view.setLayoutParams(
+          new LayoutParams(
+              cachedWidth != 0 ? cachedWidth : ViewGroup.LayoutParams.WRAP_CONTENT,
+              ViewGroup.LayoutParams.MATCH_PARENT));
+    }
+
+    @Override
+    public int getItemCount() {
+      return tabTexts.size();
+    }
+  }
+
+  private static class TabViewHolder extends ViewHolder {
+
+    TabViewHolder(@NonNull View itemView) {
+      super(itemView);
+    }
+  }
+
+  /** A tab's text view, which stores its width in the width cache the first time it's measured. */
+  private class TabTextView extends TextView {
+
+    int position = NO_POSITION;
+
+    TabTextView(@NonNull Context context) {
+      super(context);
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+      super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+      if (position != NO_POSITION) {
+        cacheTabWidth(position, getMeasuredWidth());
+      }
+    }
+  }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2022 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.appbar;
+
+import com.google.android.material.test.R;
+
+import static android.os.Looper.getMainLooper;
+import static com.google.common.truth.Truth.assertThat;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.view.View;
+import android.view.View.MeasureSpec;
+import android.view.ViewGroup;
+import androidx.appcompat.app.AppCompatActivity;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+/** Tests for the offset listeners and child index of {@link AppBarLayout}. */
+@RunWith(RobolectricTestRunner.class)
+public class AppBarLayoutTest {
+
+  private static final int CHILD_COUNT = 12;
+  private static final int CHILD_HEIGHT = 50;
+
+  private final List<Integer> offsets = new ArrayList<>();
+  private final AppBarLayout.OnOffsetChangedListener listener =
+      (appBarLayout, verticalOffset) -> offsets.add(verticalOffset);
+
+  private AppBarLayout appBarLayout;
+
+  @Before
+  public void createAppBarLayout() {
+    AppCompatActivity activity = Robolectric.buildActivity(AppCompatActivity.class).setup().get();
+    activity.setTheme(R.style.Theme_MaterialComponents_Light_NoActionBar_Bridge);
+    appBarLayout = new AppBarLayout(activity);
+    activity.setContentView(appBarLayout);
+  }
+
+  @Test
+  public void offsetChanges_callListenerForEachChange() {
+    appBarLayout.addOnOffsetChangedListener(listener);
+
+    appBarLayout.onOffsetChanged(-10);
+    appBarLayout.onOffsetChanged(-20);
+
+    assertThat(offsets).containsExactly(-10, -20).inOrder();
+  }
+
+  @Test
+  public void watchedOffsetRange_callsListenerOnlyWhenRangeIsCrossed() {
+    appBarLayout.addOnOffsetChangedListener(listener, -50, -100);
+
+    appBarLayout.onOffsetChanged(0);
+    appBarLayout.onOffsetChanged(-10);
+    appBarLayout.onOffsetChanged(-40);
+    appBarLayout.onOffsetChanged(-60);
+    appBarLayout.onOffsetChanged(-200);
+    appBarLayout.onOffsetChanged(-300);
+    appBarLayout.onOffsetChanged(0);
+
+    assertThat(offsets).containsExactly(0, -60, -200, 0).inOrder();
+  }
+
+  @Test
+  public void coalescedOffsetChanges_callListenerOncePerFrame() {
+    appBarLayout.setCoalesceOffsetUpdates(true);
+    appBarLayout.addOnOffsetChangedListener(listener);
+
+    appBarLayout.onOffsetChanged(-10);
+    appBarLayout.onOffsetChanged(-20);
+    appBarLayout.onOffsetChanged(-30);
+    assertThat(offsets).isEmpty();
+
+    shadowOf(getMainLooper()).idleFor(100, TimeUnit.MILLISECONDS);
+    assertThat(offsets).containsExactly(-30);
+  }
+
+  @Test
+  public void timingListener_isCalledForEachListener() {
+    List<AppBarLayout.BaseOnOffsetChangedListener> timedListeners = new ArrayList<>();
+    appBarLayout.setOnOffsetChangedTimingListener(
+        (offsetListener, verticalOffset, durationNanos) -> timedListeners.add(offsetListener));
+    appBarLayout.addOnOffsetChangedListener(listener);
+
+    appBarLayout.onOffsetChanged(-10);
+
+    assertThat(timedListeners).containsExactly(listener);
+  }
+
+  @Test
+  public void findChildIndexAt_findsChildContainingOffset() {
+    AppBarLayout.LayoutParams lp =
+        new AppBarLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, CHILD_HEIGHT);
+    for (int i = 0; i < CHILD_COUNT; i++) {
+      View child = new View(appBarLayout.getContext());
+      child.setMinimumHeight(i);
+      appBarLayout.addView(child, new AppBarLayout.LayoutParams(lp));
+    }
+    appBarLayout.getChildAt(3).setVisibility(View.GONE);
+    appBarLayout.measure(
+        MeasureSpec.makeMeasureSpec(100, MeasureSpec.EXACTLY),
+        MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
+    appBarLayout.layout(0, 0, 100, appBarLayout.getMeasuredHeight());
+
+    assertThat(appBarLayout.findChildIndexAt(0)).isEqualTo(0);
+    assertThat(appBarLayout.findChildIndexAt(CHILD_HEIGHT - 1)).isEqualTo(0);
+    // Children share their edges, in which case the first one is found.
+    assertThat(appBarLayout.findChildIndexAt(CHILD_HEIGHT)).isEqualTo(0);
+    assertThat(appBarLayout.findChildIndexAt(CHILD_HEIGHT + 1)).isEqualTo(1);
+    // The third visible child is the child after the gone one.
+    assertThat(appBarLayout.findChildIndexAt(CHILD_HEIGHT * 3 + 1)).isEqualTo(4);
+    assertThat(appBarLayout.findChildIndexAt(CHILD_HEIGHT * (CHILD_COUNT - 1) - 1))
+        .isEqualTo(CHILD_COUNT - 1);
+    assertThat(appBarLayout.findChildIndexAt(CHILD_HEIGHT * CHILD_COUNT)).isEqualTo(-1);
+    assertThat(appBarLayout.getChildMinimumHeight(5)).isEqualTo(5);
+  }
+
+  @Test
+  public void findSnapChildIndexAt_includesMarginsOfSnapMarginsChildren() {
+    int margin = 10;
+    for (int i = 0; i < 3; i++) {
+      AppBarLayout.LayoutParams lp =
+          new AppBarLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, CHILD_HEIGHT);
+      lp.setMargins(0, margin, 0, margin);
+      appBarLayout.addView(new View(appBarLayout.getContext()), lp);
+    }
+    ((AppBarLayout.LayoutParams) appBarLayout.getChildAt(1).getLayoutParams())
+        .setScrollFlags(
+            AppBarLayout.LayoutParams.SCROLL_FLAG_SCROLL
+                | AppBarLayout.LayoutParams.SCROLL_FLAG_SNAP
+                | AppBarLayout.LayoutParams.SCROLL_FLAG_SNAP_MARGINS);
+    appBarLayout.measure(
+        MeasureSpec.makeMeasureSpec(100, MeasureSpec.EXACTLY),
+        MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
+    appBarLayout.layout(0, 0, 100, appBarLayout.getMeasuredHeight());
+    // The second child's top, in the gap between the first and second children.
+    int secondChildTop = appBarLayout.getChildAt(1).getTop();
+
+    assertThat(appBarLayout.findChildIndexAt(secondChildTop - margin)).isEqualTo(-1);
+    assertThat(appBarLayout.findSnapChildIndexAt(secondChildTop - margin)).isEqualTo(1);
+    assertThat(appBarLayout.findSnapChildIndexAt(secondChildTop - margin - 1)).isEqualTo(-1);
+    assertThat(appBarLayout.findSnapChildIndexAt(0)).isEqualTo(-1);
+    assertThat(appBarLayout.findSnapChildIndexAt(margin)).isEqualTo(0);
+  }
+
+  @Test
+  public void findChildIndexAt_afterRemovingChild_usesCurrentChildren() {
+    AppBarLayout.LayoutParams lp =
+        new AppBarLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, CHILD_HEIGHT);
+    for (int i = 0; i < CHILD_COUNT; i++) {
+      appBarLayout.addView(new View(appBarLayout.getContext()), new AppBarLayout.LayoutParams(lp));
+    }
+    appBarLayout.measure(
+        MeasureSpec.makeMeasureSpec(100, MeasureSpec.EXACTLY),
+        MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
+    appBarLayout.layout(0, 0, 100, appBarLayout.getMeasuredHeight());
+
+    // Remove the last children without a layout pass.
+    appBarLayout.removeViews(CHILD_COUNT / 2, CHILD_COUNT - CHILD_COUNT / 2);
+
+    assertThat(appBarLayout.findChildIndexAt(CHILD_HEIGHT + 1)).isEqualTo(1);
+    assertThat(appBarLayout.findChildIndexAt(CHILD_HEIGHT * (CHILD_COUNT - 1) - 1)).isEqualTo(-1);
+  }
+}
@@ -17,12 +17,23 @@ package com.google.android.material.bottomsheet;
 
 import com.google.android.material.test.R;
 
+import static android.os.Looper.getMainLooper;
 import static com.google.common.truth.Truth.assertThat;
+import static org.robolectric.Shadows.shadowOf;
 
 import android.os.Bundle;
 import androidx.appcompat.app.AppCompatActivity;
 import android.util.AttributeSet;
 import android.view.View;
+import android.view.View.MeasureSpec;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import androidx.annotation.NonNull;
+import androidx.coordinatorlayout.widget.CoordinatorLayout;
+import androidx.core.view.ViewCompat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -66,6 +77,151 @@ public class BottomSheetBehaviorTest {
     assertThat(behavior.getExpandedOffset()).isEqualTo(220);
   }
 
+  @Test
+  public void performanceMode_usesHardwareLayerWhileMoving() {
+    BottomSheetBehavior<View> behavior = createLaidOutBottomSheet();
+    View bottomSheet = behavior.viewRef.get();
+    behavior.setPerformanceModeEnabled(true);
+
+    behavior.setStateInternal(BottomSheetBehavior.STATE_DRAGGING);
+    assertThat(bottomSheet.getLayerType()).isEqualTo(View.LAYER_TYPE_HARDWARE);
+    behavior.setStateInternal(BottomSheetBehavior.STATE_SETTLING);
+    assertThat(bottomSheet.getLayerType()).isEqualTo(View.LAYER_TYPE_HARDWARE);
+
+    behavior.setStateInternal(BottomSheetBehavior.STATE_EXPANDED);
+    assertThat(bottomSheet.getLayerType()).isEqualTo(View.LAYER_TYPE_NONE);
+  }
+
+  @Test
+  public void performanceMode_dispatchesSlideOncePerFrame() {
+    BottomSheetBehavior<View> behavior = createLaidOutBottomSheet();
+    List<Float> slideOffsets = new ArrayList<>();
+    behavior.addBottomSheetCallback(
+        new BottomSheetBehavior.BottomSheetCallback() {
+          @Override
+          public void onStateChanged(@NonNull View bottomSheet, int newState) {}
+
+          @Override
+          public void onSlide(@NonNull View bottomSheet, float slideOffset) {
+            slideOffsets.add(slideOffset);
+          }
+        });
+    behavior.setPerformanceModeEnabled(true);
+
+    behavior.dispatchOnSlide(100);
+    behavior.dispatchOnSlide(200);
+    behavior.dispatchOnSlide(300);
+    assertThat(slideOffsets).isEmpty();
+
+    shadowOf(getMainLooper()).idleFor(100, TimeUnit.MILLISECONDS);
+    assertThat(slideOffsets).hasSize(1);
+
+    // The dispatched offset is the one of the latest slide.
+    behavior.setPerformanceModeEnabled(false);
+    behavior.dispatchOnSlide(300);
+    behavior.dispatchOnSlide(100);
+    assertThat(slideOffsets).hasSize(3);
+    assertThat(slideOffsets.get(0)).isEqualTo(slideOffsets.get(1));
+    assertThat(slideOffsets.get(0)).isNotEqualTo(slideOffsets.get(2));
+  }
+
+  @Test
+  public void performanceMode_restoresLayerTypeWhenDetachedWhileMoving() {
+    BottomSheetBehavior<View> behavior = createLaidOutBottomSheet();
+    View bottomSheet = behavior.viewRef.get();
+    behavior.setPerformanceModeEnabled(true);
+    behavior.setStateInternal(BottomSheetBehavior.STATE_DRAGGING);
+
+    ((CoordinatorLayout.LayoutParams) bottomSheet.getLayoutParams()).setBehavior(null);
+
+    assertThat(bottomSheet.getLayerType()).isEqualTo(View.LAYER_TYPE_NONE);
+  }
+
+  @Test
+  public void layout_findsScrollingChildShownBeforeCurrentOne() {
+    FrameLayout bottomSheet = new FrameLayout(activity);
+    View firstScrollingChild = createScrollingChild();
+    View secondScrollingChild = createScrollingChild();
+    firstScrollingChild.setVisibility(View.GONE);
+    bottomSheet.addView(firstScrollingChild);
+    bottomSheet.addView(secondScrollingChild);
+    BottomSheetBehavior<View> behavior = createLaidOutBottomSheet(bottomSheet);
+    assertThat(behavior.nestedScrollingChildRef.get()).isSameInstanceAs(secondScrollingChild);
+
+    firstScrollingChild.setVisibility(View.VISIBLE);
+    relayout(bottomSheet);
+
+    assertThat(behavior.nestedScrollingChildRef.get()).isSameInstanceAs(firstScrollingChild);
+  }
+
+  @Test
+  public void layout_findsScrollingChildAddedBeforeCurrentOne() {
+    FrameLayout bottomSheet = new FrameLayout(activity);
+    View scrollingChild = createScrollingChild();
+    bottomSheet.addView(scrollingChild);
+    BottomSheetBehavior<View> behavior = createLaidOutBottomSheet(bottomSheet);
+    assertThat(behavior.nestedScrollingChildRef.get()).isSameInstanceAs(scrollingChild);
+
+    View addedScrollingChild = createScrollingChild();
+    bottomSheet.addView(addedScrollingChild, 0);
+    relayout(bottomSheet);
+
+    assertThat(behavior.nestedScrollingChildRef.get()).isSameInstanceAs(addedScrollingChild);
+  }
+
+  @Test
+  public void setNestedScrollingChild_overridesLookup() {
+    FrameLayout bottomSheet = new FrameLayout(activity);
+    View firstScrollingChild = createScrollingChild();
+    View secondScrollingChild = createScrollingChild();
+    bottomSheet.addView(firstScrollingChild);
+    bottomSheet.addView(secondScrollingChild);
+    BottomSheetBehavior<View> behavior = createLaidOutBottomSheet(bottomSheet);
+    int lookupCount = behavior.getScrollingChildLookupCount();
+
+    behavior.setNestedScrollingChild(secondScrollingChild);
+    relayout(bottomSheet);
+    assertThat(behavior.nestedScrollingChildRef.get()).isSameInstanceAs(secondScrollingChild);
+    assertThat(behavior.getScrollingChildLookupCount()).isEqualTo(lookupCount);
+
+    behavior.setNestedScrollingChild(null);
+    relayout(bottomSheet);
+    assertThat(behavior.nestedScrollingChildRef.get()).isSameInstanceAs(firstScrollingChild);
+    assertThat(behavior.getScrollingChildLookupCount()).isGreaterThan(lookupCount);
+  }
+
+  private BottomSheetBehavior<View> createLaidOutBottomSheet() {
+    return createLaidOutBottomSheet(new View(activity));
+  }
+
+  private BottomSheetBehavior<View> createLaidOutBottomSheet(View bottomSheet) {
+    CoordinatorLayout coordinatorLayout = new CoordinatorLayout(activity);
+    activity.setContentView(coordinatorLayout);
+    BottomSheetBehavior<View> behavior = new BottomSheetBehavior<>();
+    CoordinatorLayout.LayoutParams lp =
+        new CoordinatorLayout.LayoutParams(
+            ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT);
+    lp.setBehavior(behavior);
+    coordinatorLayout.addView(bottomSheet, lp);
+    relayout(bottomSheet);
+    return behavior;
+  }
+
+  private View createScrollingChild() {
+    View scrollingChild = new View(activity);
+    ViewCompat.setNestedScrollingEnabled(scrollingChild, true);
+    return scrollingChild;
+  }
+
+  private static void relayout(View bottomSheet) {
+    View coordinatorLayout = (View) bottomSheet.getParent();
+    coordinatorLayout.requestLayout();
+    coordinatorLayout.measure(
+        MeasureSpec.makeMeasureSpec(400, MeasureSpec.EXACTLY),
+        MeasureSpec.makeMeasureSpec(800, MeasureSpec.EXACTLY));
+    coordinatorLayout.layout(0, 0, 400, 800);
+  }
+
   private static class TestActivity extends AppCompatActivity {
     @Override
     protected void onCreate(Bundle bundle) {
@@ -100,4 +100,37 @@ public final class BlendTest {
     int answer = Blend.harmonize(YELLOW, RED);
     assertThat(answer).isEqualTo(0xffFFF6DC);
   }
+
+  @Test
+  public void harmonize_batch_matchesSingleColor() {
+    int[] designColors = {RED, GREEN, BLUE, YELLOW};
+    int[] answers = new int[designColors.length];
+
+    Blend.harmonize(designColors, BLUE, answers);
+
+    for (int i = 0; i < designColors.length; i++) {
+      assertThat(answers[i]).isEqualTo(Blend.harmonize(designColors[i], BLUE));
+    }
+  }
+
+  @Test
+  public void harmonize_batchInPlace_matchesSingleColor() {
+    int[] designColors = {RED, GREEN, BLUE, YELLOW};
+
+    Blend.harmonize(designColors, RED, designColors);
+
+    assertThat(designColors)
+        .asList()
+        .containsExactly(
+            Blend.harmonize(RED, RED),
+            Blend.harmonize(GREEN, RED),
+            Blend.harmonize(BLUE, RED),
+            Blend.harmonize(YELLOW, RED))
+        .inOrder();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void harmonize_batchWithShortOutput_throws() {
+    Blend.harmonize(new int[] {RED, GREEN}, BLUE, new int[1]);
+  }
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2022 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.android.material.color;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import android.content.Context;
+import androidx.test.core.app.ApplicationProvider;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.internal.DoNotInstrument;
+
+/** Tests for {@link ColorResourcesTableCreator}. */
+@RunWith(RobolectricTestRunner.class)
+@DoNotInstrument
+public final class ColorResourcesTableCreatorTest {
+
+  private static final int RED = 0xffff0000;
+  private static final int BLUE = 0xff0000ff;
+
+  private final Context context = ApplicationProvider.getApplicationContext();
+
+  @Test
+  public void create_writesTableHeaderWithTableSize() {
+    byte[] table = ColorResourcesTableCreator.create(context, createColorMapping(RED));
+    ByteBuffer buffer = ByteBuffer.wrap(table).order(ByteOrder.LITTLE_ENDIAN);
+
+    assertThat(buffer.getShort()).isEqualTo((short) 0x0002); // RES_TABLE_TYPE
+    assertThat(buffer.getShort()).isEqualTo((short) 0x000C); // Header size
+    assertThat(buffer.getInt()).isEqualTo(table.length);
+    assertThat(buffer.getInt()).isEqualTo(1); // Package count
+  }
+
+  @Test
+  public void create_sameColorMapping_returnsCachedTable() {
+    byte[] table = ColorResourcesTableCreator.create(context, createColorMapping(RED));
+
+    assertThat(ColorResourcesTableCreator.create(context, createColorMapping(RED)))
+        .isSameInstanceAs(table);
+  }
+
+  @Test
+  public void create_differentColorMapping_returnsDifferentTable() {
+    byte[] table = ColorResourcesTableCreator.create(context, createColorMapping(RED));
+
+    assertThat(ColorResourcesTableCreator.create(context, createColorMapping(BLUE)))
+        .isNotEqualTo(table);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void create_emptyColorMapping_throws() {
+    ColorResourcesTableCreator.create(context, new HashMap<Integer, Integer>());
+  }
+
+  private static Map<Integer, Integer> createColorMapping(int color) {
+    Map<Integer, Integer> colorMapping = new HashMap<>();
+    colorMapping.put(android.R.color.white, color);
+    colorMapping.put(android.R.color.black, color);
+    return colorMapping;
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2022 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.android.material.color;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class HctSolverTest {
+
+  @Test
+  public void solve_grayscale_matchesLstar() {
+    for (int tone = 0; tone <= 100; tone += 10) {
+      assertThat(HctSolver.DEFAULT.solveToInt(120f, 0f, tone, new float[HctSolver.SCRATCH_SIZE]))
+          .isEqualTo(ColorUtils.intFromLstar(tone));
+    }
+  }
+
+  @Test
+  public void solve_defaultViewingConditions_matchesBisection() {
+    assertMatchesBisection(ViewingConditions.DEFAULT);
+  }
+
+  @Test
+  public void solve_otherViewingConditions_matchesBisection() {
+    assertMatchesBisection(
+        ViewingConditions.make(ColorUtils.whitePointD65(), 30f, 30f, 1f, false));
+  }
+
+  @Test
+  public void forViewingConditions_reusesSolver() {
+    ViewingConditions viewingConditions =
+        ViewingConditions.make(ColorUtils.whitePointD65(), 30f, 30f, 1f, false);
+
+    assertThat(HctSolver.forViewingConditions(ViewingConditions.DEFAULT))
+        .isSameInstanceAs(HctSolver.DEFAULT);
+    assertThat(HctSolver.forViewingConditions(viewingConditions))
+        .isSameInstanceAs(HctSolver.forViewingConditions(viewingConditions));
+  }
+
+  private static void assertMatchesBisection(ViewingConditions viewingConditions) {
+    for (float hue = 0f; hue < 360f; hue += 15f) {
+      for (float chroma = 0f; chroma <= 150f; chroma += 10f) {
+        for (float tone = 0f; tone <= 100f; tone += 5f) {
+          assertThat(Hct.gamutMapInViewingConditions(hue, chroma, tone, viewingConditions))
+              .isEqualTo(
+                  Hct.gamutMapByBisectionInViewingConditions(
+                      hue, chroma, tone, viewingConditions));
+        }
+      }
+    }
+  }
+}
@@ -37,6 +37,7 @@ public final class MaterialColorsTest {
 
   private static final int RED = 0xffff0000;
   private static final int BLUE = 0xff0000ff;
+  private static final int GREEN = 0xff00ff00;
 
   private final Context context = ApplicationProvider.getApplicationContext();
 
@@ -60,6 +61,38 @@ public final class MaterialColorsTest {
     assertThat(MaterialColors.harmonize(RED, BLUE)).isEqualTo(Blend.harmonize(RED, BLUE));
   }
 
+  @Test
+  public void harmonize_batch_matchesSingleColor() {
+    int[] colors = {RED, BLUE, GREEN};
+    int[] harmonizedColors = new int[colors.length];
+
+    MaterialColors.harmonize(colors, BLUE, harmonizedColors);
+
+    for (int i = 0; i < colors.length; i++) {
+      assertThat(harmonizedColors[i]).isEqualTo(MaterialColors.harmonize(colors[i], BLUE));
+    }
+  }
+
+  @Test
+  public void harmonize_batchInPlace_matchesSingleColor() {
+    int[] colors = {RED, BLUE, GREEN};
+
+    MaterialColors.harmonize(colors, GREEN, colors);
+
+    assertThat(colors)
+        .asList()
+        .containsExactly(
+            MaterialColors.harmonize(RED, GREEN),
+            MaterialColors.harmonize(BLUE, GREEN),
+            MaterialColors.harmonize(GREEN, GREEN))
+        .inOrder();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void harmonize_batchWithShortOutput_throws() {
+    MaterialColors.harmonize(new int[] {RED, BLUE}, GREEN, new int[1]);
+  }
+
   @Test
   public void getColorRoles_withContext_lightTheme() {
     ColorRoles colorRoles = MaterialColors.getColorRoles(context, RED);
@@ -104,6 +137,27 @@ public final class MaterialColorsTest {
     assertThat(colorRoles.getOnAccentContainer()).isEqualTo(getColorRole(RED, 90));
   }
 
+  @Test
+  public void getColorRoles_sameColor_returnsCachedRoles() {
+    ColorRoles colorRoles = MaterialColors.getColorRoles(BLUE, /* isLightTheme= */ true);
+    int hitCount = MaterialColors.getColorRolesCacheHitCount();
+    int missCount = MaterialColors.getColorRolesCacheMissCount();
+
+    assertThat(MaterialColors.getColorRoles(BLUE, /* isLightTheme= */ true))
+        .isSameInstanceAs(colorRoles);
+    assertThat(MaterialColors.getColorRolesCacheHitCount()).isEqualTo(hitCount + 1);
+    assertThat(MaterialColors.getColorRolesCacheMissCount()).isEqualTo(missCount);
+  }
+
+  @Test
+  public void getColorRoles_differentTheme_doesNotShareCachedRoles() {
+    ColorRoles lightRoles = MaterialColors.getColorRoles(BLUE, /* isLightTheme= */ true);
+    ColorRoles darkRoles = MaterialColors.getColorRoles(BLUE, /* isLightTheme= */ false);
+
+    assertThat(darkRoles.getAccent()).isNotEqualTo(lightRoles.getAccent());
+    assertThat(darkRoles.getAccent()).isEqualTo(getColorRole(BLUE, 80));
+  }
+
   private static int getColorRole(@ColorInt int color, @IntRange(from = 0, to = 100) int tone) {
     Hct hctColor = Hct.fromInt(color);
     hctColor.setTone(tone);
@@ -22,7 +22,9 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThrows;
 
+import com.google.android.material.datepicker.CalendarConstraints.DateValidator;
 import com.google.android.material.internal.ParcelableTestUtils;
+import java.util.Arrays;
 import java.util.Calendar;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -45,6 +47,25 @@ public class CalendarConstraintsTest {
     assertEquals(originalBounds, constructedBounds);
   }
 
+  @Test
+  public void validDaysCache_matchesValidator() {
+    long blockedDay = MARCH_2016 + 2 * EpochDays.MILLIS_PER_DAY;
+    DateValidator validator =
+        CompositeDateValidator.allOf(
+            Arrays.asList(
+                DateValidatorPointForward.from(MARCH_2016),
+                DateValidatorBlocklist.from(Arrays.asList(blockedDay))));
+    CalendarConstraints calendarConstraints =
+        new CalendarConstraints.Builder()
+            .setValidator(validator)
+            .setValidDaysCacheEnabled(true)
+            .build();
+
+    for (long day = FEB_2016; day < APRIL_2016; day += EpochDays.MILLIS_PER_DAY) {
+      assertEquals(validator.isValid(day), calendarConstraints.isValidDay(day));
+    }
+  }
+
   @Test
   public void clampMonth_when_InsideBounds() {
     Month today = Month.current();
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2022 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.datepicker;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import androidx.core.util.Pair;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Tests for {@link DateSelectionIndex}. */
+@RunWith(RobolectricTestRunner.class)
+public class DateSelectionIndexTest {
+
+  private final Month feb2016 = Month.create(2016, Calendar.FEBRUARY);
+  private final DateSelectionIndex selectionIndex = new DateSelectionIndex();
+
+  @Test
+  public void addDay_isContainedAndInMonthMask() {
+    selectionIndex.addDay(feb2016.getDay(3) + 1000);
+    selectionIndex.addDay(feb2016.getDay(29));
+
+    assertThat(selectionIndex.containsDay(feb2016.getDay(3))).isTrue();
+    assertThat(selectionIndex.containsDay(feb2016.getDay(4))).isFalse();
+    assertThat(selectionIndex.getSelectedDaysInMonth(2016, Calendar.FEBRUARY))
+        .isEqualTo(1 << 2 | 1 << 28);
+    assertThat(selectionIndex.getSelectedDaysInMonth(2016, Calendar.MARCH)).isEqualTo(0);
+  }
+
+  @Test
+  public void removeDay_isNotContained() {
+    selectionIndex.addDay(feb2016.getDay(3));
+
+    selectionIndex.removeDay(feb2016.getDay(3));
+
+    assertThat(selectionIndex.containsDay(feb2016.getDay(3))).isFalse();
+  }
+
+  @Test
+  public void addRange_mergesOverlappingRanges() {
+    selectionIndex.addRange(feb2016.getDay(1), feb2016.getDay(5));
+    selectionIndex.addRange(feb2016.getDay(10), feb2016.getDay(12));
+    selectionIndex.addRange(feb2016.getDay(20), feb2016.getDay(25));
+    selectionIndex.addRange(feb2016.getDay(4), feb2016.getDay(11));
+
+    assertThat(selectionIndex.getRangeCount()).isEqualTo(2);
+    assertThat(selectionIndex.isInRange(feb2016.getDay(8))).isTrue();
+    assertThat(selectionIndex.isInRange(feb2016.getDay(15))).isFalse();
+    assertThat(selectionIndex.isInRange(feb2016.getDay(25))).isTrue();
+  }
+
+  @Test
+  public void getRangesBetween_returnsOverlappingRanges() {
+    selectionIndex.addRange(feb2016.getDay(1), feb2016.getDay(5));
+    selectionIndex.addRange(feb2016.getDay(10), feb2016.getDay(12));
+    selectionIndex.addRange(feb2016.getDay(20), feb2016.getDay(25));
+
+    List<Pair<Long, Long>> ranges = new ArrayList<>();
+    selectionIndex.getRangesBetween(feb2016.getDay(5), feb2016.getDay(19), ranges);
+
+    assertThat(ranges)
+        .containsExactly(
+            new Pair<>(feb2016.getDay(1), feb2016.getDay(5)),
+            new Pair<>(feb2016.getDay(10), feb2016.getDay(12)));
+  }
+}
@@ -49,6 +49,15 @@ public class DateStringsTest {
     return calendar;
   }
 
+  @Test
+  public void dayNumberString() {
+    assertThat(DateStrings.getDayNumber(7, Locale.US), is("7"));
+    assertThat(DateStrings.getDayNumber(31, Locale.US), is("31"));
+    Locale arabic = new Locale("ar", "EG");
+    assertThat(DateStrings.getDayNumber(7, arabic), is(String.format(arabic, "%d", 7)));
+    assertThat(DateStrings.getDayNumber(7, Locale.US), is("7"));
+  }
+
   @Test
   public void frYearMonthDayString() {
     Locale locale = Locale.FRANCE;
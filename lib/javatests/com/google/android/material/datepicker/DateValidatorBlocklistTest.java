@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2022 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.datepicker;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import android.os.Parcel;
+import com.google.android.material.datepicker.CalendarConstraints.DateValidator;
+import java.util.Arrays;
+import java.util.Calendar;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Test for {@link DateValidatorBlocklist} */
+@RunWith(RobolectricTestRunner.class)
+public class DateValidatorBlocklistTest {
+
+  private static final long HOUR = 60 * 60 * 1000L;
+
+  @Test
+  public void testBlockedDayIsInvalid() {
+    DateValidator validator =
+        DateValidatorBlocklist.from(Arrays.asList(day(2020, Calendar.DECEMBER, 25) + HOUR));
+    assertThat(validator.isValid(day(2020, Calendar.DECEMBER, 25))).isFalse();
+    assertThat(validator.isValid(day(2020, Calendar.DECEMBER, 25) + 23 * HOUR)).isFalse();
+  }
+
+  @Test
+  public void testOtherDayIsValid() {
+    DateValidator validator =
+        DateValidatorBlocklist.from(Arrays.asList(day(2020, Calendar.DECEMBER, 25)));
+    assertThat(validator.isValid(day(2020, Calendar.DECEMBER, 24))).isTrue();
+    assertThat(validator.isValid(day(2020, Calendar.DECEMBER, 26))).isTrue();
+  }
+
+  @Test
+  public void testValidDaysInMonth() {
+    DateValidator validator =
+        DateValidatorBlocklist.from(
+            Arrays.asList(
+                day(2020, Calendar.JANUARY, 31),
+                day(2020, Calendar.FEBRUARY, 29),
+                day(2020, Calendar.FEBRUARY, 1),
+                day(2020, Calendar.FEBRUARY, 1),
+                day(2020, Calendar.MARCH, 1)));
+    int allDaysInFebruary = (1 << 29) - 1;
+    assertThat(validator.getValidDaysInMonth(2020, Calendar.FEBRUARY))
+        .isEqualTo(allDaysInFebruary & ~1 & ~(1 << 28));
+  }
+
+  @Test
+  public void testParcelable() {
+    DateValidator original =
+        DateValidatorBlocklist.from(
+            Arrays.asList(day(2020, Calendar.DECEMBER, 25), day(2021, Calendar.JANUARY, 1)));
+
+    Parcel parcel = Parcel.obtain();
+    original.writeToParcel(parcel, 0);
+    parcel.setDataPosition(0);
+
+    DateValidator createdFromParcel = DateValidatorBlocklist.CREATOR.createFromParcel(parcel);
+    assertThat(original).isEqualTo(createdFromParcel);
+  }
+
+  private static long day(int year, int month, int dayOfMonth) {
+    Calendar calendar = UtcDates.getUtcCalendar();
+    calendar.set(year, month, dayOfMonth);
+    return UtcDates.canonicalYearMonthDay(calendar.getTimeInMillis());
+  }
+}
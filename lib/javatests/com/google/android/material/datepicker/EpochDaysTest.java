@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2022 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.datepicker;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.Calendar;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Tests for {@link EpochDays}. */
+@RunWith(RobolectricTestRunner.class)
+public class EpochDaysTest {
+
+  @Test
+  public void civilDates_matchUtcCalendar() {
+    Calendar calendar = UtcDates.getUtcCalendar();
+    calendar.set(1900, Calendar.JANUARY, 1);
+    long firstEpochDay = EpochDays.fromMillis(calendar.getTimeInMillis());
+    calendar.set(2100, Calendar.DECEMBER, 31);
+    long lastEpochDay = EpochDays.fromMillis(calendar.getTimeInMillis());
+
+    for (long epochDay = firstEpochDay; epochDay <= lastEpochDay; epochDay++) {
+      calendar.setTimeInMillis(EpochDays.toMillis(epochDay));
+      int year = calendar.get(Calendar.YEAR);
+      int month = calendar.get(Calendar.MONTH);
+      int dayOfMonth = calendar.get(Calendar.DAY_OF_MONTH);
+
+      assertThat(EpochDays.getYear(epochDay)).isEqualTo(year);
+      assertThat(EpochDays.getMonth(epochDay)).isEqualTo(month);
+      assertThat(EpochDays.getDayOfMonth(epochDay)).isEqualTo(dayOfMonth);
+      assertThat(EpochDays.getDayOfWeek(epochDay)).isEqualTo(calendar.get(Calendar.DAY_OF_WEEK));
+      assertThat(EpochDays.fromCivil(year, month, dayOfMonth)).isEqualTo(epochDay);
+      assertThat(EpochDays.getDaysInMonth(year, month))
+          .isEqualTo(calendar.getActualMaximum(Calendar.DAY_OF_MONTH));
+    }
+  }
+
+  @Test
+  public void fromMillis_beforeEpoch_roundsDown() {
+    assertThat(EpochDays.fromMillis(-1)).isEqualTo(-1);
+    assertThat(EpochDays.fromMillis(-EpochDays.MILLIS_PER_DAY)).isEqualTo(-1);
+  }
+
+  @Test
+  public void fromCivil_dayOutsideOfMonth_rollsOver() {
+    assertThat(EpochDays.fromCivil(2016, Calendar.FEBRUARY, 30))
+        .isEqualTo(EpochDays.fromCivil(2016, Calendar.MARCH, 1));
+    assertThat(EpochDays.fromCivil(2016, Calendar.JANUARY, 0))
+        .isEqualTo(EpochDays.fromCivil(2015, Calendar.DECEMBER, 31));
+  }
+}
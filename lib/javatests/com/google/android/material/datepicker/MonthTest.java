@@ -151,6 +151,16 @@ public class MonthTest {
     assertEquals(Calendar.DECEMBER, calculatedEarlierMonth.month);
   }
 
+  @Test
+  public void containsDaysOfTheMonth() {
+    setupLocalizedCalendars(Locale.getDefault());
+
+    assertEquals(true, monthFeb2016.contains(monthFeb2016.getDay(1)));
+    assertEquals(true, monthFeb2016.contains(monthFeb2016.getDay(29) + 1000));
+    assertEquals(false, monthFeb2016.contains(monthFeb2016.getDay(30)));
+    assertEquals(false, monthFeb2016.contains(monthFeb2016.getDay(1) - 1));
+  }
+
   @Test
   public void equalAfterParceling() {
     Month original = Month.create(2019, Calendar.JULY);
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2022 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.datepicker;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import androidx.core.util.Pair;
+import com.google.android.material.internal.ParcelableTestUtils;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class MultiRangeDateSelectorTest {
+
+  private MultiRangeDateSelector multiRangeDateSelector;
+
+  @Before
+  public void createSelector() {
+    multiRangeDateSelector = new MultiRangeDateSelector();
+  }
+
+  @Test
+  public void select_addsRangesInOrder() {
+    multiRangeDateSelector.select(day(2020, Calendar.MARCH, 20));
+    assertThat(multiRangeDateSelector.isSelectionComplete()).isFalse();
+    multiRangeDateSelector.select(day(2020, Calendar.MARCH, 25));
+    multiRangeDateSelector.select(day(2020, Calendar.MARCH, 5));
+    multiRangeDateSelector.select(day(2020, Calendar.MARCH, 1));
+
+    assertThat(multiRangeDateSelector.isSelectionComplete()).isTrue();
+    assertThat(multiRangeDateSelector.getSelection())
+        .containsExactly(
+            range(day(2020, Calendar.MARCH, 1), day(2020, Calendar.MARCH, 5)),
+            range(day(2020, Calendar.MARCH, 20), day(2020, Calendar.MARCH, 25)))
+        .inOrder();
+  }
+
+  @Test
+  public void select_withinRange_removesRange() {
+    multiRangeDateSelector.select(day(2020, Calendar.MARCH, 1));
+    multiRangeDateSelector.select(day(2020, Calendar.MARCH, 5));
+    multiRangeDateSelector.select(day(2020, Calendar.MARCH, 3));
+
+    assertThat(multiRangeDateSelector.getSelection()).isEmpty();
+    assertThat(multiRangeDateSelector.isDaySelected(day(2020, Calendar.MARCH, 1))).isFalse();
+  }
+
+  @Test
+  public void setSelection_mergesOverlappingRanges() {
+    multiRangeDateSelector.setSelection(
+        Arrays.asList(
+            range(day(2020, Calendar.MARCH, 10), day(2020, Calendar.MARCH, 20)),
+            range(day(2020, Calendar.MARCH, 1), day(2020, Calendar.MARCH, 12)),
+            range(day(2020, Calendar.MAY, 1), day(2020, Calendar.MAY, 1))));
+
+    assertThat(multiRangeDateSelector.getSelection())
+        .containsExactly(
+            range(day(2020, Calendar.MARCH, 1), day(2020, Calendar.MARCH, 20)),
+            range(day(2020, Calendar.MAY, 1), day(2020, Calendar.MAY, 1)))
+        .inOrder();
+    assertThat(multiRangeDateSelector.isDaySelected(day(2020, Calendar.MARCH, 1))).isTrue();
+    assertThat(multiRangeDateSelector.isDaySelected(day(2020, Calendar.MARCH, 10))).isFalse();
+    assertThat(
+            multiRangeDateSelector.getSelectedRangesBetween(
+                day(2020, Calendar.APRIL, 1), day(2020, Calendar.APRIL, 30)))
+        .isEmpty();
+  }
+
+  @Test
+  public void selectionFromParcel() {
+    multiRangeDateSelector.select(day(2020, Calendar.MARCH, 1));
+    multiRangeDateSelector.select(day(2020, Calendar.MARCH, 5));
+    multiRangeDateSelector.select(day(2021, Calendar.JUNE, 7));
+
+    MultiRangeDateSelector multiRangeDateSelectorFromParcel =
+        ParcelableTestUtils.parcelAndCreate(multiRangeDateSelector, MultiRangeDateSelector.CREATOR);
+
+    List<Pair<Long, Long>> selection = multiRangeDateSelectorFromParcel.getSelection();
+    assertThat(selection)
+        .containsExactly(range(day(2020, Calendar.MARCH, 1), day(2020, Calendar.MARCH, 5)));
+    assertThat(multiRangeDateSelectorFromParcel.isSelectionComplete()).isFalse();
+    assertThat(multiRangeDateSelectorFromParcel.isDaySelected(day(2021, Calendar.JUNE, 7)))
+        .isTrue();
+  }
+
+  private static long day(int year, int month, int dayOfMonth) {
+    Calendar calendar = UtcDates.getUtcCalendar();
+    calendar.set(year, month, dayOfMonth);
+    return UtcDates.canonicalYearMonthDay(calendar.getTimeInMillis());
+  }
+
+  private static Pair<Long, Long> range(long start, long end) {
+    return new Pair<>(start, end);
+  }
+}
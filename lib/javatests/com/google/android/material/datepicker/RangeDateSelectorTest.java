@@ -232,4 +232,18 @@ public class RangeDateSelectorTest {
           public void onSelectionChanged(Pair<Long, Long> selection) {}
         });
   }
+
+  @Test
+  public void isDaySelected_matchesSelectedDays() {
+    Month month = Month.create(2016, Calendar.FEBRUARY);
+    rangeDateSelector.setSelection(new Pair<>(month.getDay(3), month.getDay(10)));
+
+    assertThat(rangeDateSelector.isDaySelected(month.getDay(3))).isTrue();
+    assertThat(rangeDateSelector.isDaySelected(month.getDay(10))).isTrue();
+    assertThat(rangeDateSelector.isDaySelected(month.getDay(5))).isFalse();
+    assertThat(rangeDateSelector.getSelectionInMonth(2016, Calendar.FEBRUARY))
+        .isEqualTo(1 << 2 | 1 << 9);
+    assertThat(rangeDateSelector.getSelectedRangesBetween(month.getDay(1), month.getDay(29)))
+        .containsExactly(new Pair<>(month.getDay(3), month.getDay(10)));
+  }
 }
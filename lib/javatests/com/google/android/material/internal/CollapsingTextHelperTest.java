@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2022 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.android.material.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import android.content.Context;
+import android.view.View;
+import androidx.test.core.app.ApplicationProvider;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.internal.DoNotInstrument;
+
+/** Tests for {@link CollapsingTextHelper}. */
+@RunWith(RobolectricTestRunner.class)
+@DoNotInstrument
+public class CollapsingTextHelperTest {
+
+  private static final int FRAME_COUNT = 120;
+
+  private final Context context = ApplicationProvider.getApplicationContext();
+
+  private CollapsingTextHelper collapsingTextHelper;
+
+  @Before
+  public void setUpCollapsingTextHelper() {
+    View view = new View(context);
+    view.layout(0, 0, 400, 200);
+    collapsingTextHelper = new CollapsingTextHelper(view);
+    collapsingTextHelper.setExpandedTextSize(40);
+    collapsingTextHelper.setCollapsedTextSize(20);
+    collapsingTextHelper.setExpandedBounds(0, 100, 400, 200);
+    collapsingTextHelper.setCollapsedBounds(0, 0, 400, 50);
+    collapsingTextHelper.setText("Title");
+    collapsingTextHelper.recalculate();
+  }
+
+  @Test
+  public void setExpansionFraction_everyFrame_reusesTextLayouts() {
+    animateExpansion();
+    int buildCount = collapsingTextHelper.getTextLayoutBuildCount();
+
+    animateExpansion();
+
+    assertThat(collapsingTextHelper.getTextLayoutBuildCount()).isEqualTo(buildCount);
+  }
+
+  @Test
+  public void setText_rebuildsTextLayouts() {
+    animateExpansion();
+    int buildCount = collapsingTextHelper.getTextLayoutBuildCount();
+
+    collapsingTextHelper.setText("Other title");
+    animateExpansion();
+
+    assertThat(collapsingTextHelper.getTextLayoutBuildCount()).isGreaterThan(buildCount);
+  }
+
+  /** Drives the expansion fraction from 0 to 1 the way a collapsing animation does, per frame. */
+  private void animateExpansion() {
+    for (int frame = 0; frame <= FRAME_COUNT; frame++) {
+      collapsingTextHelper.setExpansionFraction((float) frame / FRAME_COUNT);
+    }
+  }
+}
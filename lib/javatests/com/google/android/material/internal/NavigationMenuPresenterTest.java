@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2022 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.internal;
+
+import com.google.android.material.test.R;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import android.content.Context;
+import android.view.Menu;
+import android.widget.FrameLayout;
+import androidx.annotation.Nullable;
+import androidx.appcompat.view.menu.MenuBuilder;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Tests for {@link NavigationMenuPresenter}. */
+@RunWith(RobolectricTestRunner.class)
+public class NavigationMenuPresenterTest {
+
+  private static final int ITEM_COUNT = 500;
+
+  private final Context context = ApplicationProvider.getApplicationContext();
+  private final List<String> notifications = new ArrayList<>();
+
+  private MenuBuilder menu;
+  private NavigationMenuPresenter presenter;
+
+  @Before
+  public void setUpPresenter() {
+    context.setTheme(R.style.Theme_MaterialComponents_Light);
+    menu = new MenuBuilder(context);
+    for (int i = 0; i < ITEM_COUNT; i++) {
+      menu.add(Menu.NONE, i + 1, i, "Item " + i).setCheckable(true);
+    }
+    presenter = new NavigationMenuPresenter();
+    presenter.initForMenu(context, menu);
+    RecyclerView menuView = (RecyclerView) presenter.getMenuView(new FrameLayout(context));
+    presenter.updateMenuView(false);
+    menuView.getAdapter().registerAdapterDataObserver(new RecordingObserver());
+  }
+
+  @Test
+  public void checkItem_notifiesOnlyItsRow() {
+    menu.getItem(250).setChecked(true);
+    presenter.updateMenuView(false);
+
+    // The header is the first row.
+    assertThat(notifications).containsExactly("changed 251 1");
+  }
+
+  @Test
+  public void addAndRemoveItems_notifiesOnlyTheirRows() {
+    menu.add(Menu.NONE, ITEM_COUNT + 1, ITEM_COUNT, "Item " + ITEM_COUNT);
+    presenter.updateMenuView(false);
+    menu.removeItem(101);
+    presenter.updateMenuView(false);
+
+    assertThat(notifications)
+        .containsExactly("inserted " + (ITEM_COUNT + 1) + " 1", "removed 101 1")
+        .inOrder();
+  }
+
+  @Test
+  public void updateWithoutChanges_doesNotNotify() {
+    presenter.updateMenuView(false);
+
+    assertThat(notifications).isEmpty();
+  }
+
+  @Test
+  public void setItemMaxLines_rebindsAllRows() {
+    presenter.setItemMaxLines(2);
+
+    assertThat(notifications).containsExactly("changed");
+  }
+
+  private class RecordingObserver extends RecyclerView.AdapterDataObserver {
+
+    @Override
+    public void onChanged() {
+      notifications.add("changed");
+    }
+
+    @Override
+    public void onItemRangeChanged(int positionStart, int itemCount, @Nullable Object payload) {
+      notifications.add("changed " + positionStart + " " + itemCount);
+    }
+
+    @Override
+    public void onItemRangeInserted(int positionStart, int itemCount) {
+      notifications.add("inserted " + positionStart + " " + itemCount);
+    }
+
+    @Override
+    public void onItemRangeRemoved(int positionStart, int itemCount) {
+      notifications.add("removed " + positionStart + " " + itemCount);
+    }
+
+    @Override
+    public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+      notifications.add("moved " + fromPosition + " " + toPosition + " " + itemCount);
+    }
+  }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (C) 2022 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.shadow;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.Region;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.internal.DoNotInstrument;
+
+/** Tests for the shadow atlas of {@link ShadowRenderer}. */
+@RunWith(RobolectricTestRunner.class)
+@DoNotInstrument
+public class ShadowRendererTest {
+
+  private static final int ELEVATION = 6;
+
+  @Test
+  public void testCorner_requestedOnce_drawsWithShader() {
+    ShadowRenderer renderer = createAtlasRenderer(0xff000001);
+    RecordingCanvas canvas = new RecordingCanvas();
+
+    drawCorner(renderer, canvas, /* cornerRadius= */ 10, 180, 90);
+
+    assertThat(canvas.arcs).hasSize(1);
+    assertThat(canvas.bitmaps).isEmpty();
+  }
+
+  @Test
+  public void testCorner_requestedAgain_drawsFromAtlas() {
+    ShadowRenderer renderer = createAtlasRenderer(0xff000002);
+    RecordingCanvas canvas = new RecordingCanvas();
+
+    drawCorner(renderer, canvas, /* cornerRadius= */ 10, 180, 90);
+    drawCorner(renderer, canvas, /* cornerRadius= */ 10, 180, 90);
+
+    assertThat(canvas.arcs).hasSize(1);
+    assertThat(canvas.bitmaps).hasSize(1);
+  }
+
+  @Test
+  public void testCorner_animatingRadius_alwaysDrawsWithShader() {
+    ShadowRenderer renderer = createAtlasRenderer(0xff000003);
+    RecordingCanvas canvas = new RecordingCanvas();
+
+    for (float cornerRadius = 10; cornerRadius < 20; cornerRadius += 0.5f) {
+      drawCorner(renderer, canvas, cornerRadius, 180, 90);
+    }
+
+    assertThat(canvas.arcs).hasSize(20);
+    assertThat(canvas.bitmaps).isEmpty();
+  }
+
+  @Test
+  public void testCorner_largerThanAtlasBudget_alwaysDrawsWithShader() {
+    ShadowRenderer renderer = createAtlasRenderer(0xff000004);
+    RecordingCanvas canvas = new RecordingCanvas();
+
+    drawCorner(renderer, canvas, /* cornerRadius= */ 1000, 180, 90);
+    drawCorner(renderer, canvas, /* cornerRadius= */ 1000, 180, 90);
+
+    assertThat(canvas.arcs).hasSize(2);
+    assertThat(canvas.bitmaps).isEmpty();
+  }
+
+  @Test
+  public void testCorner_fromAtlas_coversSameQuarterAsShader() {
+    float[][] angles = {{180, 90}, {270, 90}, {0, 90}, {90, 90}, {270, -90}, {0, -90}};
+    for (int i = 0; i < angles.length; i++) {
+      float startAngle = angles[i][0];
+      float sweepAngle = angles[i][1];
+      RecordingCanvas shaderCanvas = new RecordingCanvas();
+      drawCorner(new ShadowRenderer(), shaderCanvas, 10, startAngle, sweepAngle);
+
+      ShadowRenderer atlasRenderer = createAtlasRenderer(0xff000010 + i);
+      RecordingCanvas atlasCanvas = new RecordingCanvas();
+      drawCorner(atlasRenderer, atlasCanvas, 10, startAngle, sweepAngle);
+      drawCorner(atlasRenderer, atlasCanvas, 10, startAngle, sweepAngle);
+
+      assertThat(atlasCanvas.bitmaps).hasSize(1);
+      assertSameArea(atlasCanvas.bitmaps.get(0), shaderCanvas.arcs.get(0));
+    }
+  }
+
+  @Test
+  public void testEdge_fromAtlas_coversSameBoundsAsShader() {
+    RecordingCanvas shaderCanvas = new RecordingCanvas();
+    new ShadowRenderer().drawEdgeShadow(shaderCanvas, null, new RectF(10, 20, 60, 20), ELEVATION);
+
+    ShadowRenderer atlasRenderer = createAtlasRenderer(0xff000020);
+    RecordingCanvas atlasCanvas = new RecordingCanvas();
+    atlasRenderer.drawEdgeShadow(atlasCanvas, null, new RectF(10, 20, 60, 20), ELEVATION);
+    atlasRenderer.drawEdgeShadow(atlasCanvas, null, new RectF(10, 20, 60, 20), ELEVATION);
+
+    assertThat(atlasCanvas.rects).hasSize(1);
+    assertThat(atlasCanvas.bitmaps).hasSize(1);
+    assertSameArea(atlasCanvas.bitmaps.get(0), shaderCanvas.rects.get(0));
+  }
+
+  private static void assertSameArea(RectF actual, RectF expected) {
+    assertThat(actual.left).isWithin(0.01f).of(expected.left);
+    assertThat(actual.top).isWithin(0.01f).of(expected.top);
+    assertThat(actual.right).isWithin(0.01f).of(expected.right);
+    assertThat(actual.bottom).isWithin(0.01f).of(expected.bottom);
+  }
+
+  /** Returns a renderer using the atlas, with a color no other test uses. */
+  private static ShadowRenderer createAtlasRenderer(int color) {
+    ShadowRenderer renderer = new ShadowRenderer(color);
+    renderer.setShadowAtlasEnabled(true);
+    return renderer;
+  }
+
+  private static void drawCorner(
+      ShadowRenderer renderer,
+      Canvas canvas,
+      float cornerRadius,
+      float startAngle,
+      float sweepAngle) {
+    RectF bounds =
+        new RectF(50 - cornerRadius, 50 - cornerRadius, 50 + cornerRadius, 50 + cornerRadius);
+    renderer.drawCornerShadow(canvas, new Matrix(), bounds, ELEVATION, startAngle, sweepAngle);
+  }
+
+  /**
+   * Records the area, in the canvas's coordinates, covered by each bitmap, arc and rect drawn on
+   * it.
+   */
+  private static class RecordingCanvas extends Canvas {
+    final List<RectF> bitmaps = new ArrayList<>();
+    final List<RectF> arcs = new ArrayList<>();
+    final List<RectF> rects = new ArrayList<>();
+
+    private Matrix matrix = new Matrix();
+    private final ArrayDeque<Matrix> savedMatrices = new ArrayDeque<>();
+
+    @Override
+    public int save() {
+      savedMatrices.push(new Matrix(matrix));
+      return savedMatrices.size();
+    }
+
+    @Override
+    public void restore() {
+      matrix = savedMatrices.pop();
+    }
+
+    @Override
+    public void concat(@Nullable Matrix matrix) {
+      if (matrix != null) {
+        this.matrix.preConcat(matrix);
+      }
+    }
+
+    @Override
+    public void translate(float dx, float dy) {
+      matrix.preTranslate(dx, dy);
+    }
+
+    @Override
+    public void rotate(float degrees) {
+      matrix.preRotate(degrees);
+    }
+
+    @Override
+    public void scale(float sx, float sy) {
+      matrix.preScale(sx, sy);
+    }
+
+    @Override
+    public boolean clipPath(@NonNull Path path, @NonNull Region.Op op) {
+      return true;
+    }
+
+    @Override
+    public void drawPath(@NonNull Path path, @NonNull Paint paint) {}
+
+    @Override
+    public void drawBitmap(
+        @NonNull Bitmap bitmap, @Nullable Rect src, @NonNull RectF dst, @Nullable Paint paint) {
+      bitmaps.add(map(dst));
+    }
+
+    @Override
+    public void drawRect(@NonNull RectF rect, @NonNull Paint paint) {
+      rects.add(map(rect));
+    }
+
+    @Override
+    public void drawArc(
+        @NonNull RectF oval,
+        float startAngle,
+        float sweepAngle,
+        boolean useCenter,
+        @NonNull Paint paint) {
+      // Only quarters aligned to the axes are drawn here, which cover the area between the center
+      // of the oval and the two ends of the arc.
+      float centerX = oval.centerX();
+      float centerY = oval.centerY();
+      float radiusX = oval.width() / 2;
+      float radiusY = oval.height() / 2;
+      RectF quarter = new RectF(centerX, centerY, centerX, centerY);
+      for (float angle : new float[] {startAngle, startAngle + sweepAngle}) {
+        double radians = Math.toRadians(angle);
+        quarter.union(
+            centerX + Math.round(Math.cos(radians)) * radiusX,
+            centerY + Math.round(Math.sin(radians)) * radiusY);
+      }
+      arcs.add(map(quarter));
+    }
+
+    private RectF map(RectF rect) {
+      RectF mapped = new RectF();
+      matrix.mapRect(mapped, rect);
+      return mapped;
+    }
+  }
+}
@@ -20,6 +20,8 @@ import com.google.android.material.test.R;
 import static com.google.common.truth.Truth.assertThat;
 
 import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
 import androidx.test.core.app.ApplicationProvider;
 import com.google.android.material.color.MaterialColors;
 import org.junit.Before;
@@ -140,4 +142,171 @@ public class MaterialShapeDrawableTest {
 
     assertThat(materialShapeDrawable.getAlpha()).isEqualTo(ALPHA);
   }
+
+  @Test
+  public void givenCompatShadow_whenDrawnTwice_reusesShadowLayer() {
+    setUpCompatShadow();
+    Canvas canvas = createCanvas();
+    ShadowBitmapPool pool = ShadowBitmapPool.getInstance();
+
+    materialShapeDrawable.draw(canvas);
+    int allocationCount = pool.getAllocationCount() + pool.getReuseCount();
+    int cacheHitCount = pool.getCacheHitCount();
+    materialShapeDrawable.draw(canvas);
+
+    assertThat(pool.getAllocationCount() + pool.getReuseCount()).isEqualTo(allocationCount);
+    assertThat(pool.getCacheHitCount()).isEqualTo(cacheHitCount + 1);
+  }
+
+  @Test
+  public void givenCompatShadow_whenShadowColorChanges_rendersShadowLayerAgain() {
+    setUpCompatShadow();
+    Canvas canvas = createCanvas();
+    ShadowBitmapPool pool = ShadowBitmapPool.getInstance();
+
+    materialShapeDrawable.draw(canvas);
+    int cacheHitCount = pool.getCacheHitCount();
+    materialShapeDrawable.setShadowColor(0xffff0000);
+    materialShapeDrawable.draw(canvas);
+
+    assertThat(pool.getCacheHitCount()).isEqualTo(cacheHitCount);
+  }
+
+  @Test
+  public void givenCompatShadow_whenBoundsChange_rendersShadowLayerAgain() {
+    setUpCompatShadow();
+    Canvas canvas = createCanvas();
+    ShadowBitmapPool pool = ShadowBitmapPool.getInstance();
+
+    materialShapeDrawable.draw(canvas);
+    int cacheHitCount = pool.getCacheHitCount();
+    materialShapeDrawable.setBounds(10, 10, 60, 60);
+    materialShapeDrawable.draw(canvas);
+
+    assertThat(pool.getCacheHitCount()).isEqualTo(cacheHitCount);
+  }
+
+  @Test
+  public void givenCompatShadow_whenHidden_releasesShadowLayer() {
+    setUpCompatShadow();
+    Canvas canvas = createCanvas();
+    ShadowBitmapPool pool = ShadowBitmapPool.getInstance();
+    int liveSizeBytes = pool.getLiveSizeBytes();
+
+    materialShapeDrawable.draw(canvas);
+    assertThat(pool.getLiveSizeBytes()).isGreaterThan(liveSizeBytes);
+    materialShapeDrawable.setVisible(false, false);
+
+    assertThat(pool.getLiveSizeBytes()).isEqualTo(liveSizeBytes);
+  }
+
+  @Test
+  public void givenLiveBitmapsOverBudget_whenRelease_recyclesBitmap() {
+    // Room for two 10x10 ARGB_8888 bitmaps.
+    ShadowBitmapPool pool = new ShadowBitmapPool(/* maxSizeBytes= */ 800);
+    Bitmap first = pool.acquire(this, 10, 10);
+    Bitmap second = pool.acquire(this, 10, 10);
+    Bitmap third = pool.acquire(this, 10, 10);
+    assertThat(pool.isOverBudget()).isTrue();
+
+    pool.release(first);
+    assertThat(first.isRecycled()).isTrue();
+    assertThat(pool.isOverBudget()).isFalse();
+    pool.release(second);
+
+    assertThat(second.isRecycled()).isFalse();
+    assertThat(pool.getSizeBytes() + pool.getLiveSizeBytes()).isAtMost(800);
+    pool.release(third);
+    assertThat(pool.getSizeBytes()).isEqualTo(800);
+  }
+
+  @Test
+  public void givenCollectedOwner_whenPoolUsed_takesBackBitmap() throws InterruptedException {
+    ShadowBitmapPool pool = new ShadowBitmapPool(/* maxSizeBytes= */ 1024 * 1024);
+    Bitmap bitmap = acquireWithTemporaryOwner(pool);
+    assertThat(pool.getLiveSizeBytes()).isEqualTo(400);
+
+    for (int i = 0; i < 10 && pool.getLiveSizeBytes() > 0; i++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+
+    assertThat(pool.getLiveSizeBytes()).isEqualTo(0);
+    assertThat(pool.acquire(this, 10, 10)).isSameInstanceAs(bitmap);
+  }
+
+  @Test
+  public void givenReleasedBitmap_whenAcquireSameSize_reusesBitmap() {
+    ShadowBitmapPool pool = new ShadowBitmapPool(/* maxSizeBytes= */ 1024 * 1024);
+    Bitmap bitmap = pool.acquire(this, 10, 20);
+    pool.release(bitmap);
+
+    assertThat(pool.acquire(this, 10, 20)).isSameInstanceAs(bitmap);
+    assertThat(pool.getAllocationCount()).isEqualTo(1);
+    assertThat(pool.getReuseCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void givenFullPool_whenRelease_evictsOldestBitmap() {
+    // Room for a single 10x10 ARGB_8888 bitmap.
+    ShadowBitmapPool pool = new ShadowBitmapPool(/* maxSizeBytes= */ 400);
+    Bitmap first = pool.acquire(this, 10, 10);
+    Bitmap second = pool.acquire(this, 10, 10);
+    pool.release(first);
+    pool.release(second);
+
+    assertThat(first.isRecycled()).isTrue();
+    assertThat(pool.getSizeBytes()).isEqualTo(400);
+    assertThat(pool.acquire(this, 10, 10)).isSameInstanceAs(second);
+  }
+
+  @Test
+  public void givenEqualShapes_whenDrawn_sharesCachedPath() {
+    ShapePathCache cache = ShapePathCache.getInstance();
+    ShapeAppearanceModel shapeAppearanceModel =
+        ShapeAppearanceModel.builder().setAllCornerSizes(7).build();
+    MaterialShapeDrawable first = new MaterialShapeDrawable(shapeAppearanceModel);
+    MaterialShapeDrawable second =
+        new MaterialShapeDrawable(shapeAppearanceModel.toBuilder().build());
+    first.setBounds(0, 0, 40, 30);
+    second.setBounds(20, 20, 60, 50);
+    Canvas canvas = createCanvas();
+
+    first.draw(canvas);
+    int hitCount = cache.hitCount();
+    second.draw(canvas);
+
+    assertThat(cache.hitCount()).isGreaterThan(hitCount);
+  }
+
+  @Test
+  public void givenInterpolatedShape_whenDrawn_bypassesPathCache() {
+    ShapePathCache cache = ShapePathCache.getInstance();
+    MaterialShapeDrawable drawable =
+        new MaterialShapeDrawable(ShapeAppearanceModel.builder().setAllCornerSizes(9).build());
+    drawable.setInterpolation(0.5f);
+    drawable.setBounds(0, 0, 40, 30);
+    int hitCount = cache.hitCount();
+    int missCount = cache.missCount();
+
+    drawable.draw(createCanvas());
+
+    assertThat(cache.hitCount()).isEqualTo(hitCount);
+    assertThat(cache.missCount()).isEqualTo(missCount);
+  }
+
+  private static Bitmap acquireWithTemporaryOwner(ShadowBitmapPool pool) {
+    return pool.acquire(new Object(), 10, 10);
+  }
+
+  private void setUpCompatShadow() {
+    materialShapeDrawable.setShadowCompatibilityMode(
+        MaterialShapeDrawable.SHADOW_COMPAT_MODE_ALWAYS);
+    materialShapeDrawable.setElevation(ELEVATION);
+    materialShapeDrawable.setBounds(0, 0, 50, 50);
+  }
+
+  private static Canvas createCanvas() {
+    return new Canvas(Bitmap.createBitmap(100, 100, Bitmap.Config.ARGB_8888));
+  }
 }
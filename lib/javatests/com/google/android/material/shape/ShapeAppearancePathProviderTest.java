@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2022 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.android.material.shape;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import android.graphics.Path;
+import android.graphics.RectF;
+import android.os.Build.VERSION_CODES;
+import androidx.annotation.NonNull;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.internal.DoNotInstrument;
+
+/** Tests for {@link com.google.android.material.shape.ShapeAppearancePathProvider}. */
+@RunWith(RobolectricTestRunner.class)
+@DoNotInstrument
+public class ShapeAppearancePathProviderTest {
+
+  private static final RectF BOUNDS = new RectF(0, 0, 100, 50);
+
+  private final ShapeAppearancePathProvider pathProvider = new ShapeAppearancePathProvider();
+  private final Path path = new Path();
+
+  @Test
+  public void roundedCorners_writesRoundRect() {
+    ShapeAppearanceModel shapeAppearanceModel =
+        ShapeAppearanceModel.builder().setAllCornerSizes(10).build();
+
+    pathProvider.calculatePath(shapeAppearanceModel, 1f, BOUNDS, path);
+
+    assertThat(pathProvider.getRoundRectPathCount()).isEqualTo(1);
+    assertThat(pathProvider.getEdgeIntersectionCheckCount()).isEqualTo(0);
+    assertThat(path.isEmpty()).isFalse();
+  }
+
+  @Test
+  @Config(sdk = VERSION_CODES.O)
+  public void roundedCorners_startAtEndOfTopEdgeAndGoClockwise() {
+    ShapeAppearanceModel shapeAppearanceModel =
+        ShapeAppearanceModel.builder().setAllCornerSizes(10).build();
+
+    pathProvider.calculatePath(shapeAppearanceModel, 1f, BOUNDS, path);
+
+    // Each point is given as its fraction of the path's length, then its x and y.
+    float[] points = path.approximate(0.5f);
+    assertThat(points[1]).isWithin(0.01f).of(90);
+    assertThat(points[2]).isWithin(0.01f).of(0);
+    // The top right corner comes first, rather than the top left corner like Path#addRoundRect.
+    assertThat(points[4]).isGreaterThan(90f);
+    assertThat(points[5]).isAtLeast(0f);
+  }
+
+  @Test
+  public void roundedCornerTreatmentSubclass_usesItsCornerPath() {
+    CornerTreatment cutCorner =
+        new RoundedCornerTreatment() {
+          @Override
+          public void getCornerPath(
+              @NonNull ShapePath shapePath, float angle, float interpolation, float radius) {
+            shapePath.reset(0, radius * interpolation, ShapePath.ANGLE_LEFT, 180 - angle);
+            shapePath.lineTo(radius * interpolation, 0);
+          }
+        };
+    ShapeAppearanceModel shapeAppearanceModel =
+        ShapeAppearanceModel.builder().setAllCorners(cutCorner).setAllCornerSizes(10).build();
+
+    pathProvider.calculatePath(shapeAppearanceModel, 1f, BOUNDS, path);
+
+    assertThat(pathProvider.getRoundRectPathCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void cutCornersWithDefaultEdges_skipsEdgeIntersectionChecks() {
+    ShapeAppearanceModel shapeAppearanceModel =
+        ShapeAppearanceModel.builder().setAllCorners(CornerFamily.CUT, 10).build();
+
+    pathProvider.calculatePath(shapeAppearanceModel, 1f, BOUNDS, path);
+
+    assertThat(pathProvider.getRoundRectPathCount()).isEqualTo(0);
+    assertThat(pathProvider.getSkippedEdgeIntersectionCheckCount()).isEqualTo(4);
+    assertThat(pathProvider.getEdgeIntersectionCheckCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void triangleEdges_checksEdgeIntersections() {
+    ShapeAppearanceModel shapeAppearanceModel =
+        ShapeAppearanceModel.builder()
+            .setAllCornerSizes(10)
+            .setAllEdges(new TriangleEdgeTreatment(5, false))
+            .build();
+
+    pathProvider.calculatePath(shapeAppearanceModel, 1f, BOUNDS, path);
+
+    assertThat(pathProvider.getRoundRectPathCount()).isEqualTo(0);
+    assertThat(pathProvider.getEdgeIntersectionCheckCount()).isEqualTo(4);
+  }
+}
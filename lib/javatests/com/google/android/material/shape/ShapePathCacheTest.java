@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2022 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.android.material.shape;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.internal.DoNotInstrument;
+
+/** Tests for {@link com.google.android.material.shape.ShapePathCache}. */
+@RunWith(RobolectricTestRunner.class)
+@DoNotInstrument
+public class ShapePathCacheTest {
+
+  private final ShapePathCache cache = new ShapePathCache(/* maxSize= */ 8);
+  private final ShapeAppearancePathProvider pathProvider = new ShapeAppearancePathProvider();
+
+  @Test
+  public void sameTreatmentsAndSizes_shareEntry() {
+    ShapeAppearanceModel first =
+        ShapeAppearanceModel.builder()
+            .setAllCorners(CornerFamily.CUT, 12)
+            .setTopEdge(new TriangleEdgeTreatment(4, /* inside= */ false))
+            .build();
+    ShapeAppearanceModel second =
+        ShapeAppearanceModel.builder()
+            .setAllCorners(CornerFamily.CUT, 12)
+            .setTopEdge(new TriangleEdgeTreatment(4, /* inside= */ false))
+            .build();
+
+    assertThat(ShapePathCache.isCacheable(first)).isTrue();
+    assertThat(get(second)).isSameInstanceAs(get(first));
+    assertThat(cache.hitCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void differentCornerSizes_haveDifferentEntries() {
+    ShapeAppearanceModel first = ShapeAppearanceModel.builder().setAllCornerSizes(12).build();
+    ShapeAppearanceModel second = ShapeAppearanceModel.builder().setAllCornerSizes(14).build();
+
+    assertThat(get(second)).isNotSameInstanceAs(get(first));
+  }
+
+  @Test
+  public void differentTreatmentTypes_haveDifferentEntries() {
+    ShapeAppearanceModel rounded =
+        ShapeAppearanceModel.builder().setAllCorners(CornerFamily.ROUNDED, 12).build();
+    ShapeAppearanceModel cut =
+        ShapeAppearanceModel.builder().setAllCorners(CornerFamily.CUT, 12).build();
+
+    assertThat(get(cut)).isNotSameInstanceAs(get(rounded));
+  }
+
+  @Test
+  public void differentEdgeValues_haveDifferentEntries() {
+    ShapeAppearanceModel outside =
+        ShapeAppearanceModel.builder()
+            .setTopEdge(new TriangleEdgeTreatment(4, /* inside= */ false))
+            .build();
+    ShapeAppearanceModel inside =
+        ShapeAppearanceModel.builder()
+            .setTopEdge(new TriangleEdgeTreatment(4, /* inside= */ true))
+            .build();
+
+    assertThat(get(inside)).isNotSameInstanceAs(get(outside));
+  }
+
+  @Test
+  public void treatmentSubclass_isNotCacheable() {
+    ShapeAppearanceModel shapeAppearanceModel =
+        ShapeAppearanceModel.builder()
+            .setAllEdges(new TriangleEdgeTreatment(4, /* inside= */ false) {})
+            .build();
+
+    assertThat(ShapePathCache.isCacheable(shapeAppearanceModel)).isFalse();
+  }
+
+  @Test
+  public void customEdgeTreatment_isNotCacheable() {
+    ShapeAppearanceModel shapeAppearanceModel =
+        ShapeAppearanceModel.builder().setAllEdges(new EdgeTreatment() {}).build();
+
+    assertThat(ShapePathCache.isCacheable(shapeAppearanceModel)).isFalse();
+  }
+
+  @Test
+  public void shadowOperations_onlyCalculatedOnceRequested() {
+    ShapeAppearanceModel shapeAppearanceModel =
+        ShapeAppearanceModel.builder().setAllCornerSizes(12).build();
+
+    ShapePathCache.Entry entry = get(shapeAppearanceModel);
+    assertThat(entry.hasShadowOperations).isFalse();
+
+    assertThat(getWithShadowOperations(shapeAppearanceModel)).isSameInstanceAs(entry);
+    assertThat(entry.hasShadowOperations).isTrue();
+    assertThat(get(shapeAppearanceModel).hasShadowOperations).isTrue();
+  }
+
+  private ShapePathCache.Entry get(ShapeAppearanceModel shapeAppearanceModel) {
+    return cache.get(
+        pathProvider, shapeAppearanceModel, 1f, 100, 50, /* withShadowOperations= */ false);
+  }
+
+  private ShapePathCache.Entry getWithShadowOperations(
+      ShapeAppearanceModel shapeAppearanceModel) {
+    return cache.get(
+        pathProvider, shapeAppearanceModel, 1f, 100, 50, /* withShadowOperations= */ true);
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2022 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.slider;
+
+import com.google.android.material.test.R;
+
+import static com.google.android.material.slider.SliderHelper.touchSliderAtValue;
+import static com.google.common.truth.Truth.assertThat;
+import static org.robolectric.annotation.LooperMode.Mode.LEGACY;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import androidx.appcompat.app.AppCompatActivity;
+import android.view.MotionEvent;
+import androidx.test.core.app.ApplicationProvider;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.LooperMode;
+
+/** Tests for the tick geometry of {@link Slider} */
+@LooperMode(LEGACY)
+@RunWith(RobolectricTestRunner.class)
+public class SliderTicksTest {
+
+  private Slider slider;
+  private Canvas canvas;
+
+  @Before
+  public void createSlider() {
+    ApplicationProvider.getApplicationContext().setTheme(R.style.Theme_MaterialComponents_Bridge);
+    AppCompatActivity activity = Robolectric.buildActivity(AppCompatActivity.class).setup().get();
+
+    // Creates a slider with 1,000 steps.
+    SliderHelper helper = new SliderHelper(activity);
+    slider = helper.getSlider();
+    slider.setValueTo(1000f);
+    slider.setStepSize(1f);
+
+    helper.addContentView(activity);
+
+    canvas =
+        new Canvas(
+            Bitmap.createBitmap(slider.getWidth(), slider.getHeight(), Bitmap.Config.ARGB_8888));
+  }
+
+  @Test
+  public void testDrag_doesNotRecalculateTicks() {
+    slider.draw(canvas);
+    int calculationCount = slider.getTicksCoordinatesCalculationCount();
+
+    touchSliderAtValue(slider, 0f, MotionEvent.ACTION_DOWN);
+    for (float value = 10f; value < 1000f; value += 10f) {
+      touchSliderAtValue(slider, value, MotionEvent.ACTION_MOVE);
+      slider.draw(canvas);
+    }
+    touchSliderAtValue(slider, 1000f, MotionEvent.ACTION_UP);
+    slider.draw(canvas);
+
+    assertThat(slider.getTicksCoordinatesCalculationCount()).isEqualTo(calculationCount);
+  }
+
+  @Test
+  public void testStepSizeChange_recalculatesTicks() {
+    slider.draw(canvas);
+    int calculationCount = slider.getTicksCoordinatesCalculationCount();
+
+    slider.setStepSize(10f);
+    slider.draw(canvas);
+
+    assertThat(slider.getTicksCoordinatesCalculationCount()).isEqualTo(calculationCount + 1);
+  }
+}
@@ -31,6 +31,8 @@ import androidx.appcompat.app.AppCompatActivity;
 import android.view.MotionEvent;
 import android.view.ViewConfiguration;
 import androidx.test.core.app.ApplicationProvider;
+import java.util.Arrays;
+import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -221,4 +223,40 @@ public class SliderTouchTest {
     assertThat(slider.getValues()).contains(40.0f);
     assertThat(slider.getValues()).contains(60.0f);
   }
+
+  @Test
+  public void test64thumbs_touchNearThumb_closestThumbMoves() {
+    float[] values = new float[64];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = i * 1.5f;
+    }
+    slider.setValues(values);
+
+    // Drag the thumb at 60 slightly to the left, without reaching the thumb at 58.5.
+    dragSliderBetweenValues(slider, 60.2f, 59.4f, 10);
+
+    // Verify only the thumb at 60 moved.
+    assertThat(slider.getValueCount()).isEqualTo(64);
+    assertThat(slider.getValueAt(39)).isEqualTo(58.5f);
+    assertThat(slider.getValueAt(40)).isWithin(0.05f).of(59.4f);
+    assertThat(slider.getValueAt(41)).isEqualTo(61.5f);
+  }
+
+  @Test
+  public void testFloatValues_areSortedWithoutModifyingArray() {
+    float[] values = {30f, 10f, 20f};
+    slider.setValues(values);
+
+    assertThat(slider.getValues()).containsExactly(10f, 20f, 30f).inOrder();
+    assertThat(values).usingExactEquality().containsExactly(30f, 10f, 20f).inOrder();
+  }
+
+  @Test
+  public void testListValues_areSortedWithoutModifyingList() {
+    List<Float> values = Arrays.asList(30f, 10f, 20f);
+    slider.setValues(values);
+
+    assertThat(slider.getValues()).containsExactly(10f, 20f, 30f).inOrder();
+    assertThat(values).containsExactly(30f, 10f, 20f).inOrder();
+  }
 }
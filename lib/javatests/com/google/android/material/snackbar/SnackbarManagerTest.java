@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2022 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.android.material.snackbar;
+
+import static android.os.Looper.getMainLooper;
+import static com.google.common.truth.Truth.assertThat;
+import static org.robolectric.Shadows.shadowOf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/** Tests for {@link com.google.android.material.snackbar.SnackbarManager}. */
+@RunWith(RobolectricTestRunner.class)
+public class SnackbarManagerTest {
+
+  private final SnackbarManager snackbarManager = SnackbarManager.getInstance();
+  private final List<TestCallback> callbacks = new ArrayList<>();
+
+  @After
+  public void dismissSnackbars() {
+    for (TestCallback callback : callbacks) {
+      while (snackbarManager.isCurrentOrNext(callback)) {
+        snackbarManager.dismiss(callback, Snackbar.Callback.DISMISS_EVENT_MANUAL);
+        snackbarManager.onDismissed(callback);
+      }
+    }
+  }
+
+  @Test
+  public void show_withSameCoalescingKey_replacesQueuedSnackbar() {
+    TestCallback current = show(0, null, 0);
+    TestCallback first = show(0, "network", 0);
+    TestCallback second = show(0, "network", 0);
+    TestCallback third = show(0, "network", 0);
+
+    assertThat(current.dismissEvents).containsExactly(Snackbar.Callback.DISMISS_EVENT_CONSECUTIVE);
+    assertThat(snackbarManager.getQueuedSnackbarCount()).isEqualTo(1);
+
+    snackbarManager.onDismissed(current);
+    assertThat(snackbarManager.isCurrent(third)).isTrue();
+    assertThat(first.showCount).isEqualTo(0);
+    assertThat(second.showCount).isEqualTo(0);
+  }
+
+  @Test
+  public void show_withLowerPriority_waitsForCurrentSnackbar() {
+    TestCallback current = show(0, null, 0);
+    TestCallback low = show(-1, null, 0);
+    assertThat(current.dismissEvents).isEmpty();
+
+    TestCallback high = show(1, null, 0);
+    assertThat(current.dismissEvents).containsExactly(Snackbar.Callback.DISMISS_EVENT_CONSECUTIVE);
+
+    shadowOf(getMainLooper()).idleFor(500, TimeUnit.MILLISECONDS);
+    snackbarManager.onDismissed(current);
+    assertThat(snackbarManager.isCurrent(high)).isTrue();
+    assertThat(snackbarManager.getQueueingDelay(high)).isEqualTo(500L);
+
+    snackbarManager.onDismissed(high);
+    assertThat(snackbarManager.isCurrent(low)).isTrue();
+    assertThat(low.showCount).isEqualTo(1);
+  }
+
+  @Test
+  public void show_beforeMinimumDisplayDuration_defersReplacement() {
+    TestCallback current = show(0, null, 1000);
+    show(0, null, 0);
+    assertThat(current.dismissEvents).isEmpty();
+
+    shadowOf(getMainLooper()).idleFor(1000, TimeUnit.MILLISECONDS);
+    assertThat(current.dismissEvents).containsExactly(Snackbar.Callback.DISMISS_EVENT_CONSECUTIVE);
+  }
+
+  @Test
+  public void show_whenQueueIsFull_dropsOldestLowestPrioritySnackbar() {
+    TestCallback current = show(1, null, 0);
+    List<TestCallback> queued = new ArrayList<>();
+    for (int i = 0; i < SnackbarManager.MAX_QUEUED_SNACKBARS + 2; i++) {
+      queued.add(show(0, "key" + i, 0));
+    }
+
+    assertThat(current.dismissEvents).isEmpty();
+    assertThat(snackbarManager.getQueuedSnackbarCount())
+        .isEqualTo(SnackbarManager.MAX_QUEUED_SNACKBARS);
+    assertThat(snackbarManager.isCurrentOrNext(queued.get(0))).isFalse();
+    assertThat(snackbarManager.isCurrentOrNext(queued.get(1))).isFalse();
+    assertThat(snackbarManager.isCurrentOrNext(queued.get(2))).isTrue();
+  }
+
+  @Test
+  public void show_burstOfDefaultSnackbars_showsLatest() {
+    TestCallback first = show(0, null, 0);
+    TestCallback indefinite = new TestCallback();
+    callbacks.add(indefinite);
+    snackbarManager.show(Snackbar.LENGTH_INDEFINITE, 0, null, 0, indefinite);
+    TestCallback latest = show(0, null, 0);
+
+    assertThat(first.dismissEvents).containsExactly(Snackbar.Callback.DISMISS_EVENT_CONSECUTIVE);
+    assertThat(snackbarManager.getQueuedSnackbarCount()).isEqualTo(1);
+
+    snackbarManager.onDismissed(first);
+    assertThat(snackbarManager.isCurrent(latest)).isTrue();
+    assertThat(indefinite.showCount).isEqualTo(0);
+  }
+
+  @Test
+  public void show_queuedBehindIndefiniteSnackbar_replacesItOnceShown() {
+    TestCallback first = show(0, null, 0);
+    TestCallback indefinite = new TestCallback();
+    callbacks.add(indefinite);
+    snackbarManager.show(Snackbar.LENGTH_INDEFINITE, 1, null, 0, indefinite);
+    TestCallback latest = show(1, null, 0);
+
+    snackbarManager.onDismissed(first);
+    assertThat(snackbarManager.isCurrent(indefinite)).isTrue();
+    assertThat(indefinite.dismissEvents)
+        .containsExactly(Snackbar.Callback.DISMISS_EVENT_CONSECUTIVE);
+
+    snackbarManager.onDismissed(indefinite);
+    assertThat(snackbarManager.isCurrent(latest)).isTrue();
+  }
+
+  private TestCallback show(int priority, String coalescingKey, int minimumDisplayDuration) {
+    TestCallback callback = new TestCallback();
+    callbacks.add(callback);
+    snackbarManager.show(
+        Snackbar.LENGTH_LONG, priority, coalescingKey, minimumDisplayDuration, callback);
+    return callback;
+  }
+
+  private static class TestCallback implements SnackbarManager.Callback {
+    private final List<Integer> dismissEvents = new ArrayList<>();
+    private int showCount;
+
+    @Override
+    public void show() {
+      showCount++;
+    }
+
+    @Override
+    public void dismiss(int event) {
+      dismissEvents.add(event);
+    }
+  }
+}
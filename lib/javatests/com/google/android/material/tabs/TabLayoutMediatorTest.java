@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2022 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.tabs;
+
+import com.google.android.material.test.R;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.viewpager2.widget.ViewPager2;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.internal.DoNotInstrument;
+
+/** Tests for {@link TabLayoutMediator} range updates and the {@link TabLayout} helpers they use. */
+@RunWith(RobolectricTestRunner.class)
+@DoNotInstrument
+public class TabLayoutMediatorTest {
+
+  private final Context context = ApplicationProvider.getApplicationContext();
+
+  private final List<String> items = new ArrayList<>(Arrays.asList("A", "B", "C", "D"));
+  private final TestAdapter adapter = new TestAdapter(items);
+
+  private TabLayout tabLayout;
+
+  @Before
+  public void setUp() {
+    context.setTheme(R.style.Theme_MaterialComponents_Light);
+    tabLayout = new TabLayout(context);
+    ViewPager2 viewPager = new ViewPager2(context);
+    viewPager.setAdapter(adapter);
+    new TabLayoutMediator(tabLayout, viewPager, (tab, position) -> tab.setText(items.get(position)))
+        .attach();
+  }
+
+  @Test
+  public void testInsert_keepsSelectedTabAndIndicator() {
+    tabLayout.selectTab(tabLayout.getTabAt(2));
+    TabLayout.Tab selectedTab = tabLayout.getTabAt(2);
+
+    items.add(0, "X");
+    adapter.notifyItemInserted(0);
+
+    assertTabTexts("X", "A", "B", "C", "D");
+    assertThat(tabLayout.getTabAt(3)).isSameInstanceAs(selectedTab);
+    assertSelected(3);
+  }
+
+  @Test
+  public void testRemove_keepsSelectedTabAndIndicator() {
+    tabLayout.selectTab(tabLayout.getTabAt(2));
+    TabLayout.Tab selectedTab = tabLayout.getTabAt(2);
+
+    items.remove(0);
+    adapter.notifyItemRemoved(0);
+
+    assertTabTexts("B", "C", "D");
+    assertThat(tabLayout.getTabAt(1)).isSameInstanceAs(selectedTab);
+    assertSelected(1);
+  }
+
+  @Test
+  public void testRemoveSelected_selectsCurrentItem() {
+    tabLayout.selectTab(tabLayout.getTabAt(2));
+
+    items.remove(2);
+    adapter.notifyItemRemoved(2);
+
+    assertTabTexts("A", "B", "D");
+    assertSelected(2);
+  }
+
+  @Test
+  public void testMove_keepsSelectedTabAndIndicator() {
+    tabLayout.selectTab(tabLayout.getTabAt(0));
+    TabLayout.Tab selectedTab = tabLayout.getTabAt(0);
+
+    items.add(3, items.remove(0));
+    adapter.notifyItemMoved(0, 3);
+
+    assertTabTexts("B", "C", "D", "A");
+    assertThat(tabLayout.getTabAt(3)).isSameInstanceAs(selectedTab);
+    assertSelected(3);
+  }
+
+  @Test
+  public void testChange_replacesTabAndKeepsSelection() {
+    tabLayout.selectTab(tabLayout.getTabAt(1));
+    tabLayout.getTabAt(1).setTag("B");
+
+    items.set(1, "Y");
+    adapter.notifyItemChanged(1);
+
+    assertTabTexts("A", "Y", "C", "D");
+    assertThat(tabLayout.getTabAt(1).getTag()).isNull();
+    assertSelected(1);
+  }
+
+  @Test
+  public void testRemoveTabRange_updatesPositionsAndKeepsSelection() {
+    tabLayout.selectTab(tabLayout.getTabAt(0));
+
+    tabLayout.removeTabRange(1, 2);
+
+    assertTabTexts("A", "D");
+    assertThat(tabLayout.getSelectedTabPosition()).isEqualTo(0);
+  }
+
+  @Test
+  public void testRemoveTabRange_selectedTabRemoved_selectsNoOtherTab() {
+    tabLayout.selectTab(tabLayout.getTabAt(1));
+
+    tabLayout.removeTabRange(0, 2);
+
+    assertTabTexts("C", "D");
+    assertThat(tabLayout.getSelectedTabPosition()).isEqualTo(TabLayout.Tab.INVALID_POSITION);
+  }
+
+  @Test
+  public void testMoveTab_movesTabAndView() {
+    TabLayout.Tab movedTab = tabLayout.getTabAt(3);
+
+    tabLayout.moveTab(3, 1);
+
+    assertTabTexts("A", "D", "B", "C");
+    assertThat(tabLayout.getTabAt(1)).isSameInstanceAs(movedTab);
+  }
+
+  /**
+   * Asserts the tabs' texts, that their positions are up to date and that their views are in the
+   * same order.
+   */
+  private void assertTabTexts(String... texts) {
+    assertThat(tabLayout.getTabCount()).isEqualTo(texts.length);
+    assertThat(tabLayout.slidingTabIndicator.getChildCount()).isEqualTo(texts.length);
+    for (int i = 0; i < texts.length; i++) {
+      TabLayout.Tab tab = tabLayout.getTabAt(i);
+      assertThat(tab.getText().toString()).isEqualTo(texts[i]);
+      assertThat(tab.getPosition()).isEqualTo(i);
+      assertThat(tabLayout.slidingTabIndicator.getChildAt(i)).isSameInstanceAs(tab.view);
+    }
+  }
+
+  private void assertSelected(int position) {
+    assertThat(tabLayout.getSelectedTabPosition()).isEqualTo(position);
+    assertThat(tabLayout.slidingTabIndicator.getIndicatorPosition()).isEqualTo((float) position);
+    for (int i = 0; i < tabLayout.getTabCount(); i++) {
+      assertThat(tabLayout.getTabAt(i).view.isSelected()).isEqualTo(i == position);
+    }
+  }
+
+  private static class TestAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+    private final List<String> items;
+
+    TestAdapter(List<String> items) {
+      this.items = items;
+    }
+
+    @NonNull
+    @Override
+    public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+      View view = new FrameLayout(parent.getContext());
+      view.setLayoutParams(
+          new ViewGroup.LayoutParams(
+              ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT));
+      return new RecyclerView.ViewHolder(view) {};
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {}
+
+    @Override
+    public int getItemCount() {
+      return items.size();
+    }
+  }
+}
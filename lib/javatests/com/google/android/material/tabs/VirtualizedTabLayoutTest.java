@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2022 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.android.material.tabs;
+
+import com.google.android.material.test.R;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import android.content.Context;
+import android.view.View;
+import android.view.View.MeasureSpec;
+import androidx.test.core.app.ApplicationProvider;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.internal.DoNotInstrument;
+
+/** Tests for {@link VirtualizedTabLayout}. */
+@RunWith(RobolectricTestRunner.class)
+@DoNotInstrument
+public class VirtualizedTabLayoutTest {
+
+  private static final int TAB_COUNT = 300;
+  private static final int WIDTH = 480;
+  private static final int HEIGHT = 100;
+
+  private final Context context = ApplicationProvider.getApplicationContext();
+
+  private VirtualizedTabLayout tabLayout;
+
+  @Before
+  public void setUp() {
+    context.setTheme(R.style.Theme_MaterialComponents_Light);
+    tabLayout = new VirtualizedTabLayout(context);
+    List<String> texts = new ArrayList<>();
+    for (int i = 0; i < TAB_COUNT; i++) {
+      texts.add("Category " + i);
+    }
+    tabLayout.setTabs(texts);
+    layoutTabs();
+  }
+
+  @Test
+  public void layout_onlyCreatesViewsForVisibleTabs() {
+    assertThat(tabLayout.getTabCount()).isEqualTo(TAB_COUNT);
+    assertThat(tabLayout.getChildCount()).isGreaterThan(0);
+    assertThat(tabLayout.getChildCount()).isLessThan(TAB_COUNT / 10);
+  }
+
+  @Test
+  public void layout_cachesWidthsOfMeasuredTabsOnly() {
+    View firstTab = tabLayout.getLayoutManager().findViewByPosition(0);
+
+    assertThat(tabLayout.getCachedTabWidth(0)).isEqualTo(firstTab.getWidth());
+    assertThat(tabLayout.getCachedTabWidth(TAB_COUNT - 1)).isEqualTo(0);
+  }
+
+  @Test
+  public void selectTab_farTab_bindsAndSelectsIt() {
+    tabLayout.selectTab(250);
+    layoutTabs();
+
+    View selectedTab = tabLayout.getLayoutManager().findViewByPosition(250);
+    assertThat(tabLayout.getSelectedTabPosition()).isEqualTo(250);
+    assertThat(selectedTab).isNotNull();
+    assertThat(selectedTab.isSelected()).isTrue();
+    assertThat(tabLayout.getLayoutManager().findViewByPosition(0)).isNull();
+    assertThat(tabLayout.getChildCount()).isLessThan(TAB_COUNT / 10);
+  }
+
+  @Test
+  public void selectTab_notifiesListeners() {
+    List<String> events = new ArrayList<>();
+    tabLayout.addOnTabSelectedListener(
+        new VirtualizedTabLayout.OnTabSelectedListener() {
+          @Override
+          public void onTabSelected(int position) {
+            events.add("selected " + position);
+          }
+
+          @Override
+          public void onTabReselected(int position) {
+            events.add("reselected " + position);
+          }
+        });
+
+    tabLayout.selectTab(1);
+    tabLayout.selectTab(1);
+
+    assertThat(events).containsExactly("selected 1", "reselected 1").inOrder();
+    assertThat(tabLayout.getLayoutManager().findViewByPosition(0).isSelected()).isFalse();
+    assertThat(tabLayout.getLayoutManager().findViewByPosition(1).isSelected()).isTrue();
+  }
+
+  @Test
+  public void setTabs_clearsWidthCache() {
+    List<String> texts = new ArrayList<>();
+    texts.add("A");
+    tabLayout.setTabs(texts);
+
+    assertThat(tabLayout.getTabCount()).isEqualTo(1);
+    assertThat(tabLayout.getCachedTabWidth(0)).isEqualTo(0);
+    assertThat(tabLayout.getSelectedTabPosition()).isEqualTo(0);
+  }
+
+  private void layoutTabs() {
+    tabLayout.measure(
+        MeasureSpec.makeMeasureSpec(WIDTH, MeasureSpec.EXACTLY),
+        MeasureSpec.makeMeasureSpec(HEIGHT, MeasureSpec.EXACTLY));
+    tabLayout.layout(0, 0, WIDTH, HEIGHT);
+  }
+}